@@ -48,6 +48,7 @@ public interface IRequestManager extends INBTSerializable<NBTTagCompound>
 
     /**
      * Method used to assign a request to a resolver.
+     * The manager may queue the request and assign it during a later {@link #update()}.
      *
      * @param token The token of the request to assign.
      * @throws IllegalArgumentException when the token is not registered to a request, or is already assigned to a resolver.
@@ -105,4 +106,9 @@ public interface IRequestManager extends INBTSerializable<NBTTagCompound>
      * @throws IllegalArgumentException is thrown when no provider with the same token is registered.
      */
     void onProviderRemovedFromColony(@NotNull IRequestResolverProvider provider) throws IllegalArgumentException;
+
+    /**
+     * Method called once per tick by the colony, used to process work the manager deferred.
+     */
+    void update();
 }
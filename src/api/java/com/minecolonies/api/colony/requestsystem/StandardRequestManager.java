@@ -13,13 +13,18 @@ import com.minecolonies.api.colony.requestsystem.resolver.IRequestResolver;
 import com.minecolonies.api.colony.requestsystem.resolver.IRequestResolverProvider;
 import com.minecolonies.api.colony.requestsystem.token.IToken;
 import com.minecolonies.api.colony.requestsystem.token.StandardToken;
+import com.minecolonies.api.configuration.Configurations;
 import com.minecolonies.api.util.Log;
+import com.minecolonies.api.util.TickProfiler;
 import com.minecolonies.api.util.constant.Suppression;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraftforge.common.util.Constants;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +37,12 @@ import java.util.stream.Collectors;
 @SuppressWarnings(Suppression.BIG_CLASS)
 public class StandardRequestManager implements IRequestManager
 {
+    ////// --------------------------- NBTConstants --------------------------- \\\\\\
+    private static final String NBT_REQUESTS = "Requests";
+    private static final String NBT_REQUEST  = "Request";
+    private static final String NBT_RESOLVER = "Resolver";
+    private static final String NBT_QUEUE    = "Queue";
+    ////// --------------------------- NBTConstants --------------------------- \\\\\\
 
     /**
      * BiMap that holds unique token to provider lookup.
@@ -71,9 +82,10 @@ public class StandardRequestManager implements IRequestManager
 
     /**
      * Map that holds the class that resolver can resolve. Used during lookup.
+     * The resolvers of each class are sorted by priority, highest first.
      */
     @NotNull
-    private final Map<Class, Collection<IRequestResolver>> requestClassResolverMap = new HashMap<>();
+    private final Map<Class, List<IRequestResolver>> requestClassResolverMap = new HashMap<>();
     /**
      * The fallback resolver used to resolve directly to the player.
      * TODO: Assign resolver once implemented.
@@ -86,6 +98,44 @@ public class StandardRequestManager implements IRequestManager
     @NotNull
     private final IColony colony;
 
+    /**
+     * Requests waiting to be assigned, in the order they were queued.
+     */
+    @NotNull
+    private final Deque<QueuedRequest> assignmentQueue = new ArrayDeque<>();
+
+    /**
+     * Wrapped managers handed to requests and resolvers, reused for every call.
+     */
+    @NotNull
+    private final WrappedStaticStateRequestManager         staticStateManager       = new WrappedStaticStateRequestManager(this);
+    @NotNull
+    private final WrappedBlacklistAssignmentRequestManager defaultAssignmentManager = new WrappedBlacklistAssignmentRequestManager(this, Collections.emptyList());
+
+    /**
+     * Statistics of the resolvers by class name.
+     */
+    @NotNull
+    private final Map<String, ResolverStatistics> resolverStatistics = new TreeMap<>();
+
+    /**
+     * Ticks of this manager, used to measure the assignment latency.
+     */
+    private long ticks = 0;
+
+    /**
+     * Assignment statistics of queued requests.
+     */
+    private long assignedRequests  = 0;
+    private long totalLatencyTicks = 0;
+    private long maxLatencyTicks   = 0;
+    private int  maxQueueLength    = 0;
+
+    /**
+     * Set when loaded, the assignments are checked against the registered resolvers on the next update.
+     */
+    private boolean checkAssignments = false;
+
     public StandardRequestManager(@NotNull final IColony colony)
     {
         this.colony = colony;
@@ -111,7 +161,37 @@ public class StandardRequestManager implements IRequestManager
     @Override
     public NBTTagCompound serializeNBT()
     {
-        return null;
+        final NBTTagCompound compound = new NBTTagCompound();
+
+        final NBTTagList requestList = new NBTTagList();
+        for (final IRequest request : requestBiMap.values())
+        {
+            final NBTTagCompound requestCompound = new NBTTagCompound();
+            try
+            {
+                requestCompound.setTag(NBT_REQUEST, getFactoryController().serialize(request));
+                if (requestResolverMap.containsKey(request.getToken()))
+                {
+                    requestCompound.setTag(NBT_RESOLVER, getFactoryController().serialize(requestResolverMap.get(request.getToken())));
+                }
+            }
+            catch (final IllegalArgumentException e)
+            {
+                Log.getLogger().warn("Failed to serialize request: " + request, e);
+                continue;
+            }
+            requestList.appendTag(requestCompound);
+        }
+        compound.setTag(NBT_REQUESTS, requestList);
+
+        final NBTTagList queueList = new NBTTagList();
+        for (final QueuedRequest queued : assignmentQueue)
+        {
+            queueList.appendTag(getFactoryController().serialize(queued.token));
+        }
+        compound.setTag(NBT_QUEUE, queueList);
+
+        return compound;
     }
 
     /**
@@ -383,7 +463,14 @@ public class StandardRequestManager implements IRequestManager
                 manager.requestClassResolverMap.put(resolver.getRequestType(), new ArrayList<>());
             }
 
-            manager.requestClassResolverMap.get(resolver.getRequestType()).add(resolver);
+            //Keep the resolvers sorted by priority, resolvers with the same priority in registration order.
+            final List<IRequestResolver> resolvers = manager.requestClassResolverMap.get(resolver.getRequestType());
+            int index = resolvers.size();
+            while (index > 0 && resolvers.get(index - 1).getPriority() < resolver.getPriority())
+            {
+                index--;
+            }
+            resolvers.add(index, resolver);
 
             return resolver.getID();
         }
@@ -632,7 +719,7 @@ public class StandardRequestManager implements IRequestManager
         {
             final IToken<UUID> token = TokenHandler.generateNewToken(manager);
 
-            final IRequest<Request> constructedRequest = manager.getFactoryController().getNewInstance(request, new TypeToken<IRequest<Request>>() {}, requester, token);
+            final IRequest<Request> constructedRequest = manager.getFactoryController().getNewInstance(request, new TypeToken<IRequest<Request>>() {}, token, requester);
 
             Log.getLogger().debug("Creating request for: " + request + ", token: " + token + " and output: " + constructedRequest);
 
@@ -688,18 +775,44 @@ public class StandardRequestManager implements IRequestManager
          * @param resolverTokenBlackList Each resolver that has its token in this blacklist will be skipped when checking for a possible resolver.
          * @throws IllegalArgumentException is thrown when the request is unknown to this manager.
          */
-        @SuppressWarnings(Suppression.UNCHECKED)
         private static void assignRequest(final StandardRequestManager manager, final IRequest request, final Collection<IToken> resolverTokenBlackList)
           throws IllegalArgumentException
+        {
+            final long start = TickProfiler.start();
+            try
+            {
+                searchResolver(manager, request, resolverTokenBlackList);
+            }
+            finally
+            {
+                TickProfiler.stop(TickProfiler.SECTION_REQUESTS, manager.colony.getID(), request.getRequestType(), start);
+            }
+        }
+
+        /**
+         * Searches a resolver for a request, assigns the request to it and assigns the children of the request.
+         * Falls back to the player resolver if no other resolver can resolve the request.
+         *
+         * @param manager                The manager to modify.
+         * @param request                The request to assign.
+         * @param resolverTokenBlackList Each resolver that has its token in this blacklist will be skipped when checking for a possible resolver.
+         * @throws IllegalArgumentException is thrown when the request is unknown to this manager.
+         */
+        @SuppressWarnings(Suppression.UNCHECKED)
+        private static void searchResolver(final StandardRequestManager manager, final IRequest request, final Collection<IToken> resolverTokenBlackList)
+          throws IllegalArgumentException
         {
             //Check if the request is registered
             getRequest(manager, request.getToken());
 
             Log.getLogger().debug("Starting resolver assignment search for request: " + request);
 
-            request.setState(new WrappedStaticStateRequestManager(manager), RequestState.ASSIGNING);
+            request.setState(manager.staticStateManager, RequestState.ASSIGNING);
 
-            for (final IRequestResolver resolver : manager.requestClassResolverMap.get(request.getRequestType()))
+            final IRequestManager assignmentManager =
+              resolverTokenBlackList.isEmpty() ? manager.defaultAssignmentManager : new WrappedBlacklistAssignmentRequestManager(manager, resolverTokenBlackList);
+            final List<IRequestResolver> resolvers = manager.requestClassResolverMap.getOrDefault(request.getRequestType(), Collections.emptyList());
+            for (final IRequestResolver resolver : resolvers)
             {
                 //Skip when the resolver is in the blacklist.
                 if (resolverTokenBlackList.contains(resolver.getID()))
@@ -707,13 +820,17 @@ public class StandardRequestManager implements IRequestManager
                     continue;
                 }
 
+                final ResolverStatistics statistics = manager.resolverStatistics.computeIfAbsent(resolver.getClass().getSimpleName(), name -> new ResolverStatistics());
+                statistics.checks++;
+
                 //Skip if preliminary check fails
                 if (!resolver.canResolve(manager, request))
                 {
                     continue;
                 }
 
-                @Nullable final List<IToken> attemptResult = resolver.attemptResolve(new WrappedBlacklistAssignmentRequestManager(manager, resolverTokenBlackList), request);
+                statistics.attempts++;
+                @Nullable final List<IToken> attemptResult = resolver.attemptResolve(assignmentManager, request);
 
                 //Skip if attempt failed (aka attemptResult == null)
                 if (attemptResult == null)
@@ -721,6 +838,8 @@ public class StandardRequestManager implements IRequestManager
                     continue;
                 }
 
+                statistics.hits++;
+
                 //Successfully found a resolver. Registering
                 Log.getLogger().debug("Finished resolver assignment search for request: " + request + " successfully");
                 ResolverHandler.addRequestToResolver(manager, resolver, request);
@@ -739,7 +858,7 @@ public class StandardRequestManager implements IRequestManager
                     }
                 }
 
-                request.setState(new WrappedStaticStateRequestManager(manager), RequestState.ASSIGNED);
+                request.setState(manager.staticStateManager, RequestState.ASSIGNED);
 
                 if (!request.hasChildren())
                 {
@@ -750,7 +869,7 @@ public class StandardRequestManager implements IRequestManager
 
             Log.getLogger().debug("Resolving failed. Attempting Fallback PlayerManager for: " + request);
             ResolverHandler.addRequestToResolver(manager, manager.playerResolver, request);
-            request.setState(new WrappedStaticStateRequestManager(manager), RequestState.ASSIGNED);
+            request.setState(manager.staticStateManager, RequestState.ASSIGNED);
             resolveRequest(manager, request);
         }
 
@@ -866,7 +985,7 @@ public class StandardRequestManager implements IRequestManager
 
             final IRequestResolver resolver = ResolverHandler.getResolverForRequest(manager, request);
 
-            request.setState(new WrappedStaticStateRequestManager(manager), RequestState.IN_PROGRESS);
+            request.setState(manager.staticStateManager, RequestState.IN_PROGRESS);
             resolver.resolve(manager, request);
         }
 
@@ -1081,6 +1200,12 @@ public class StandardRequestManager implements IRequestManager
         {
             wrappedManager.deserializeNBT(nbt);
         }
+
+        @Override
+        public void update()
+        {
+            wrappedManager.update();
+        }
     }
 
     /**
@@ -1159,6 +1284,7 @@ public class StandardRequestManager implements IRequestManager
 
     /**
      * Method used to assign a request to a resolver.
+     * Queues the request when queued assignment is enabled, see {@link #update()}.
      *
      * @param token The token of the request to assign.
      * @throws IllegalArgumentException when the token is not registered to a request, or is already assigned to a resolver.
@@ -1166,7 +1292,163 @@ public class StandardRequestManager implements IRequestManager
     @Override
     public void assignRequest(@NotNull final IToken token) throws IllegalArgumentException
     {
-        RequestHandler.assignRequest(this, RequestHandler.getRequest(this, token));
+        final IRequest request = RequestHandler.getRequest(this, token);
+        if (!Configurations.gameplay.queueRequestAssignment)
+        {
+            RequestHandler.assignRequest(this, request);
+            return;
+        }
+
+        if (RequestHandler.isAssigned(this, token))
+        {
+            throw new IllegalArgumentException("The given request is already assigned");
+        }
+
+        assignmentQueue.add(new QueuedRequest(token, ticks));
+        maxQueueLength = Math.max(maxQueueLength, assignmentQueue.size());
+    }
+
+    /**
+     * Assign the queued requests, in the order they were queued, until the assignment budget of the tick is used.
+     * At least one request is assigned per tick.
+     */
+    @Override
+    public void update()
+    {
+        ticks++;
+        if (checkAssignments)
+        {
+            checkAssignments = false;
+            requeueUnknownAssignments();
+        }
+
+        if (assignmentQueue.isEmpty())
+        {
+            return;
+        }
+
+        final long budget = TimeUnit.MICROSECONDS.toNanos(Configurations.gameplay.requestAssignmentBudget);
+        final long start = System.nanoTime();
+        do
+        {
+            final QueuedRequest queued = assignmentQueue.poll();
+
+            //Skip requests which got removed, assigned or cancelled in the meantime.
+            if (!requestBiMap.containsKey(queued.token)
+                  || RequestHandler.isAssigned(this, queued.token)
+                  || requestBiMap.get(queued.token).getState() != RequestState.CREATED)
+            {
+                continue;
+            }
+
+            try
+            {
+                RequestHandler.assignRequest(this, requestBiMap.get(queued.token));
+            }
+            catch (final IllegalArgumentException e)
+            {
+                Log.getLogger().warn("Failed to assign queued request: " + queued.token, e);
+            }
+
+            final long latency = ticks - queued.tick;
+            assignedRequests++;
+            totalLatencyTicks += latency;
+            maxLatencyTicks = Math.max(maxLatencyTicks, latency);
+        }
+        while (!assignmentQueue.isEmpty() && System.nanoTime() - start < budget);
+    }
+
+    /**
+     * Getter for the amount of requests waiting to be assigned.
+     *
+     * @return the amount.
+     */
+    public int getQueueLength()
+    {
+        return assignmentQueue.size();
+    }
+
+    /**
+     * Getter for the average time queued requests waited for their assignment.
+     *
+     * @return the time in ticks.
+     */
+    public double getAverageAssignmentLatency()
+    {
+        return assignedRequests == 0 ? 0 : (double) totalLatencyTicks / assignedRequests;
+    }
+
+    /**
+     * Get the share of the resolvers' attempts that succeeded, by resolver class name.
+     *
+     * @return the hit rates, between 0 and 1.
+     */
+    @NotNull
+    public Map<String, Double> getResolverHitRates()
+    {
+        final Map<String, Double> hitRates = new TreeMap<>();
+        for (final Map.Entry<String, ResolverStatistics> entry : resolverStatistics.entrySet())
+        {
+            hitRates.put(entry.getKey(), entry.getValue().attempts == 0 ? 0 : (double) entry.getValue().hits / entry.getValue().attempts);
+        }
+        return hitRates;
+    }
+
+    /**
+     * Reset the assignment and resolver statistics.
+     */
+    public void resetStatistics()
+    {
+        assignedRequests = 0;
+        totalLatencyTicks = 0;
+        maxLatencyTicks = 0;
+        maxQueueLength = assignmentQueue.size();
+        resolverStatistics.clear();
+    }
+
+    /**
+     * Get human readable lines of the assignment and resolver statistics.
+     *
+     * @return the lines.
+     */
+    @NotNull
+    public List<String> getReport()
+    {
+        final List<String> lines = new ArrayList<>();
+        lines.add(String.format("§2Requests: queue §f%d §2(max §f%d§2), assigned §f%d§2, latency avg §f%.1f §2max §f%d §2ticks",
+          assignmentQueue.size(), maxQueueLength, assignedRequests, getAverageAssignmentLatency(), maxLatencyTicks));
+        for (final Map.Entry<String, ResolverStatistics> entry : resolverStatistics.entrySet())
+        {
+            final ResolverStatistics statistics = entry.getValue();
+            lines.add(String.format("  §2%s: §f%d §2checks, §f%d §2attempts, §f%d §2hits",
+              entry.getKey(), statistics.checks, statistics.attempts, statistics.hits));
+        }
+        return lines;
+    }
+
+    /**
+     * A request waiting for its assignment.
+     */
+    private static final class QueuedRequest
+    {
+        private final IToken token;
+        private final long   tick;
+
+        private QueuedRequest(@NotNull final IToken token, final long tick)
+        {
+            this.token = token;
+            this.tick = tick;
+        }
+    }
+
+    /**
+     * How often a resolver was checked, attempted to resolve and succeeded.
+     */
+    private static final class ResolverStatistics
+    {
+        private long checks;
+        private long attempts;
+        private long hits;
     }
 
     /**
@@ -1221,7 +1503,15 @@ public class StandardRequestManager implements IRequestManager
     public void updateRequestState(@NotNull final IToken token, @NotNull final RequestState state) throws IllegalArgumentException
     {
         final IRequest request = RequestHandler.getRequest(this, token);
-        request.setState(new WrappedStaticStateRequestManager(this), state);
+        request.setState(staticStateManager, state);
+
+        //A request which is still waiting for its assignment has no resolver to notify.
+        if (request.getState() != RequestState.CREATED
+              && !RequestHandler.isAssigned(this, token)
+              && assignmentQueue.removeIf(queued -> queued.token.equals(token)))
+        {
+            return;
+        }
 
         switch (request.getState())
         {
@@ -1267,8 +1557,83 @@ public class StandardRequestManager implements IRequestManager
      * @param nbt The data to deserialize.
      */
     @Override
+    @SuppressWarnings(Suppression.UNCHECKED)
     public void deserializeNBT(final NBTTagCompound nbt)
     {
+        requestBiMap.clear();
+        requestResolverMap.clear();
+        resolverRequestMap.clear();
+        assignmentQueue.clear();
+
+        final NBTTagList requestList = nbt.getTagList(NBT_REQUESTS, Constants.NBT.TAG_COMPOUND);
+        for (int i = 0; i < requestList.tagCount(); i++)
+        {
+            final NBTTagCompound requestCompound = requestList.getCompoundTagAt(i);
+            try
+            {
+                final IRequest request = getFactoryController().deserialize(requestCompound.getCompoundTag(NBT_REQUEST));
+                RequestHandler.registerRequest(this, request);
+
+                if (requestCompound.hasKey(NBT_RESOLVER))
+                {
+                    final IToken resolverToken = getFactoryController().deserialize(requestCompound.getCompoundTag(NBT_RESOLVER));
+                    resolverRequestMap.computeIfAbsent(resolverToken, token -> new ArrayList<>()).add(request.getToken());
+                    requestResolverMap.put(request.getToken(), resolverToken);
+                }
+            }
+            catch (final IllegalArgumentException e)
+            {
+                Log.getLogger().warn("Failed to deserialize request of colony: " + colony.getID(), e);
+            }
+        }
+
+        //Drop the links to requests which could not be saved or loaded.
+        for (final IRequest request : requestBiMap.values())
+        {
+            if (request.hasParent() && !requestBiMap.containsKey(request.getParent()))
+            {
+                request.setParent(null);
+            }
+
+            final List<IToken> missingChildren = new ArrayList<>();
+            for (final IToken child : (Collection<IToken>) request.getChildren())
+            {
+                if (!requestBiMap.containsKey(child))
+                {
+                    missingChildren.add(child);
+                }
+            }
+            request.removeChildren(missingChildren);
+        }
+
+        final NBTTagList queueList = nbt.getTagList(NBT_QUEUE, Constants.NBT.TAG_COMPOUND);
+        for (int i = 0; i < queueList.tagCount(); i++)
+        {
+            final IToken token = getFactoryController().deserialize(queueList.getCompoundTagAt(i));
+            if (requestBiMap.containsKey(token) && !RequestHandler.isAssigned(this, token))
+            {
+                assignmentQueue.add(new QueuedRequest(token, ticks));
+            }
+        }
+
+        checkAssignments = true;
+    }
 
+    /**
+     * Queue the loaded requests again whose resolver was not registered after loading, for example because its building is gone.
+     */
+    private void requeueUnknownAssignments()
+    {
+        final Iterator<Map.Entry<IToken, IToken>> iterator = requestResolverMap.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            final Map.Entry<IToken, IToken> entry = iterator.next();
+            if (!resolverBiMap.containsKey(entry.getValue()))
+            {
+                iterator.remove();
+                resolverRequestMap.remove(entry.getValue());
+                assignmentQueue.add(new QueuedRequest(entry.getKey(), ticks));
+            }
+        }
     }
 }
@@ -157,6 +157,18 @@ import static com.minecolonies.api.util.constant.Constants.*;
             @Config.Comment("Should in development features be enabled (might be buggy)")
             public  boolean enableInDevelopmentFeatures = false;
 
+            @Config.Comment("Time in microseconds a colony may spend on its work per tick, periodic work above it waits for the next tick")
+            public  int colonyTickBudget = 2000;
+
+            @Config.Comment("Should requests be queued and assigned to their resolvers in batches once per tick, instead of when they are created")
+            public  boolean queueRequestAssignment = true;
+
+            @Config.Comment("Time in microseconds the request system of a colony may spend assigning queued requests per tick")
+            public  int requestAssignmentBudget = 500;
+
+            @Config.Comment("Memory in kilobytes the shared cache of parsed schematics may use")
+            public  int schematicCacheSize = 65536;
+
             @Config.Comment("Blocks players should be able to interact with in any colony (Ex vending machines)")
             public  String[] freeToInteractBlocks = new String[]
                     {
@@ -175,6 +187,24 @@ import static com.minecolonies.api.util.constant.Constants.*;
 
             @Config.Comment("Amount of additional threads to be used for pathfinding")
             public  int pathfindingMaxThreadCount = 2;
+
+            @Config.Comment("Use the pooled pathfinding engine (primitive keyed node map, indexed heap and recycled nodes)")
+            public  boolean pathfindingPooledEngine = true;
+
+            @Config.Comment("Max amount of queued pathfinding jobs, the least important jobs are dropped beyond")
+            public  int pathfindingMaxQueuedJobs = 500;
+
+            @Config.Comment("Let path jobs read an immutable world snapshot instead of the live chunks")
+            public  boolean pathfindingWorldSnapshot = true;
+
+            @Config.Comment("Amount of chunk sections (16x16x16) kept captured for the pathfinding world snapshots")
+            public  int pathfindingSnapshotCacheSize = 4096;
+
+            @Config.Comment("Plan long paths over chunk entrances first, then search the short segments between them")
+            public  boolean pathfindingHierarchical = true;
+
+            @Config.Comment("Min distance in blocks for a path to be planned over chunk entrances")
+            public  int pathfindingHierarchicalMinDistance = 64;
         }
 
         public static class Names
@@ -0,0 +1,287 @@
+package com.minecolonies.api.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time spent in the colony subsystems, keyed by section, colony id and class.
+ * Disabled by default, measuring then only costs one volatile read per call site.
+ * Used by the server thread and the pathfinding threads.
+ * <p>
+ * Usage:
+ * <pre>
+ * final long start = TickProfiler.start();
+ * doWork();
+ * TickProfiler.stop(TickProfiler.SECTION_X, colonyId, getClass(), start);
+ * </pre>
+ */
+public final class TickProfiler
+{
+    /**
+     * The measured sections.
+     */
+    public static final String SECTION_SERVER_TICK = "serverTick";
+    public static final String SECTION_WORLD_TICK  = "worldTick";
+    public static final String SECTION_SUBSCRIBERS = "subscribers";
+    public static final String SECTION_BUILDING    = "building";
+    public static final String SECTION_AI          = "ai";
+    public static final String SECTION_PATHFINDING = "pathfinding";
+    public static final String SECTION_REQUESTS    = "requests";
+
+    /**
+     * Colony id used for measurements which don't belong to a colony.
+     */
+    public static final int NO_COLONY = -1;
+
+    /**
+     * Histograms by section, colony id and class.
+     */
+    private static final Map<String, Map<Integer, Map<Class<?>, Histogram>>> histograms = new HashMap<>();
+
+    private static volatile boolean enabled = false;
+
+    private TickProfiler()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Start or stop measuring.
+     *
+     * @param enable true to start.
+     */
+    public static void setEnabled(final boolean enable)
+    {
+        enabled = enable;
+    }
+
+    /**
+     * Checks if measuring.
+     *
+     * @return true if so.
+     */
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Start a measurement.
+     *
+     * @return the start time to pass to {@link #stop(String, int, Class, long)}, 0 if disabled.
+     */
+    public static long start()
+    {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Finish a measurement.
+     *
+     * @param section  the section.
+     * @param colonyId the id of the colony, or {@link #NO_COLONY}.
+     * @param type     the class doing the work.
+     * @param start    the value returned by {@link #start()}.
+     */
+    public static void stop(@NotNull final String section, final int colonyId, @NotNull final Class<?> type, final long start)
+    {
+        if (start != 0)
+        {
+            record(section, colonyId, type, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Record a measurement taken by the caller, only when {@link #isEnabled()}.
+     *
+     * @param section  the section.
+     * @param colonyId the id of the colony, or {@link #NO_COLONY}.
+     * @param type     the class doing the work.
+     * @param nanos    the time spent.
+     */
+    public static synchronized void record(@NotNull final String section, final int colonyId, @NotNull final Class<?> type, final long nanos)
+    {
+        histograms.computeIfAbsent(section, s -> new HashMap<>())
+          .computeIfAbsent(colonyId, id -> new HashMap<>())
+          .computeIfAbsent(type, t -> new Histogram())
+          .record(nanos);
+    }
+
+    /**
+     * Forget all measurements.
+     */
+    public static synchronized void reset()
+    {
+        histograms.clear();
+    }
+
+    /**
+     * Get a summary of all measurements, the most expensive first.
+     *
+     * @return the entries.
+     */
+    @NotNull
+    public static synchronized List<Entry> getEntries()
+    {
+        final List<Entry> entries = new ArrayList<>();
+        for (final Map.Entry<String, Map<Integer, Map<Class<?>, Histogram>>> section : histograms.entrySet())
+        {
+            for (final Map.Entry<Integer, Map<Class<?>, Histogram>> colony : section.getValue().entrySet())
+            {
+                for (final Map.Entry<Class<?>, Histogram> type : colony.getValue().entrySet())
+                {
+                    entries.add(new Entry(section.getKey(), colony.getKey(), type.getKey().getSimpleName(), type.getValue()));
+                }
+            }
+        }
+        entries.sort(Comparator.comparingLong((Entry entry) -> entry.totalNanos).reversed());
+        return entries;
+    }
+
+    /**
+     * Write all measurements as csv, times in microseconds.
+     *
+     * @param writer the writer.
+     * @throws IOException if writing failed.
+     */
+    public static void writeCsv(@NotNull final Writer writer) throws IOException
+    {
+        writer.write("section,colony,class,count,total,p50,p99,max\n");
+        for (final Entry entry : getEntries())
+        {
+            writer.write(String.format("%s,%d,%s,%d,%d,%d,%d,%d%n",
+              entry.section, entry.colonyId, entry.type, entry.count,
+              toMicros(entry.totalNanos), toMicros(entry.p50Nanos), toMicros(entry.p99Nanos), toMicros(entry.maxNanos)));
+        }
+    }
+
+    /**
+     * Write all measurements as a json array, times in microseconds.
+     *
+     * @param writer the writer.
+     * @throws IOException if writing failed.
+     */
+    public static void writeJson(@NotNull final Writer writer) throws IOException
+    {
+        writer.write("[\n");
+        final List<Entry> entries = getEntries();
+        for (int i = 0; i < entries.size(); i++)
+        {
+            final Entry entry = entries.get(i);
+            writer.write(String.format(
+              "  {\"section\": \"%s\", \"colony\": %d, \"class\": \"%s\", \"count\": %d, \"total\": %d, \"p50\": %d, \"p99\": %d, \"max\": %d}%s%n",
+              entry.section, entry.colonyId, entry.type, entry.count,
+              toMicros(entry.totalNanos), toMicros(entry.p50Nanos), toMicros(entry.p99Nanos), toMicros(entry.maxNanos),
+              i + 1 < entries.size() ? "," : ""));
+        }
+        writer.write("]\n");
+    }
+
+    private static long toMicros(final long nanos)
+    {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    /**
+     * Summary of the measurements of one section, colony and class.
+     */
+    public static final class Entry
+    {
+        public final String section;
+        public final int    colonyId;
+        public final String type;
+        public final long   count;
+        public final long   totalNanos;
+        public final long   p50Nanos;
+        public final long   p99Nanos;
+        public final long   maxNanos;
+
+        private Entry(@NotNull final String section, final int colonyId, @NotNull final String type, @NotNull final Histogram histogram)
+        {
+            this.section = section;
+            this.colonyId = colonyId;
+            this.type = type;
+            this.count = histogram.count;
+            this.totalNanos = histogram.total;
+            this.p50Nanos = histogram.getPercentile(0.5D);
+            this.p99Nanos = histogram.getPercentile(0.99D);
+            this.maxNanos = histogram.max;
+        }
+    }
+
+    /**
+     * Histogram with 8 buckets per power of two, so percentiles are within 12.5%.
+     */
+    static final class Histogram
+    {
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS     = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS         = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+        private final long[] counts = new long[BUCKETS];
+        private       long   count;
+        private       long   total;
+        private       long   max;
+
+        /**
+         * Record a value.
+         *
+         * @param value the value, negative values count as 0.
+         */
+        void record(final long value)
+        {
+            final long clamped = Math.max(0, value);
+            counts[getBucket(clamped)]++;
+            count++;
+            total += clamped;
+            max = Math.max(max, clamped);
+        }
+
+        /**
+         * Get the lowest value of the bucket holding a percentile.
+         *
+         * @param percentile the percentile, between 0 and 1.
+         * @return the value, 0 if empty.
+         */
+        long getPercentile(final double percentile)
+        {
+            final long rank = (long) Math.ceil(percentile * count);
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++)
+            {
+                seen += counts[bucket];
+                if (seen >= rank && seen > 0)
+                {
+                    return Math.min(max, getBucketStart(bucket));
+                }
+            }
+            return max;
+        }
+
+        static int getBucket(final long value)
+        {
+            if (value < SUB_BUCKETS)
+            {
+                return (int) value;
+            }
+            final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+            final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        static long getBucketStart(final int bucket)
+        {
+            if (bucket < SUB_BUCKETS)
+            {
+                return bucket;
+            }
+            final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            final long subBucket = bucket % SUB_BUCKETS;
+            return (1L << exponent) | (subBucket << (exponent - SUB_BUCKET_BITS));
+        }
+    }
+}
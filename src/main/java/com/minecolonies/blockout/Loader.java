@@ -7,6 +7,7 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.relauncher.Side;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -20,14 +21,21 @@ import java.io.StringReader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Utilities to load xml files.
+ * The xml files are parsed once into {@link PaneParams}, which are cached until the resources are reloaded.
  */
 public final class Loader
 {
     private static final Map<String, Constructor<? extends Pane>> paneConstructorMap = new HashMap<>();
+
+    /**
+     * The parsed xml files by their resource.
+     */
+    private static final Map<ResourceLocation, PaneParams> layouts = new HashMap<>();
     static
     {
         register("view", View.class);
@@ -86,18 +94,31 @@ public final class Loader
         return name + ":" + (style != null ? style : "");
     }
 
+    /**
+     * Forget the parsed xml files, for example when a resource pack changed them.
+     */
+    public static void clearCache()
+    {
+        layouts.clear();
+    }
+
     private static Pane createFromPaneParams(final PaneParams params)
     {
         //  Parse Attributes first, to full construct
         final String paneType = params.getType();
-        final String style = params.getStringAttribute("style", null);
-
-        String key = makeFactoryKey(paneType, style);
-        Constructor<? extends Pane> constructor = paneConstructorMap.get(key);
-        if (constructor == null && style != null)
+        Constructor<? extends Pane> constructor = params.getConstructor();
+        if (constructor == null)
         {
-            key = makeFactoryKey(paneType, null);
+            final String style = params.getStringAttribute("style", null);
+
+            String key = makeFactoryKey(paneType, style);
             constructor = paneConstructorMap.get(key);
+            if (constructor == null && style != null)
+            {
+                key = makeFactoryKey(paneType, null);
+                constructor = paneConstructorMap.get(key);
+            }
+            params.setConstructor(constructor);
         }
 
         if (constructor != null)
@@ -150,34 +171,38 @@ public final class Loader
     }
 
     /**
-     * Parse an XML Document into contents for a View.
+     * Create the contents of a View from the parsed root of an XML Document.
      *
-     * @param doc    xml document.
+     * @param root   xml parameters of the document element.
      * @param parent parent view.
      */
-    private static void createFromXML(final Document doc, final View parent)
+    private static void createFromRoot(final PaneParams root, final View parent)
     {
-        doc.getDocumentElement().normalize();
-
-        final PaneParams root = new PaneParams(doc.getDocumentElement());
         if (parent instanceof Window)
         {
             ((Window) parent).loadParams(root);
         }
 
-        for (final PaneParams child : root.getChildren())
+        final List<PaneParams> children = root.getChildren();
+        if (children == null)
+        {
+            return;
+        }
+
+        for (final PaneParams child : children)
         {
             createFromPaneParams(child, parent);
         }
     }
 
     /**
-     * Parse XML from an InputSource into contents for a View.
+     * Parse XML from an InputSource.
      *
-     * @param input  xml file.
-     * @param parent parent view.
+     * @param input xml file.
+     * @return the xml parameters of the document element or null if it could not be parsed.
      */
-    private static void createFromXML(final InputSource input, final View parent)
+    @Nullable
+    private static PaneParams parse(final InputSource input)
     {
         try
         {
@@ -185,12 +210,14 @@ public final class Loader
             final DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
             final Document doc = dBuilder.parse(input);
 
-            createFromXML(doc, parent);
+            doc.getDocumentElement().normalize();
+            return new PaneParams(doc.getDocumentElement());
         }
         catch (ParserConfigurationException | SAXException | IOException exc)
         {
             Log.getLogger().error("Exception when parsing XML.", exc);
         }
+        return null;
     }
 
     /**
@@ -201,7 +228,11 @@ public final class Loader
      */
     public static void createFromXML(final String xmlString, final View parent)
     {
-        createFromXML(new InputSource(new StringReader(xmlString)), parent);
+        final PaneParams root = parse(new InputSource(new StringReader(xmlString)));
+        if (root != null)
+        {
+            createFromRoot(root, parent);
+        }
     }
 
     /**
@@ -223,7 +254,17 @@ public final class Loader
      */
     public static void createFromXMLFile(final ResourceLocation resource, final View parent)
     {
-        createFromXML(new InputSource(createInputStream(resource)), parent);
+        PaneParams root = layouts.get(resource);
+        if (root == null)
+        {
+            root = parse(new InputSource(createInputStream(resource)));
+            if (root == null)
+            {
+                return;
+            }
+            layouts.put(resource, root);
+        }
+        createFromRoot(root, parent);
     }
 
     /**
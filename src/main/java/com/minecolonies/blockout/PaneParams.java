@@ -5,10 +5,11 @@ import net.minecraft.client.resources.I18n;
 import net.minecraft.util.math.MathHelper;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.reflect.Constructor;
+import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -16,14 +17,25 @@ import static com.minecolonies.blockout.Log.getLogger;
 
 /**
  * Special parameters for the panes.
+ * The xml node is read once on creation, so the params can be cached and used for every window created from them.
  */
 public class PaneParams
 {
     private static final Pattern PERCENTAGE_PATTERN = Pattern.compile("([-+]?\\d+)(%|px)?", Pattern.CASE_INSENSITIVE);
     private static final Pattern RGBA_PATTERN       =
       Pattern.compile("rgba?\\(\\s*(\\d+)\\s*,\\s*(\\d+)\\s*,\\s*(\\d+)\\s*(?:,\\s*([01]\\.\\d+)\\s*)?\\)", Pattern.CASE_INSENSITIVE);
-    private final Node node;
-    private       View parentView;
+    private final String                      type;
+    private final Map<String, String>         attributes = new HashMap<>();
+    private final String                      text;
+    @Nullable
+    private final List<PaneParams>            children;
+    private       View                        parentView;
+
+    /**
+     * The constructor of the pane, resolved by the {@link Loader} on first use.
+     */
+    @Nullable
+    private       Constructor<? extends Pane> constructor;
 
     /**
      * Instantiates the pane parameters.
@@ -32,12 +44,51 @@ public class PaneParams
      */
     public PaneParams(final Node n)
     {
-        node = n;
+        type = n.getNodeName();
+        text = n.getTextContent().trim();
+
+        final NamedNodeMap attributeNodes = n.getAttributes();
+        if (attributeNodes != null)
+        {
+            for (int i = 0; i < attributeNodes.getLength(); i++)
+            {
+                final Node attribute = attributeNodes.item(i);
+                attributes.put(attribute.getNodeName(), attribute.getNodeValue());
+            }
+        }
+
+        List<PaneParams> list = null;
+        Node child = n.getFirstChild();
+        while (child != null)
+        {
+            if (child.getNodeType() == Node.ELEMENT_NODE)
+            {
+                if (list == null)
+                {
+                    list = new ArrayList<>();
+                }
+
+                list.add(new PaneParams(child));
+            }
+            child = child.getNextSibling();
+        }
+        children = list == null ? null : Collections.unmodifiableList(list);
     }
 
     public String getType()
     {
-        return node.getNodeName();
+        return type;
+    }
+
+    @Nullable
+    Constructor<? extends Pane> getConstructor()
+    {
+        return constructor;
+    }
+
+    void setConstructor(@Nullable final Constructor<? extends Pane> constructor)
+    {
+        this.constructor = constructor;
     }
 
     public View getParentView()
@@ -63,36 +114,19 @@ public class PaneParams
     @Nullable
     public List<PaneParams> getChildren()
     {
-        List<PaneParams> list = null;
-
-        Node child = node.getFirstChild();
-        while (child != null)
-        {
-            if (child.getNodeType() == Node.ELEMENT_NODE)
-            {
-                if (list == null)
-                {
-                    list = new ArrayList<>();
-                }
-
-                list.add(new PaneParams(child));
-            }
-            child = child.getNextSibling();
-        }
-
-        return list;
+        return children;
     }
 
     @NotNull
     public String getText()
     {
-        return node.getTextContent().trim();
+        return text;
     }
 
     @Nullable
     public String getLocalizedText()
     {
-        return localize(node.getTextContent().trim());
+        return localize(text);
     }
 
     @Nullable
@@ -150,13 +184,8 @@ public class PaneParams
      */
     public String getStringAttribute(final String name, final String def)
     {
-        final Node attr = getAttribute(name);
-        return (attr != null) ? attr.getNodeValue() : def;
-    }
-
-    private Node getAttribute(final String name)
-    {
-        return node.getAttributes().getNamedItem(name);
+        final String attr = attributes.get(name);
+        return (attr != null) ? attr : def;
     }
 
     /**
@@ -11,6 +11,8 @@ import java.util.List;
  * and are ordered sequentially.
  * <p>
  * All children are set to a Top version of their alignment, and have their Y coordinates overwritten.
+ * <p>
+ * With the attribute virtual="true" only the visible children exist, use it for lists which can get long.
  */
 public class ScrollingList extends ScrollingView
 {
@@ -34,20 +36,34 @@ public class ScrollingList extends ScrollingView
     public ScrollingList(final PaneParams params)
     {
         super(params);
+        setVirtual(params.getBooleanAttribute("virtual", false));
     }
 
     public void setDataProvider(final DataProvider p)
     {
         dataProvider = p;
-        refreshElementPanes();
+        ((ScrollingListContainer) container).refreshElementPanes(dataProvider, listNodeParams);
     }
 
     /**
-     * Use the data provider to update all the element panes.
+     * Set whether only the panes of the visible elements are created, they are reused while scrolling.
+     *
+     * @param virtual true for virtual mode.
+     */
+    public void setVirtual(final boolean virtual)
+    {
+        ((ScrollingListContainer) container).setVirtual(virtual);
+    }
+
+    /**
+     * Use the data provider to update all the element panes, if its data changed.
      */
     public void refreshElementPanes()
     {
-        ((ScrollingListContainer) container).refreshElementPanes(dataProvider, listNodeParams);
+        if (dataProvider == null || dataProvider.hasChanged())
+        {
+            ((ScrollingListContainer) container).refreshElementPanes(dataProvider, listNodeParams);
+        }
     }
 
     @NotNull
@@ -101,5 +117,15 @@ public class ScrollingList extends ScrollingView
          * @param rowPane the parent Pane for the row, containing the elements to update
          */
         void updateElement(int index, Pane rowPane);
+
+        /**
+         * Override this to skip refreshes while the data did not change.
+         *
+         * @return true if the data changed since the last call.
+         */
+        default boolean hasChanged()
+        {
+            return true;
+        }
     }
 }
@@ -6,16 +6,42 @@ import com.minecolonies.blockout.PaneParams;
 
 /**
  * A Blockout pane that contains a scrolling line of other panes.
+ * <p>
+ * In virtual mode only the panes of the visible elements (plus a few around them) exist,
+ * they are reused for other elements when the list scrolls.
  */
 public class ScrollingListContainer extends ScrollingContainer
 {
+    /**
+     * Amount of elements above and below the visible ones which have panes in virtual mode.
+     */
+    private static final int OVERSCAN = 2;
+
     private int listElementHeight = 0;
 
+    //  Virtual mode
+    private boolean                    virtual      = false;
+    private int                        firstIndex   = 0;
+    private int                        elementCount = 0;
+    private boolean                    rowsDirty    = false;
+    private ScrollingList.DataProvider dataProvider;
+    private PaneParams                 listNodeParams;
+
     ScrollingListContainer(final ScrollingList owner)
     {
         super(owner);
     }
 
+    /**
+     * Set whether only the panes of the visible elements are created.
+     *
+     * @param virtual true for virtual mode.
+     */
+    public void setVirtual(final boolean virtual)
+    {
+        this.virtual = virtual;
+    }
+
     /**
      * Creates, deletes, and updates existing Panes for elements in the list based on the DataProvider.
      *
@@ -24,6 +50,16 @@ public class ScrollingListContainer extends ScrollingContainer
      */
     public void refreshElementPanes(final ScrollingList.DataProvider dataProvider, final PaneParams listNodeParams)
     {
+        if (virtual)
+        {
+            this.dataProvider = dataProvider;
+            this.listNodeParams = listNodeParams;
+            elementCount = (dataProvider != null) ? dataProvider.getElementCount() : 0;
+            rowsDirty = true;
+            computeContentHeight();
+            return;
+        }
+
         if (dataProvider != null)
         {
             for (int i = 0; i < dataProvider.getElementCount(); ++i)
@@ -61,6 +97,91 @@ public class ScrollingListContainer extends ScrollingContainer
         computeContentHeight();
     }
 
+    @Override
+    public void computeContentHeight()
+    {
+        if (!virtual)
+        {
+            super.computeContentHeight();
+            return;
+        }
+
+        if (listElementHeight == 0 && elementCount > 0 && listNodeParams != null)
+        {
+            //  Create the first pane to know the height of the elements.
+            final Pane child = Loader.createFromPaneParams(listNodeParams, this);
+            if (child != null)
+            {
+                listElementHeight = child.getHeight();
+            }
+        }
+
+        contentHeight = elementCount * listElementHeight;
+        setScrollY(scrollY);
+    }
+
+    @Override
+    public void setScrollY(final int offset)
+    {
+        super.setScrollY(offset);
+        if (virtual)
+        {
+            updateVisibleRows();
+        }
+    }
+
+    /**
+     * Bind the panes to the elements around the scroll position, if they moved or the data changed.
+     */
+    private void updateVisibleRows()
+    {
+        if (elementCount == 0)
+        {
+            while (!children.isEmpty())
+            {
+                removeChild(children.get(0));
+            }
+            firstIndex = 0;
+            rowsDirty = false;
+            return;
+        }
+
+        if (listElementHeight == 0 || dataProvider == null)
+        {
+            return;
+        }
+
+        final int first = Math.max(0, scrollY / listElementHeight - OVERSCAN);
+        final int last = Math.min(elementCount, (scrollY + getHeight()) / listElementHeight + 1 + OVERSCAN);
+        final int needed = Math.max(0, last - first);
+        if (!rowsDirty && first == firstIndex && needed == children.size())
+        {
+            return;
+        }
+
+        while (children.size() > needed)
+        {
+            removeChild(children.get(children.size() - 1));
+        }
+
+        while (children.size() < needed)
+        {
+            if (Loader.createFromPaneParams(listNodeParams, this) == null)
+            {
+                return;
+            }
+        }
+
+        firstIndex = first;
+        rowsDirty = false;
+        for (int i = 0; i < needed; ++i)
+        {
+            final Pane child = children.get(i);
+            child.setPosition(0, (first + i) * listElementHeight);
+            dataProvider.updateElement(first + i, child);
+        }
+    }
+
     /**
      * Returns the element list index for the given pane.
      *
@@ -80,7 +201,8 @@ public class ScrollingListContainer extends ScrollingContainer
             return -1;
         }
 
-        return getChildren().indexOf(parentPane);
+        final int index = getChildren().indexOf(parentPane);
+        return index < 0 ? -1 : (firstIndex + index);
     }
 
     /**
@@ -98,8 +220,8 @@ public class ScrollingListContainer extends ScrollingContainer
             return null;
         }
 
-        final int listElement = my / listElementHeight;
-        if (listElement < children.size())
+        final int listElement = my / listElementHeight - firstIndex;
+        if (listElement >= 0 && listElement < children.size())
         {
             final Pane child = children.get(listElement);
             if (child.canHandleClick(mx, my))
@@ -397,6 +397,13 @@ public class WindowTownHall extends AbstractWindowBuilding<BuildingTownHall.View
     @NotNull
     private final List<CitizenDataView> citizens = new ArrayList<>();
 
+    /**
+     * Whether the users, citizens and workOrders changed since their list got refreshed.
+     */
+    private boolean usersChanged      = true;
+    private boolean citizensChanged   = true;
+    private boolean workOrdersChanged = true;
+
     /**
      * Map of the pages.
      */
@@ -483,9 +490,14 @@ public class WindowTownHall extends AbstractWindowBuilding<BuildingTownHall.View
      */
     private void updateUsers()
     {
-        users.clear();
-        users.addAll(townHall.getColony().getPlayers().values());
-        users.sort(Comparator.comparing(Player::getRank, Rank::compareTo));
+        final List<Player> newUsers = new ArrayList<>(townHall.getColony().getPlayers().values());
+        newUsers.sort(Comparator.comparing(Player::getRank, Rank::compareTo));
+        if (!newUsers.equals(users))
+        {
+            users.clear();
+            users.addAll(newUsers);
+            usersChanged = true;
+        }
     }
 
     /**
@@ -493,8 +505,15 @@ public class WindowTownHall extends AbstractWindowBuilding<BuildingTownHall.View
      */
     private void updateCitizens()
     {
-        citizens.clear();
-        citizens.addAll(townHall.getColony().getCitizens().values());
+        final List<CitizenDataView> newCitizens = new ArrayList<>(townHall.getColony().getCitizens().values());
+        if (!newCitizens.equals(citizens))
+        {
+            citizens.clear();
+            citizens.addAll(newCitizens);
+            citizensChanged = true;
+            //The workOrders show the names of the citizens.
+            workOrdersChanged = true;
+        }
     }
 
     /**
@@ -510,9 +529,14 @@ public class WindowTownHall extends AbstractWindowBuilding<BuildingTownHall.View
      */
     private void updateWorkOrders()
     {
-        workOrders.clear();
-        workOrders.addAll(townHall.getColony().getWorkOrders());
-        sortWorkOrders();
+        final List<WorkOrderView> newWorkOrders = new ArrayList<>(townHall.getColony().getWorkOrders());
+        newWorkOrders.sort(Comparator.comparing(WorkOrderView::getPriority, Comparator.reverseOrder()));
+        if (!newWorkOrders.equals(workOrders))
+        {
+            workOrders.clear();
+            workOrders.addAll(newWorkOrders);
+            workOrdersChanged = true;
+        }
     }
 
     private void removeBlock(final Button button)
@@ -770,6 +794,7 @@ public class WindowTownHall extends AbstractWindowBuilding<BuildingTownHall.View
                 }
 
                 sortWorkOrders();
+                workOrdersChanged = true;
                 window.findPaneOfTypeByID(LIST_WORKORDER, ScrollingList.class).refreshElementPanes();
                 return;
             }
@@ -794,6 +819,7 @@ public class WindowTownHall extends AbstractWindowBuilding<BuildingTownHall.View
             }
         }
         MineColonies.getNetwork().sendToServer(new WorkOrderChangeMessage(this.building, id, true, 0));
+        workOrdersChanged = true;
         window.findPaneOfTypeByID(LIST_WORKORDER, ScrollingList.class).refreshElementPanes();
     }
 
@@ -943,6 +969,14 @@ public class WindowTownHall extends AbstractWindowBuilding<BuildingTownHall.View
                 rowPane.findPaneOfTypeByID("name", Label.class).setLabelText(player.getName());
                 rowPane.findPaneOfTypeByID("rank", Label.class).setLabelText(rank);
             }
+
+            @Override
+            public boolean hasChanged()
+            {
+                final boolean changed = usersChanged;
+                usersChanged = false;
+                return changed;
+            }
         });
     }
 
@@ -967,6 +1001,14 @@ public class WindowTownHall extends AbstractWindowBuilding<BuildingTownHall.View
 
                 rowPane.findPaneOfTypeByID("name", Label.class).setLabelText(citizen.getName());
             }
+
+            @Override
+            public boolean hasChanged()
+            {
+                final boolean changed = citizensChanged;
+                citizensChanged = false;
+                return changed;
+            }
         });
     }
 
@@ -994,22 +1036,9 @@ public class WindowTownHall extends AbstractWindowBuilding<BuildingTownHall.View
                 final WorkOrderView workOrder = workOrders.get(index);
                 String claimingCitizen = "";
 
-                if (index == 0)
-                {
-                    if (getElementCount() == 1)
-                    {
-                        rowPane.findPaneOfTypeByID(BUTTON_DOWN, Button.class).hide();
-                    }
-                    else
-                    {
-                        rowPane.findPaneOfTypeByID(BUTTON_DOWN, Button.class).show();
-                    }
-                    rowPane.findPaneOfTypeByID(BUTTON_UP, Button.class).hide();
-                }
-                else if (index == getElementCount() - 1)
-                {
-                    rowPane.findPaneOfTypeByID(BUTTON_DOWN, Button.class).hide();
-                }
+                //Rows are reused for other workOrders, so both buttons are always set.
+                rowPane.findPaneOfTypeByID(BUTTON_UP, Button.class).setVisible(index > 0);
+                rowPane.findPaneOfTypeByID(BUTTON_DOWN, Button.class).setVisible(index < getElementCount() - 1);
 
                 //Searches citizen of id x
                 for (@NotNull final CitizenDataView citizen : citizens)
@@ -1025,6 +1054,14 @@ public class WindowTownHall extends AbstractWindowBuilding<BuildingTownHall.View
                 rowPane.findPaneOfTypeByID(ASSIGNEE_LABEL, Label.class).setLabelText(claimingCitizen);
                 rowPane.findPaneOfTypeByID(HIDDEN_WORKORDER_ID, Label.class).setLabelText(Integer.toString(workOrder.getId()));
             }
+
+            @Override
+            public boolean hasChanged()
+            {
+                final boolean changed = workOrdersChanged;
+                workOrdersChanged = false;
+                return changed;
+            }
         });
     }
 
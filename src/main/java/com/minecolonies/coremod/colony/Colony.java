@@ -14,9 +14,11 @@ import com.minecolonies.coremod.colony.workorders.AbstractWorkOrder;
 import com.minecolonies.coremod.entity.EntityCitizen;
 import com.minecolonies.coremod.entity.ai.citizen.builder.ConstructionTapeHelper;
 import com.minecolonies.coremod.entity.ai.citizen.farmer.Field;
+import com.minecolonies.coremod.entity.ai.mobs.util.BarbarianHorde;
 import com.minecolonies.coremod.entity.ai.mobs.util.MobEventsUtils;
+import com.minecolonies.coremod.entity.pathfinding.PathCache;
+import com.minecolonies.coremod.network.ColonyViewSync;
 import com.minecolonies.coremod.network.messages.*;
-import com.minecolonies.coremod.permissions.ColonyPermissionEventHandler;
 import com.minecolonies.coremod.tileentities.ScarecrowTileEntity;
 import com.minecolonies.coremod.tileentities.TileEntityColonyBuilding;
 import com.minecolonies.coremod.util.AchievementUtils;
@@ -39,7 +41,6 @@ import net.minecraft.util.Tuple;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.EnumDifficulty;
 import net.minecraft.world.World;
-import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.util.Constants.NBT;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import org.jetbrains.annotations.NotNull;
@@ -58,6 +59,8 @@ public class Colony implements IColony
 {
     //  Settings
     private static final int    CITIZEN_CLEANUP_TICK_INCREMENT = 5 * TICKS_SECOND;
+    private static final int    BUILDING_CLEANUP_TICK_INCREMENT = TICKS_SECOND;
+    private static final int    WORK_ORDER_FULFILL_INCREMENT    = TICKS_SECOND;
     private static final String TAG_ID                         = "id";
     private static final String TAG_NAME                       = "name";
     private static final String TAG_DIMENSION                  = "dimension";
@@ -75,6 +78,7 @@ public class Colony implements IColony
     private static final String TAG_FREE_POSITIONS             = "freePositions";
     private static final String TAG_HAPPINESS                  = "happiness";
     private static final String TAG_ABANDONED                  = "abandoned";
+    private static final String TAG_REQUESTMANAGER             = "requestManager";
 
     //statistics tags
     private static final String TAG_STATISTICS            = "statistics";
@@ -157,10 +161,13 @@ public class Colony implements IColony
 
     //private int autoHostile = 0;//Off
     private static final String TAG_FIELDS                        = "fields";
-    private static final int    CHECK_WAYPOINT_EVERY              = 100;
-    private static final double MAX_SQ_DIST_SUBSCRIBER_UPDATE     = MathUtils.square(Configurations.gameplay.workingRangeTownHall + 16D);
-    private static final double MAX_SQ_DIST_OLD_SUBSCRIBER_UPDATE = MathUtils.square(Configurations.gameplay.workingRangeTownHall * 2D);
+    private static final int    CHECK_WAYPOINT_EVERY              = 50;
     private final int id;
+    /**
+     * Runs the periodic work of the colony within the tick budget.
+     */
+    private final ColonyTaskScheduler      scheduler;
+    private final ColonyTaskScheduler.Task happinessTask;
     //  General Attributes
     private final int dimensionId;
     //  Buildings
@@ -205,7 +212,11 @@ public class Colony implements IColony
     private       World                           world             = null;
     //  Updates and Subscriptions
     @NotNull
-    private       Set<EntityPlayerMP>             subscribers      = new HashSet<>();
+    private final Set<EntityPlayerMP>             subscribers      = new HashSet<>();
+    /**
+     * The subscribers added since the last update, which still need the full views.
+     */
+    private final Set<EntityPlayerMP>             newSubscribers    = new HashSet<>();
     private       boolean                         isDirty          = false;
     private       boolean                         isCitizensDirty  = false;
     private       boolean                         isBuildingsDirty = false;
@@ -213,6 +224,11 @@ public class Colony implements IColony
     private       boolean                         manualHousing     = false;
 
     private       boolean                         isFieldsDirty    = false;
+    /**
+     * The records of the views last sent to the subscribers.
+     */
+    private final Map<Integer, byte[]>            sentCitizenViews  = new HashMap<>();
+    private final Map<BlockPos, byte[]>           sentBuildingViews = new HashMap<>();
     private       String                          name             = "ERROR(Wasn't placed by player)";
     private BlockPos         center;
     //  Administration/permissions
@@ -231,6 +247,27 @@ public class Colony implements IColony
     private int ticksPassed = 0;
     private final IRequestManager requestManager = new StandardRequestManager(this);
 
+    /**
+     * Index of the trees around the lumberjacks of this colony.
+     */
+    private final ColonyTreeIndex treeIndex = new ColonyTreeIndex();
+
+    /**
+     * Threats around this colony, shared by its guards and citizens for the tick.
+     */
+    private final ColonyThreatSnapshot threatSnapshot = new ColonyThreatSnapshot(this);
+
+    /**
+     * The barbarian horde which is still spawning, if any.
+     */
+    @Nullable
+    private BarbarianHorde horde = null;
+
+    /**
+     * Cache of the paths walked by the citizens of this colony.
+     */
+    private final PathCache pathCache = new PathCache();
+
     /**
      * Constructor for a newly created Colony.
      *
@@ -258,9 +295,16 @@ public class Colony implements IColony
         this.dimensionId = dim;
         this.permissions = new Permissions(this);
         this.colonyAchievements = new ArrayList<>();
-
-        // Register a new event handler
-        MinecraftForge.EVENT_BUS.register(new ColonyPermissionEventHandler(this));
+        this.scheduler = new ColonyTaskScheduler(id);
+        this.happinessTask = scheduler.addTask("happiness", 0, this::updateOverallHappiness);
+        scheduler.addTask("citizens", CITIZEN_CLEANUP_TICK_INCREMENT, this::respawnLostCitizens);
+        scheduler.addTask("buildings", BUILDING_CLEANUP_TICK_INCREMENT, this::cleanUpBuildings);
+        scheduler.addTask("raids", TICKS_SECOND, this::checkForRaid);
+        scheduler.addTask("horde", 1, this::spawnHorde);
+        scheduler.addTask("waypoints", CHECK_WAYPOINT_EVERY, this::updateWayPoints);
+        scheduler.addTask("workorders", WORK_ORDER_FULFILL_INCREMENT, workManager::fulfillWorkOrders);
+        scheduler.addTask("requests", 1, requestManager::update);
+        scheduler.addTask("trees", 1, () -> treeIndex.scanNextChunk(world));
 
         for (final String s : Configurations.gameplay.freeToInteractBlocks)
         {
@@ -415,6 +459,11 @@ public class Colony implements IColony
         }
         lastContactInHours = compound.getInteger(TAG_ABANDONED);
         manualHousing = compound.getBoolean(TAG_MANUAL_HOUSING);
+
+        if (compound.hasKey(TAG_REQUESTMANAGER))
+        {
+            requestManager.deserializeNBT(compound.getCompoundTag(TAG_REQUESTMANAGER));
+        }
     }
 
     /**
@@ -425,6 +474,7 @@ public class Colony implements IColony
     private void addBuilding(@NotNull final AbstractBuilding building)
     {
         buildings.put(building.getID(), building);
+        ColonyManager.onBuildingAdded(this, building);
         building.markDirty();
 
         //  Limit 1 town hall
@@ -574,6 +624,7 @@ public class Colony implements IColony
         compound.setDouble(TAG_HAPPINESS, overallHappiness);
         compound.setInteger(TAG_ABANDONED, lastContactInHours);
         compound.setBoolean(TAG_MANUAL_HOUSING, manualHousing);
+        compound.setTag(TAG_REQUESTMANAGER, requestManager.serializeNBT());
     }
 
     /**
@@ -734,6 +785,7 @@ public class Colony implements IColony
         }
 
         world = null;
+        pathCache.clear();
     }
 
     /**
@@ -750,7 +802,9 @@ public class Colony implements IColony
 
         if (event.phase == TickEvent.Phase.END)
         {
+            final long start = TickProfiler.start();
             updateSubscribers();
+            TickProfiler.stop(TickProfiler.SECTION_SUBSCRIBERS, id, Colony.class, start);
         }
     }
 
@@ -765,55 +819,42 @@ public class Colony implements IColony
             return;
         }
 
-        //  Recompute subscribers every frame (for now)
-        //  Subscribers = Owners + Players within (double working town hall range)
-        @NotNull final Set<EntityPlayerMP> oldSubscribers = subscribers;
-        subscribers = new HashSet<>();
-
-        // Add owners
-        world.getMinecraftServer().getPlayerList().getPlayers()
-          .stream()
-          .filter(permissions::isSubscriber)
-          .forEachOrdered(subscribers::add);
-
-        if (subscribers.isEmpty())
+        //  Subscribers are kept up to date by the ColonySubscriptionTracker, only rank changes are checked here.
+        if (permissions.isDirty())
         {
-            if (ticksPassed >= TICKS_HOUR)
-            {
-                ticksPassed = 0;
-                lastContactInHours++;
-            }
-            ticksPassed++;
+            ColonySubscriptionTracker.refresh(this);
         }
-        else
+
+        if (hasOnlineSubscriberRank())
         {
             lastContactInHours = 0;
             ticksPassed = 0;
             lastContactInHours = 0;
         }
-
-        //  Add nearby players
-        for (final EntityPlayer o : world.playerEntities)
+        else
         {
-            if (o instanceof EntityPlayerMP)
+            if (ticksPassed >= TICKS_HOUR)
             {
-                @NotNull final EntityPlayerMP player = (EntityPlayerMP) o;
-
-                final double distance = player.getDistanceSq(center);
-                if (distance < MAX_SQ_DIST_SUBSCRIBER_UPDATE
-                      || (oldSubscribers.contains(player) && distance < MAX_SQ_DIST_OLD_SUBSCRIBER_UPDATE))
-                {
-                    // Players become subscribers if they come within 16 blocks of the edge of the colony
-                    // Players remain subscribers while they remain within double the colony's radius
-                    subscribers.add(player);
-                }
+                ticksPassed = 0;
+                lastContactInHours++;
             }
+            ticksPassed++;
         }
 
         if (!subscribers.isEmpty())
         {
-            //  Determine if any new subscribers were added this pass
-            final boolean hasNewSubscribers = ColonyUtils.hasNewSubscribers(oldSubscribers, subscribers);
+            //  Determine if any new subscribers were added since the last pass
+            final boolean hasNewSubscribers = !newSubscribers.isEmpty();
+            @NotNull final Set<EntityPlayerMP> oldSubscribers;
+            if (hasNewSubscribers)
+            {
+                oldSubscribers = new HashSet<>(subscribers);
+                oldSubscribers.removeAll(newSubscribers);
+            }
+            else
+            {
+                oldSubscribers = subscribers;
+            }
 
             //  Send each type of update packet as appropriate:
             //      - To Subscribers if the data changes
@@ -837,7 +878,7 @@ public class Colony implements IColony
             //Fields
             if (!isBuildingsDirty)
             {
-                sendFieldPackets(hasNewSubscribers);
+                sendFieldPackets(oldSubscribers, hasNewSubscribers);
             }
 
             //schematics
@@ -848,6 +889,7 @@ public class Colony implements IColony
             }
         }
 
+        newSubscribers.clear();
         isFieldsDirty = false;
         isDirty = false;
         isCitizensDirty = false;
@@ -858,6 +900,47 @@ public class Colony implements IColony
         citizens.values().forEach(CitizenData::clearDirty);
     }
 
+    /**
+     * Checks if a player with a subscriber rank is online.
+     *
+     * @return true if so.
+     */
+    private boolean hasOnlineSubscriberRank()
+    {
+        for (final EntityPlayerMP player : subscribers)
+        {
+            if (permissions.isSubscriber(player))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add a subscriber, called by the {@link ColonySubscriptionTracker}.
+     *
+     * @param player the player.
+     */
+    void addSubscriber(@NotNull final EntityPlayerMP player)
+    {
+        if (subscribers.add(player))
+        {
+            newSubscribers.add(player);
+        }
+    }
+
+    /**
+     * Remove a subscriber, called by the {@link ColonySubscriptionTracker}.
+     *
+     * @param player the player.
+     */
+    void removeSubscriber(@NotNull final EntityPlayerMP player)
+    {
+        subscribers.remove(player);
+        newSubscribers.remove(player);
+    }
+
     private void sendColonyViewPackets(@NotNull final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
     {
         if (isDirty || hasNewSubscribers)
@@ -927,9 +1010,7 @@ public class Colony implements IColony
             {
                 if (citizen.isDirty() || hasNewSubscribers)
                 {
-                    subscribers.stream()
-                      .filter(player -> citizen.isDirty() || !oldSubscribers.contains(player))
-                      .forEach(player -> MineColonies.getNetwork().sendTo(new ColonyViewCitizenViewMessage(this, citizen), player));
+                    queueView(sentCitizenViews, citizen.getId(), ColonyViewSync.encodeCitizen(this, citizen), oldSubscribers);
                 }
             }
         }
@@ -949,14 +1030,43 @@ public class Colony implements IColony
             {
                 if (building.isDirty() || hasNewSubscribers)
                 {
-                    subscribers.stream()
-                      .filter(player -> building.isDirty() || !oldSubscribers.contains(player))
-                      .forEach(player -> MineColonies.getNetwork().sendTo(new ColonyViewBuildingViewMessage(building), player));
+                    queueView(sentBuildingViews, building.getID(), ColonyViewSync.encodeBuilding(building), oldSubscribers);
                 }
             }
         }
     }
 
+    /**
+     * Queues a view to the subscribers which don't have its current state.
+     * Views which did not change since they were last sent only go to new subscribers.
+     *
+     * @param sentViews      the last sent records of the views of this type.
+     * @param key            the id of the view.
+     * @param record         the encoded view.
+     * @param oldSubscribers the existing subscribers.
+     * @param <K>            the type of the id.
+     */
+    private <K> void queueView(
+                                @NotNull final Map<K, byte[]> sentViews,
+                                @NotNull final K key,
+                                @NotNull final byte[] record,
+                                @NotNull final Set<EntityPlayerMP> oldSubscribers)
+    {
+        final boolean changed = !Arrays.equals(sentViews.get(key), record);
+        if (changed)
+        {
+            sentViews.put(key, record);
+        }
+
+        for (final EntityPlayerMP player : subscribers)
+        {
+            if (changed || !oldSubscribers.contains(player))
+            {
+                ColonyViewSync.queue(id, player, record);
+            }
+        }
+    }
+
     /**
      * Sends packages to update the schematics.
      *
@@ -974,9 +1084,10 @@ public class Colony implements IColony
     /**
      * Sends packages to update the fields.
      *
+     * @param oldSubscribers    the existing subscribers.
      * @param hasNewSubscribers the new subscribers.
      */
-    private void sendFieldPackets(final boolean hasNewSubscribers)
+    private void sendFieldPackets(@NotNull final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
     {
         if ((isFieldsDirty && !isBuildingsDirty) || hasNewSubscribers)
         {
@@ -984,7 +1095,7 @@ public class Colony implements IColony
             {
                 if (building instanceof BuildingFarmer)
                 {
-                    subscribers.forEach(player -> MineColonies.getNetwork().sendTo(new ColonyViewBuildingViewMessage(building), player));
+                    queueView(sentBuildingViews, building.getID(), ColonyViewSync.encodeBuilding(building), oldSubscribers);
                 }
             }
         }
@@ -1083,6 +1194,7 @@ public class Colony implements IColony
             return;
         }
 
+        final long start = System.nanoTime();
         if (event.phase == TickEvent.Phase.START)
         {
             //  Detect CitizenData whose EntityCitizen no longer exist in world, and clear the mapping
@@ -1092,19 +1204,6 @@ public class Colony implements IColony
               .filter(ColonyUtils::isCitizenMissingFromWorld)
               .forEach(CitizenData::clearCitizenEntity);
 
-            //  Cleanup disappeared citizens
-            //  It would be really nice if we didn't have to do this... but Citizens can disappear without dying!
-            //  Every CITIZEN_CLEANUP_TICK_INCREMENT, cleanup any 'lost' citizens
-            if (shallUpdate(event.world, CITIZEN_CLEANUP_TICK_INCREMENT) && areAllColonyChunksLoaded(event) && townHall != null)
-            {
-                //  All chunks within a good range of the colony should be loaded, so all citizens should be loaded
-                //  If we don't have any references to them, destroy the citizen
-                citizens.values().forEach(this::spawnCitizenIfNull);
-            }
-
-            //  Cleanup Buildings whose Blocks have gone AWOL
-            cleanUpBuildings(event);
-
             //  Spawn Citizens
             if (townHall != null && citizens.size() < maxCitizens)
             {
@@ -1116,47 +1215,116 @@ public class Colony implements IColony
                     spawnCitizen();
                 }
             }
-
-            if (shallUpdate(world, TICKS_SECOND) && event.world.getDifficulty() != EnumDifficulty.PEACEFUL
-                    && Configurations.gameplay.doBarbariansSpawn
-                    && !world.getMinecraftServer().getPlayerList().getPlayers()
-                    .stream().filter(permissions::isSubscriber).collect(Collectors.toList()).isEmpty()
-                    && MobEventsUtils.isItTimeToRaid(event.world, this))
-            {
-                MobEventsUtils.barbarianEvent(event.world, this);
-            }
         }
 
         //  Tick Buildings
         for (@NotNull final AbstractBuilding building : buildings.values())
         {
+            final long buildingStart = TickProfiler.start();
             building.onWorldTick(event);
+            TickProfiler.stop(TickProfiler.SECTION_BUILDING, id, building.getClass(), buildingStart);
         }
 
         if (isDay && !world.isDaytime())
         {
             isDay = false;
-            updateOverallHappiness();
+            scheduler.schedule(happinessTask);
         }
         else if (!isDay && world.isDaytime())
         {
             isDay = true;
         }
 
-        updateWayPoints();
         workManager.onWorldTick(event);
+        scheduler.addWork(System.nanoTime() - start);
+
+        //  Periodic work, spread over the ticks and limited by the budget of the colony.
+        if (event.phase == TickEvent.Phase.END)
+        {
+            scheduler.runTasks(event.world.getTotalWorldTime());
+        }
+    }
+
+    /**
+     * Cleanup disappeared citizens.
+     * It would be really nice if we didn't have to do this... but Citizens can disappear without dying!
+     */
+    private void respawnLostCitizens()
+    {
+        if (world != null && townHall != null && areAllColonyChunksLoaded(world))
+        {
+            //  All chunks within a good range of the colony should be loaded, so all citizens should be loaded
+            //  If we don't have any references to them, destroy the citizen
+            citizens.values().forEach(this::spawnCitizenIfNull);
+        }
+    }
+
+    /**
+     * Start a raid if it is time to.
+     */
+    private void checkForRaid()
+    {
+        if (world != null && world.getDifficulty() != EnumDifficulty.PEACEFUL
+              && Configurations.gameplay.doBarbariansSpawn
+              && hasOnlineSubscriberRank()
+              && MobEventsUtils.isItTimeToRaid(world, this))
+        {
+            MobEventsUtils.barbarianEvent(world, this);
+        }
+    }
+
+    /**
+     * Spawn the next barbarians of the horde raiding the colony.
+     */
+    private void spawnHorde()
+    {
+        if (horde != null && !horde.spawnNext(world))
+        {
+            horde = null;
+        }
+    }
+
+    /**
+     * Start spawning a horde raiding the colony, replaces a horde which is still spawning.
+     *
+     * @param horde the horde.
+     */
+    public void setHorde(@NotNull final BarbarianHorde horde)
+    {
+        this.horde = horde;
+    }
+
+    /**
+     * Getter for the scheduler of the periodic work of the colony.
+     *
+     * @return the scheduler.
+     */
+    @NotNull
+    public ColonyTaskScheduler getScheduler()
+    {
+        return scheduler;
+    }
+
+    /**
+     * Getter for the index of the trees around the lumberjacks.
+     *
+     * @return the index.
+     */
+    @NotNull
+    public ColonyTreeIndex getTreeIndex()
+    {
+        return treeIndex;
     }
 
     /**
-     * Calculate randomly if the colony should update the citizens.
-     * By mean they update it at CITIZEN_CLEANUP_TICK_INCREMENT.
+     * Getter for the snapshot of the threats around the colony.
      *
-     * @param world the world.
-     * @return a boolean by random.
+     * @return the snapshot.
      */
-    private static boolean shallUpdate(final World world, final int averageTicks)
+    @NotNull
+    public ColonyThreatSnapshot getThreatSnapshot()
     {
-        return world.getWorldTime() % (world.rand.nextInt(averageTicks * 2) + 1) == 0;
+        return threatSnapshot;
     }
 
     private void updateOverallHappiness()
@@ -1220,9 +1388,9 @@ public class Colony implements IColony
      */
     private void updateWayPoints()
     {
-        final Random rand = new Random();
-        if (rand.nextInt(CHECK_WAYPOINT_EVERY) <= 1 && wayPoints.size() > 0)
+        if (!wayPoints.isEmpty())
         {
+            final Random rand = new Random();
             final Object[] entries = wayPoints.entrySet().toArray();
             final int stopAt = rand.nextInt(entries.length);
             final Object obj = entries[stopAt];
@@ -1251,14 +1419,14 @@ public class Colony implements IColony
         return world;
     }
 
-    private boolean areAllColonyChunksLoaded(@NotNull final TickEvent.WorldTickEvent event)
+    private boolean areAllColonyChunksLoaded(@NotNull final World world)
     {
         final int distanceFromCenter = Configurations.gameplay.workingRangeTownHall + 48 /* 3 chunks */ + 15 /* round up a chunk */;
         for (int x = -distanceFromCenter; x <= distanceFromCenter; x += 16)
         {
             for (int z = -distanceFromCenter; z <= distanceFromCenter; z += 16)
             {
-                if (!event.world.isBlockLoaded(new BlockPos(getCenter().getX() + x, 128, getCenter().getZ() + z)))
+                if (!world.isBlockLoaded(new BlockPos(getCenter().getX() + x, 128, getCenter().getZ() + z)))
                 {
                     return false;
                 }
@@ -1267,8 +1435,16 @@ public class Colony implements IColony
         return true;
     }
 
-    private void cleanUpBuildings(@NotNull final TickEvent.WorldTickEvent event)
+    /**
+     * Cleanup Buildings whose Blocks have gone AWOL.
+     */
+    private void cleanUpBuildings()
     {
+        if (world == null)
+        {
+            return;
+        }
+
         @Nullable final List<AbstractBuilding> removedBuildings = new ArrayList<>();
 
         //Need this list, we may enter he while we add a building in the real world.
@@ -1277,7 +1453,7 @@ public class Colony implements IColony
         for (@NotNull final AbstractBuilding building : tempBuildings)
         {
             final BlockPos loc = building.getLocation();
-            if (event.world.isBlockLoaded(loc) && !building.isMatchingBlock(event.world.getBlockState(loc).getBlock()))
+            if (world.isBlockLoaded(loc) && !building.isMatchingBlock(world.getBlockState(loc).getBlock()))
             {
                 //  Sanity cleanup
                 removedBuildings.add(building);
@@ -1288,9 +1464,9 @@ public class Colony implements IColony
 
         for (@NotNull final Field field : tempFields)
         {
-            if (event.world.isBlockLoaded(field.getLocation()))
+            if (world.isBlockLoaded(field.getLocation()))
             {
-                final ScarecrowTileEntity scarecrow = (ScarecrowTileEntity) event.world.getTileEntity(field.getID());
+                final ScarecrowTileEntity scarecrow = (ScarecrowTileEntity) world.getTileEntity(field.getID());
                 if (scarecrow == null)
                 {
                     fields.remove(field.getID());
@@ -1394,6 +1570,17 @@ public class Colony implements IColony
         return wareHouse != null;
     }
 
+    /**
+     * Getter for the warehouse of the colony.
+     *
+     * @return the warehouse or null.
+     */
+    @Nullable
+    public BuildingWareHouse getWareHouse()
+    {
+        return wareHouse;
+    }
+
     /**
      * Updates all subscribers of fields etc.
      */
@@ -1715,7 +1902,7 @@ public class Colony implements IColony
         }
 
         calculateMaxCitizens();
-        ColonyManager.markDirty();
+        ColonyManager.markDirty(this);
 
         return building;
     }
@@ -1759,6 +1946,9 @@ public class Colony implements IColony
     {
         if (buildings.remove(building.getID()) != null)
         {
+            ColonyManager.onBuildingRemoved(this, building);
+            sentBuildingViews.remove(building.getID());
+            ColonyViewSync.unqueueBuilding(id, building.getID());
             for (final EntityPlayerMP player : subscribers)
             {
                 MineColonies.getNetwork().sendTo(new ColonyViewRemoveBuildingMessage(this, building.getID()), player);
@@ -1787,7 +1977,7 @@ public class Colony implements IColony
 
         calculateMaxCitizens();
 
-        ColonyManager.markDirty();
+        ColonyManager.markDirty(this);
     }
 
     /**
@@ -1841,6 +2031,8 @@ public class Colony implements IColony
     {
         //Remove the Citizen
         citizens.remove(citizen.getId());
+        sentCitizenViews.remove(citizen.getId());
+        ColonyViewSync.unqueueCitizen(id, citizen.getId());
 
         for (@NotNull final AbstractBuilding building : buildings.values())
         {
@@ -2041,6 +2233,17 @@ public class Colony implements IColony
         return requestManager;
     }
 
+    /**
+     * Get the path cache of the colony.
+     *
+     * @return the cache.
+     */
+    @NotNull
+    public PathCache getPathCache()
+    {
+        return pathCache;
+    }
+
     @Override
     public boolean hasWillRaidTonight()
     {
@@ -6,11 +6,16 @@ import com.minecolonies.api.colony.permissions.Rank;
 import com.minecolonies.api.configuration.Configurations;
 import com.minecolonies.api.util.LanguageHandler;
 import com.minecolonies.api.util.Log;
+import com.minecolonies.api.util.TickProfiler;
 import com.minecolonies.coremod.MineColonies;
 import com.minecolonies.coremod.achievements.ModAchievements;
 import com.minecolonies.coremod.blocks.AbstractBlockHut;
 import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
 import com.minecolonies.coremod.entity.EntityCitizen;
+import com.minecolonies.coremod.entity.pathfinding.ChunkPortalGraph;
+import com.minecolonies.coremod.entity.pathfinding.ChunkSectionRevisions;
+import com.minecolonies.coremod.entity.pathfinding.WorldSnapshot;
+import com.minecolonies.coremod.network.ColonyViewSync;
 import com.minecolonies.coremod.util.AchievementUtils;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.client.Minecraft;
@@ -23,6 +28,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.common.DimensionManager;
 import net.minecraftforge.common.util.Constants.NBT;
+import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import org.jetbrains.annotations.NotNull;
@@ -30,7 +36,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
@@ -54,6 +59,26 @@ public final class ColonyManager
      */
     private static final String FILENAME_MINECOLONIES_BACKUP = "colonies-%s.dat";
 
+    /**
+     * The file name of the manifest, listing the saved colonies.
+     */
+    private static final String FILENAME_MANIFEST = "manifest.dat";
+
+    /**
+     * The file name pattern of a saved colony.
+     */
+    private static final String FILENAME_COLONY = "colony%d.dat";
+
+    /**
+     * Every colony is saved at least once in this amount of ticks (5 minutes).
+     */
+    private static final int SAVE_INTERVAL = 6000;
+
+    /**
+     * Max amount of colonies snapshotted per tick.
+     */
+    private static final int MAX_SAVES_PER_TICK = 4;
+
     /**
      * The tag of the colonies.
      */
@@ -62,6 +87,10 @@ public final class ColonyManager
      * The tag of the pseudo unique identifier
      */
     private static final String                     TAG_UUID              = "uuid";
+    /**
+     * The tag of the ids of the saved colonies, in the manifest.
+     */
+    private static final String                     TAG_COLONY_IDS        = "colonyIds";
 
     /**
      * The damage source used to kill citizens.
@@ -77,12 +106,27 @@ public final class ColonyManager
      */
     @NotNull
     private static final Map<Integer, List<Colony>> coloniesByWorld       = new HashMap<>();
+
+    /**
+     * Spatial index of the colonies, by dimension.
+     */
+    private static final ColonySpatialIndex<Colony> colonyIndex = new ColonySpatialIndex<>();
+
+    /**
+     * The colony owning each building, by dimension.
+     */
+    private static final Map<Integer, Map<BlockPos, Colony>> buildingOwners = new HashMap<>();
     /**
      * The list of colony views.
      */
     @NotNull
     private static final ColonyList<ColonyView>     colonyViews           = new ColonyList<>();
 
+    /**
+     * Spatial index of the colony views, by dimension.
+     */
+    private static final ColonySpatialIndex<ColonyView> colonyViewIndex = new ColonySpatialIndex<>();
+
     /**
      * A buffer value to be sure to be outside of the colony.
      */
@@ -97,9 +141,25 @@ public final class ColonyManager
      */
     private static int     numWorldsLoaded;
     /**
-     * Whether the colonyManager should persist data.
+     * Whether the colonyManager should persist all colonies.
      */
     private static boolean saveNeeded;
+    /**
+     * Whether the manifest has to be written.
+     */
+    private static boolean manifestDirty;
+    /**
+     * The colonies which have to be saved, in order.
+     */
+    private static final Set<Integer> dirtyColonies   = new LinkedHashSet<>();
+    /**
+     * The colonies whose files have to be deleted once the manifest is written.
+     */
+    private static final Set<Integer> deletedColonies = new HashSet<>();
+    /**
+     * Ticks since the server started, to spread the periodic saves.
+     */
+    private static int saveTicks;
 
     /**
      * Indicate if a schematic have just been downloaded.
@@ -138,7 +198,8 @@ public final class ColonyManager
         colony.triggerAchievement(ModAchievements.achievementGetSupply);
         colony.triggerAchievement(ModAchievements.achievementTownhall);
 
-        markDirty();
+        markDirty(colony);
+        manifestDirty = true;
 
         Log.getLogger().info(String.format("New Colony Id: %d by %s", colony.getID(), player.getName()));
 
@@ -150,6 +211,37 @@ public final class ColonyManager
         if(colony.getDimension() >= 0)
         {
             coloniesByWorld.computeIfAbsent(colony.getDimension(), ArrayList::new).add(colony);
+            colonyIndex.add(colony.getDimension(), colony);
+            for (final AbstractBuilding building : colony.getBuildings().values())
+            {
+                onBuildingAdded(colony, building);
+            }
+        }
+    }
+
+    /**
+     * Notify that a colony got a new building.
+     *
+     * @param colony   the colony.
+     * @param building the building.
+     */
+    public static void onBuildingAdded(@NotNull final Colony colony, @NotNull final AbstractBuilding building)
+    {
+        buildingOwners.computeIfAbsent(colony.getDimension(), dim -> new HashMap<>()).put(building.getID(), colony);
+    }
+
+    /**
+     * Notify that a building was removed from a colony.
+     *
+     * @param colony   the colony.
+     * @param building the building.
+     */
+    public static void onBuildingRemoved(@NotNull final Colony colony, @NotNull final AbstractBuilding building)
+    {
+        final Map<BlockPos, Colony> owners = buildingOwners.get(colony.getDimension());
+        if (owners != null)
+        {
+            owners.remove(building.getID(), colony);
         }
     }
 
@@ -161,6 +253,16 @@ public final class ColonyManager
         saveNeeded = true;
     }
 
+    /**
+     * Specify that a colony should be saved.
+     *
+     * @param colony the colony.
+     */
+    public static void markDirty(@NotNull final Colony colony)
+    {
+        dirtyColonies.add(colony.getID());
+    }
+
     /**
      * Delete a colony and kill all citizens/purge all buildings.
      *
@@ -205,6 +307,16 @@ public final class ColonyManager
             Log.getLogger().info("Deleting colony: " + colony.getID());
             colonies.remove(id);
             coloniesByWorld.get(colony.getDimension()).remove(colony);
+            colonyIndex.remove(colony.getDimension(), colony);
+            ColonySubscriptionTracker.onColonyDeleted(colony);
+            dirtyColonies.remove(id);
+            deletedColonies.add(id);
+            manifestDirty = true;
+            final Map<BlockPos, Colony> owners = buildingOwners.get(colony.getDimension());
+            if (owners != null)
+            {
+                owners.values().removeIf(owner -> owner == colony);
+            }
 
             Log.getLogger().info("Done with " + id);
         }
@@ -212,7 +324,6 @@ public final class ColonyManager
         {
             Log.getLogger().warn("Deleting Colony " + id + " errored:", e);
         }
-        ColonyManager.markDirty();
     }
 
     /**
@@ -254,12 +365,25 @@ public final class ColonyManager
         }
 
         //  Fallback - there might be a AbstractBuilding for this block, but it's outside of it's owning colony's radius.
-        for (@NotNull final Colony otherColony : getColonies(w))
+        final Map<BlockPos, Colony> owners = buildingOwners.get(w.provider.getDimension());
+        final Colony owner = owners == null ? null : owners.get(pos);
+        return owner == null ? null : owner.getBuilding(pos);
+    }
+
+    /**
+     * Get colony that contains a given coordinate.
+     *
+     * @param w   World.
+     * @param pos coordinates.
+     * @return Colony at the given location.
+     */
+    public static Colony getColony(@NotNull final World w, @NotNull final BlockPos pos)
+    {
+        for (@NotNull final Colony c : colonyIndex.getCandidates(w.provider.getDimension(), pos))
         {
-            final AbstractBuilding building = otherColony.getBuilding(pos);
-            if (building != null)
+            if (c.isCoordInColony(w, pos))
             {
-                return building;
+                return c;
             }
         }
 
@@ -267,29 +391,31 @@ public final class ColonyManager
     }
 
     /**
-     * Get colony that contains a given coordinate.
+     * Get all colonies that contain a given coordinate, usually none or one.
+     * Looked up in the spatial index, so this is cheap enough for event handlers.
      *
      * @param w   World.
      * @param pos coordinates.
-     * @return Colony at the given location.
+     * @return the colonies at the given location.
      */
-    public static Colony getColony(@NotNull final World w, @NotNull final BlockPos pos)
+    @NotNull
+    public static List<Colony> getColoniesAt(@NotNull final World w, @NotNull final BlockPos pos)
     {
-        final List<Colony> coloniesInWorld = coloniesByWorld.get(w.provider.getDimension());
-        if (coloniesInWorld == null)
+        final List<Colony> candidates = colonyIndex.getCandidates(w.provider.getDimension(), pos);
+        if (candidates.isEmpty())
         {
-            return null;
+            return Collections.emptyList();
         }
 
-        for (@NotNull final Colony c : coloniesInWorld)
+        final List<Colony> result = new ArrayList<>(1);
+        for (@NotNull final Colony c : candidates)
         {
             if (c.isCoordInColony(w, pos))
             {
-                return c;
+                result.add(c);
             }
         }
-
-        return null;
+        return result;
     }
 
     /**
@@ -386,7 +512,7 @@ public final class ColonyManager
      */
     private static ColonyView getColonyView(@NotNull final World w, @NotNull final BlockPos pos)
     {
-        for (@NotNull final ColonyView c : colonyViews)
+        for (@NotNull final ColonyView c : colonyViewIndex.getCandidates(w.provider.getDimension(), pos))
         {
             if (c.isCoordInColony(w, pos))
             {
@@ -424,23 +550,7 @@ public final class ColonyManager
     @Nullable
     public static ColonyView getClosestColonyView(@NotNull final World w, @NotNull final BlockPos pos)
     {
-        @Nullable ColonyView closestColony = null;
-        long closestDist = Long.MAX_VALUE;
-
-        for (@NotNull final ColonyView c : colonyViews)
-        {
-            if (c.getDimension() == w.provider.getDimension() && c.getCenter() != null)
-            {
-                final long dist = c.getDistanceSquared(pos);
-                if (dist < closestDist)
-                {
-                    closestColony = c;
-                    closestDist = dist;
-                }
-            }
-        }
-
-        return closestColony;
+        return colonyViewIndex.getClosest(w.provider.getDimension(), pos);
     }
 
     /**
@@ -452,23 +562,7 @@ public final class ColonyManager
      */
     public static Colony getClosestColony(@NotNull final World w, @NotNull final BlockPos pos)
     {
-        @Nullable Colony closestColony = null;
-        long closestDist = Long.MAX_VALUE;
-
-        for (@NotNull final Colony c : getColonies(w))
-        {
-            if (c.getDimension() == w.provider.getDimension())
-            {
-                final long dist = c.getDistanceSquared(pos);
-                if (dist < closestDist)
-                {
-                    closestColony = c;
-                    closestDist = dist;
-                }
-            }
-        }
-
-        return closestColony;
+        return colonyIndex.getClosest(w.provider.getDimension(), pos);
     }
 
     /**
@@ -565,29 +659,129 @@ public final class ColonyManager
      */
     public static void onServerTick(@NotNull final TickEvent.ServerTickEvent event)
     {
+        //  The event fires at the start and the end of each tick, saves are only counted and done at the end.
+        final boolean tickEnd = event.phase == TickEvent.Phase.END;
+        if (tickEnd)
+        {
+            saveTicks++;
+            ColonySubscriptionTracker.tick(FMLCommonHandler.instance().getMinecraftServerInstance());
+        }
+
         for (@NotNull final Colony c : colonies)
         {
+            final long start = TickProfiler.start();
             c.onServerTick(event);
+            TickProfiler.stop(TickProfiler.SECTION_SERVER_TICK, c.getID(), Colony.class, start);
+
+            //  Spread the periodic saves of the colonies over the interval.
+            if (tickEnd && (saveNeeded || (c.getID() + saveTicks) % SAVE_INTERVAL == 0))
+            {
+                dirtyColonies.add(c.getID());
+            }
+        }
+
+        if (!tickEnd)
+        {
+            return;
         }
 
         if (saveNeeded)
         {
-            saveColonies();
+            manifestDirty = true;
+            saveNeeded = false;
         }
+
+        ColonyViewSync.flush();
+        saveDirtyColonies(MAX_SAVES_PER_TICK);
     }
 
     /**
-     * Save all the Colonies.
+     * Snapshot dirty colonies and queue them to be written, then the manifest once no colony is left.
+     *
+     * @param limit max amount of colonies to snapshot.
      */
-    private static void saveColonies()
+    private static void saveDirtyColonies(final int limit)
     {
+        int saved = 0;
+        final Iterator<Integer> iterator = dirtyColonies.iterator();
+        while (iterator.hasNext() && saved < limit)
+        {
+            final Colony colony = colonies.get(iterator.next());
+            iterator.remove();
+            if (colony != null)
+            {
+                saveColony(colony);
+                saved++;
+            }
+        }
+
+        if (manifestDirty && dirtyColonies.isEmpty())
+        {
+            saveManifest();
+        }
+    }
+
+    /**
+     * Snapshot a colony on the server thread and queue it to be written.
+     *
+     * @param colony the colony.
+     */
+    private static void saveColony(@NotNull final Colony colony)
+    {
+        final long start = System.nanoTime();
         @NotNull final NBTTagCompound compound = new NBTTagCompound();
-        writeToNBT(compound);
+        colony.writeToNBT(compound);
+        //  Item stacks share their tag with the written compound, copy so the IO thread never sees a live tag.
+        final NBTTagCompound snapshot = compound.copy();
+        ColonyPersistence.recordSnapshot(System.nanoTime() - start);
+
+        ColonyPersistence.write(getColonyFile(colony.getID()), snapshot);
+    }
+
+    /**
+     * Queue the manifest to be written, followed by the deletion of the files of deleted colonies.
+     */
+    private static void saveManifest()
+    {
+        @NotNull final NBTTagCompound compound = new NBTTagCompound();
+        final List<Colony> allColonies = colonies.getCopyAsList();
+        final int[] ids = new int[allColonies.size()];
+        for (int i = 0; i < ids.length; i++)
+        {
+            ids[i] = allColonies.get(i).getID();
+        }
+        compound.setIntArray(TAG_COLONY_IDS, ids);
+        if (serverUUID != null)
+        {
+            compound.setUniqueId(TAG_UUID, serverUUID);
+        }
+        ColonyPersistence.write(getManifestFile(), compound);
 
-        @NotNull final File file = getSaveLocation();
-        saveNBTToPath(file, compound);
+        for (final int id : deletedColonies)
+        {
+            if (colonies.get(id) == null)
+            {
+                ColonyPersistence.delete(getColonyFile(id));
+            }
+        }
+        deletedColonies.clear();
+        manifestDirty = false;
+    }
 
+    /**
+     * Save all the Colonies.
+     */
+    private static void saveColonies()
+    {
+        for (@NotNull final Colony colony : colonies)
+        {
+            dirtyColonies.add(colony.getID());
+        }
+        manifestDirty = true;
         saveNeeded = false;
+
+        saveDirtyColonies(Integer.MAX_VALUE);
+        ColonyPersistence.flush();
     }
 
     /**
@@ -612,38 +806,48 @@ public final class ColonyManager
     }
 
     /**
-     * Get save location for Minecolonies data, from the world/save directory.
+     * Get the directory of the Minecolonies data, from the world/save directory.
+     *
+     * @return the directory.
+     */
+    @NotNull
+    private static File getSaveDirectory()
+    {
+        return new File(DimensionManager.getWorld(0).getSaveHandler().getWorldDirectory(), FILENAME_MINECOLONIES_PATH);
+    }
+
+    /**
+     * Get save location of the legacy Minecolonies data, holding all colonies in one file.
      *
      * @return Save file for minecolonies.
      */
     @NotNull
     private static File getSaveLocation()
     {
-        @NotNull final File saveDir = new File(DimensionManager.getWorld(0).getSaveHandler().getWorldDirectory(), FILENAME_MINECOLONIES_PATH);
-        return new File(saveDir, FILENAME_MINECOLONIES);
+        return new File(getSaveDirectory(), FILENAME_MINECOLONIES);
     }
 
     /**
-     * Save an NBTTagCompound to a file.  Does so in a safe manner using an
-     * intermediate tmp file.
+     * Get save location of the manifest.
      *
-     * @param file     The destination file to write the data to.
-     * @param compound The NBTTagCompound to write to the file.
+     * @return the file.
      */
-    private static void saveNBTToPath(@Nullable final File file, @NotNull final NBTTagCompound compound)
+    @NotNull
+    private static File getManifestFile()
     {
-        try
-        {
-            if (file != null)
-            {
-                file.getParentFile().mkdir();
-                CompressedStreamTools.safeWrite(compound, file);
-            }
-        }
-        catch (final IOException exception)
-        {
-            Log.getLogger().error("Exception when saving ColonyManager", exception);
-        }
+        return new File(getSaveDirectory(), FILENAME_MANIFEST);
+    }
+
+    /**
+     * Get save location of a colony.
+     *
+     * @param id the id of the colony.
+     * @return the file.
+     */
+    @NotNull
+    private static File getColonyFile(final int id)
+    {
+        return new File(getSaveDirectory(), String.format(FILENAME_COLONY, id));
     }
 
     /**
@@ -657,6 +861,7 @@ public final class ColonyManager
         {
             //  Player has left the game, clear the Colony View cache
             colonyViews.clear();
+            colonyViewIndex.clear();
         }
     }
 
@@ -668,7 +873,12 @@ public final class ColonyManager
      */
     public static void onWorldTick(@NotNull final TickEvent.WorldTickEvent event)
     {
-        getColonies(event.world).forEach(c -> c.onWorldTick(event));
+        for (@NotNull final Colony c : getColonies(event.world))
+        {
+            final long start = TickProfiler.start();
+            c.onWorldTick(event);
+            TickProfiler.stop(TickProfiler.SECTION_WORLD_TICK, c.getID(), Colony.class, start);
+        }
     }
 
     /**
@@ -692,8 +902,7 @@ public final class ColonyManager
                 //load the structures when we know where the world is
                 Structures.init();
 
-                @NotNull final File file = getSaveLocation();
-                @Nullable final NBTTagCompound data = loadNBTFromPath(file);
+                @Nullable final NBTTagCompound data = readSavedData();
                 if (data != null)
                 {
                     readFromNBT(data);
@@ -720,35 +929,74 @@ public final class ColonyManager
         }
     }
 
+    /**
+     * Write all saved colonies into one backup file.
+     *
+     * @return false if the backup could not be written.
+     */
     public static boolean backupColonyData()
     {
-        if (numWorldsLoaded > 0 && saveNeeded)
+        if (numWorldsLoaded > 0)
         {
             saveColonies();
         }
 
-        @NotNull final File file = getSaveLocation();
         @NotNull final File targetFile = getBackupSaveLocation(new Date());
-        if (!file.exists())
+        if (targetFile.exists())
         {
-            return true;
+            return false;
         }
-        else if (targetFile.exists())
+
+        @Nullable final NBTTagCompound data = readSavedData();
+        if (data == null)
         {
-            return false;
+            return true;
         }
 
-        try
+        ColonyPersistence.writeNow(targetFile, data);
+        return targetFile.exists();
+    }
+
+    /**
+     * Read the saved colonies, as one compound in the format of {@link #writeToNBT(NBTTagCompound)}.
+     * Reads the per colony files listed in the manifest, or the legacy file if there is no manifest yet.
+     *
+     * @return the data, null if nothing was saved.
+     */
+    @Nullable
+    private static NBTTagCompound readSavedData()
+    {
+        @Nullable final NBTTagCompound manifest = loadNBTFromPath(getManifestFile());
+        if (manifest == null)
         {
-            Files.copy(file.toPath(), targetFile.toPath());
+            @Nullable final NBTTagCompound legacy = loadNBTFromPath(getSaveLocation());
+            if (legacy != null)
+            {
+                //  Migrate to the per colony files on the next tick.
+                saveNeeded = true;
+            }
+            return legacy;
         }
-        catch (final IOException e)
+
+        @NotNull final NBTTagList colonyTagList = new NBTTagList();
+        for (final int id : manifest.getIntArray(TAG_COLONY_IDS))
         {
-            e.printStackTrace();
-            return false;
+            @Nullable final NBTTagCompound colonyCompound = loadNBTFromPath(getColonyFile(id));
+            if (colonyCompound == null)
+            {
+                Log.getLogger().error(String.format("Could not read the save file of colony %d", id));
+                continue;
+            }
+            colonyTagList.appendTag(colonyCompound);
         }
 
-        return targetFile.exists();
+        @NotNull final NBTTagCompound compound = new NBTTagCompound();
+        compound.setTag(TAG_COLONIES, colonyTagList);
+        if (manifest.hasUniqueId(TAG_UUID))
+        {
+            compound.setUniqueId(TAG_UUID, manifest.getUniqueId(TAG_UUID));
+        }
+        return compound;
     }
 
     /**
@@ -843,6 +1091,7 @@ public final class ColonyManager
             if(world.provider.getDimension() == 0)
             {
                 saveColonies();
+                Log.getLogger().info("Colony persistence: " + ColonyPersistence.getReport());
             }
 
 
@@ -850,12 +1099,21 @@ public final class ColonyManager
             {
                 c.onWorldUnload(world);
             }
+            ChunkSectionRevisions.clear(world.provider.getDimension());
+            WorldSnapshot.clear(world.provider.getDimension());
+            ChunkPortalGraph.clear(world.provider.getDimension());
 
             --numWorldsLoaded;
             if (numWorldsLoaded == 0)
             {
                 colonies.clear();
                 coloniesByWorld.clear();
+                colonyIndex.clear();
+                buildingOwners.clear();
+                ColonySubscriptionTracker.clear();
+                dirtyColonies.clear();
+                deletedColonies.clear();
+                manifestDirty = false;
             }
         }
     }
@@ -878,7 +1136,10 @@ public final class ColonyManager
             colonyViews.add(view);
         }
 
-        return view.handleColonyViewMessage(colonyData, isNewSubscription);
+        final IMessage response = view.handleColonyViewMessage(colonyData, isNewSubscription);
+        //  The center is only known after the first message.
+        colonyViewIndex.add(view.getDimension(), view);
+        return response;
     }
 
     /**
@@ -1080,17 +1341,8 @@ public final class ColonyManager
      */
     public static boolean isCoordinateInAnyColony(@NotNull final World world, final BlockPos pos)
     {
-        for (@NotNull final ColonyView c : colonyViews)
-        {
-            if (c.getDimension() == world.provider.getDimension())
-            {
-                final long dist = c.getDistanceSquared(pos);
-                if (dist < (Configurations.gameplay.workingRangeTownHall + Configurations.gameplay.townHallPadding + BUFFER))
-                {
-                    return true;
-                }
-            }
-        }
-        return false;
+        final ColonyView closest = colonyViewIndex.getClosest(world.provider.getDimension(), pos);
+        return closest != null
+                 && closest.getDistanceSquared(pos) < (Configurations.gameplay.workingRangeTownHall + Configurations.gameplay.townHallPadding + BUFFER);
     }
 }
@@ -0,0 +1,205 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.api.util.Log;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes the colony files on a background thread.
+ * The data is snapshotted into fresh NBT compounds on the server thread, which are only read by the IO thread afterwards.
+ * Files are written to a temporary file first and then moved over the old file, so a crash never leaves a half written file.
+ * Tasks run in submission order, a manifest submitted after its colony files is only written once they are.
+ */
+public final class ColonyPersistence
+{
+    /**
+     * Suffix of the temporary files.
+     */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Max time to wait for the pending writes when flushing.
+     */
+    private static final long FLUSH_TIMEOUT_SECONDS = 60;
+
+    /**
+     * The IO thread.
+     */
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable ->
+    {
+        final Thread thread = new Thread(runnable, "Minecolonies Colony IO");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Statistics.
+     */
+    private static final AtomicInteger pending      = new AtomicInteger();
+    private static final AtomicLong    filesWritten = new AtomicLong();
+    private static final AtomicLong    bytesWritten = new AtomicLong();
+    private static final AtomicLong    ioTotal      = new AtomicLong();
+    private static final AtomicLong    ioMax        = new AtomicLong();
+    private static long snapshots     = 0;
+    private static long snapshotTotal = 0;
+    private static long snapshotMax   = 0;
+
+    private ColonyPersistence()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Queue a compound to be written to a file.
+     *
+     * @param file     the file.
+     * @param compound the data, must not be modified afterwards.
+     */
+    public static void write(@NotNull final File file, @NotNull final NBTTagCompound compound)
+    {
+        pending.incrementAndGet();
+        executor.execute(() ->
+        {
+            try
+            {
+                writeNow(file, compound);
+            }
+            finally
+            {
+                pending.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Queue the deletion of a file, after all writes queued before.
+     *
+     * @param file the file.
+     */
+    public static void delete(@NotNull final File file)
+    {
+        pending.incrementAndGet();
+        executor.execute(() ->
+        {
+            try
+            {
+                Files.deleteIfExists(file.toPath());
+            }
+            catch (final IOException e)
+            {
+                Log.getLogger().error("Exception when deleting " + file, e);
+            }
+            finally
+            {
+                pending.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Block until all queued tasks are done, used when the world unloads.
+     */
+    public static void flush()
+    {
+        try
+        {
+            executor.submit(() -> { }).get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (final ExecutionException | TimeoutException e)
+        {
+            Log.getLogger().error("Exception when waiting for the colony files to be written", e);
+        }
+    }
+
+    /**
+     * Write a compound to a file on the current thread, through a temporary file.
+     *
+     * @param file     the file.
+     * @param compound the data.
+     */
+    public static void writeNow(@NotNull final File file, @NotNull final NBTTagCompound compound)
+    {
+        final long start = System.nanoTime();
+        final File temp = new File(file.getParentFile(), file.getName() + TEMP_SUFFIX);
+        try
+        {
+            file.getParentFile().mkdirs();
+            try (OutputStream stream = new FileOutputStream(temp))
+            {
+                CompressedStreamTools.writeCompressed(compound, stream);
+            }
+            final long length = temp.length();
+
+            try
+            {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (final AtomicMoveNotSupportedException e)
+            {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            final long duration = System.nanoTime() - start;
+            filesWritten.incrementAndGet();
+            bytesWritten.addAndGet(length);
+            ioTotal.addAndGet(duration);
+            ioMax.accumulateAndGet(duration, Math::max);
+        }
+        catch (final IOException e)
+        {
+            Log.getLogger().error("Exception when saving " + file, e);
+        }
+    }
+
+    /**
+     * Record the time it took to snapshot a colony on the server thread.
+     *
+     * @param nanos the time.
+     */
+    public static void recordSnapshot(final long nanos)
+    {
+        snapshots++;
+        snapshotTotal += nanos;
+        snapshotMax = Math.max(snapshotMax, nanos);
+    }
+
+    /**
+     * Get a human readable summary of the statistics.
+     *
+     * @return the summary.
+     */
+    @NotNull
+    public static String getReport()
+    {
+        final long files = Math.max(1, filesWritten.get());
+        return String.format("%d snapshots, avg %dus max %dus; %d files, %d bytes, io avg %dms max %dms; %d pending",
+          snapshots,
+          TimeUnit.NANOSECONDS.toMicros(snapshotTotal / Math.max(1, snapshots)),
+          TimeUnit.NANOSECONDS.toMicros(snapshotMax),
+          filesWritten.get(),
+          bytesWritten.get(),
+          TimeUnit.NANOSECONDS.toMillis(ioTotal.get() / files),
+          TimeUnit.NANOSECONDS.toMillis(ioMax.get()),
+          pending.get());
+    }
+}
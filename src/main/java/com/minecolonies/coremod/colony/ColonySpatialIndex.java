@@ -0,0 +1,279 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.api.colony.IColony;
+import com.minecolonies.api.configuration.Configurations;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Spatial index of the colonies per dimension.
+ * The world is split in cells of 4x4 chunks, each cell knows the colonies whose working range touches it.
+ * Finding the colonies of a position only looks at the colonies of its cell.
+ * The centers are additionally kept in a coarser grid, which is searched in growing rings to find the closest colony.
+ * Events can query it from the client and the server thread in singleplayer, so the access is synchronized.
+ *
+ * @param <T> Type of IColony (Colony or ColonyView)
+ */
+public final class ColonySpatialIndex<T extends IColony>
+{
+    /**
+     * Size of a cell, as a shift of the block coordinates (64 blocks).
+     */
+    private static final int CELL_SHIFT = 6;
+
+    /**
+     * Size of a cell of the center grid, as a shift of the block coordinates (256 blocks).
+     */
+    private static final int CENTER_CELL_SHIFT = 8;
+
+    /**
+     * Colonies by dimension and cell.
+     */
+    private final Map<Integer, Map<Long, List<T>>> cells = new HashMap<>();
+
+    /**
+     * Colonies by dimension and cell of their center.
+     */
+    private final Map<Integer, Map<Long, List<T>>> centerCells = new HashMap<>();
+
+    /**
+     * All indexed colonies by dimension, used to rebuild the cells.
+     */
+    private final Map<Integer, List<T>> colonies = new HashMap<>();
+
+    /**
+     * The working range the cells were computed with.
+     */
+    private int indexedRange = Configurations.gameplay.workingRangeTownHall;
+
+    /**
+     * Add a colony to the index, colonies without a center are ignored.
+     *
+     * @param dimension the dimension of the colony.
+     * @param colony    the colony.
+     */
+    public synchronized void add(final int dimension, @NotNull final T colony)
+    {
+        if (colony.getCenter() == null)
+        {
+            return;
+        }
+
+        final List<T> coloniesInDimension = colonies.computeIfAbsent(dimension, dim -> new ArrayList<>());
+        if (!coloniesInDimension.contains(colony))
+        {
+            coloniesInDimension.add(colony);
+            addCells(dimension, colony);
+
+            final BlockPos center = colony.getCenter();
+            centerCells.computeIfAbsent(dimension, dim -> new HashMap<>())
+              .computeIfAbsent(getCellKey(center.getX() >> CENTER_CELL_SHIFT, center.getZ() >> CENTER_CELL_SHIFT), key -> new ArrayList<>(1))
+              .add(colony);
+        }
+    }
+
+    /**
+     * Remove a colony from the index.
+     *
+     * @param dimension the dimension of the colony.
+     * @param colony    the colony.
+     */
+    public synchronized void remove(final int dimension, @NotNull final T colony)
+    {
+        final List<T> coloniesInDimension = colonies.get(dimension);
+        if (coloniesInDimension == null || !coloniesInDimension.remove(colony))
+        {
+            return;
+        }
+
+        removeFromCells(cells.get(dimension), colony);
+        removeFromCells(centerCells.get(dimension), colony);
+    }
+
+    private void removeFromCells(@Nullable final Map<Long, List<T>> cellsInDimension, @NotNull final T colony)
+    {
+        if (cellsInDimension == null)
+        {
+            return;
+        }
+
+        final Iterator<List<T>> iterator = cellsInDimension.values().iterator();
+        while (iterator.hasNext())
+        {
+            final List<T> cell = iterator.next();
+            if (cell.remove(colony) && cell.isEmpty())
+            {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove all colonies from the index.
+     */
+    public synchronized void clear()
+    {
+        cells.clear();
+        centerCells.clear();
+        colonies.clear();
+    }
+
+    /**
+     * Get the colony whose center is the closest to a position, by {@link IColony#getDistanceSquared(BlockPos)}.
+     *
+     * @param dimension the dimension.
+     * @param pos       the position.
+     * @return the closest colony, null if there is none in the dimension.
+     */
+    @Nullable
+    public synchronized T getClosest(final int dimension, @NotNull final BlockPos pos)
+    {
+        final List<T> coloniesInDimension = colonies.get(dimension);
+        if (coloniesInDimension == null || coloniesInDimension.isEmpty())
+        {
+            return null;
+        }
+
+        final Map<Long, List<T>> cellsInDimension = centerCells.get(dimension);
+        final int cellX = pos.getX() >> CENTER_CELL_SHIFT;
+        final int cellZ = pos.getZ() >> CENTER_CELL_SHIFT;
+
+        T closest = null;
+        long closestDistance = Long.MAX_VALUE;
+        for (int ring = 0; ; ring++)
+        {
+            //  Once more cells than colonies would be visited, checking every colony is cheaper.
+            if ((long) (2 * ring + 1) * (2 * ring + 1) > coloniesInDimension.size())
+            {
+                return getClosest(coloniesInDimension, pos);
+            }
+
+            for (int x = cellX - ring; x <= cellX + ring; x++)
+            {
+                for (int z = cellZ - ring; z <= cellZ + ring; z++)
+                {
+                    if (Math.abs(x - cellX) != ring && Math.abs(z - cellZ) != ring)
+                    {
+                        continue;
+                    }
+
+                    final List<T> cell = cellsInDimension.get(getCellKey(x, z));
+                    if (cell == null)
+                    {
+                        continue;
+                    }
+
+                    for (final T colony : cell)
+                    {
+                        final long distance = colony.getDistanceSquared(pos);
+                        if (distance < closestDistance)
+                        {
+                            closest = colony;
+                            closestDistance = distance;
+                        }
+                    }
+                }
+            }
+
+            //  Every center outside of the rings searched so far is at least ring cells away.
+            final long searched = (long) ring << CENTER_CELL_SHIFT;
+            if (closest != null && closestDistance <= searched * searched)
+            {
+                return closest;
+            }
+        }
+    }
+
+    @Nullable
+    private static <T extends IColony> T getClosest(@NotNull final List<T> candidates, @NotNull final BlockPos pos)
+    {
+        T closest = null;
+        long closestDistance = Long.MAX_VALUE;
+        for (final T colony : candidates)
+        {
+            final long distance = colony.getDistanceSquared(pos);
+            if (distance < closestDistance)
+            {
+                closest = colony;
+                closestDistance = distance;
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Get the colonies whose working range might contain a position.
+     * The colonies still have to be checked with {@link IColony#isCoordInColony(net.minecraft.world.World, BlockPos)}.
+     *
+     * @param dimension the dimension.
+     * @param pos       the position.
+     * @return a copy of the candidates.
+     */
+    @NotNull
+    public synchronized List<T> getCandidates(final int dimension, @NotNull final BlockPos pos)
+    {
+        checkRange();
+
+        final Map<Long, List<T>> cellsInDimension = cells.get(dimension);
+        if (cellsInDimension == null)
+        {
+            return Collections.emptyList();
+        }
+
+        final List<T> cell = cellsInDimension.get(getCellKey(pos.getX() >> CELL_SHIFT, pos.getZ() >> CELL_SHIFT));
+        return cell == null ? Collections.emptyList() : new ArrayList<>(cell);
+    }
+
+    /**
+     * Rebuild the cells if the working range changed in the configuration.
+     */
+    private void checkRange()
+    {
+        if (indexedRange == Configurations.gameplay.workingRangeTownHall)
+        {
+            return;
+        }
+
+        indexedRange = Configurations.gameplay.workingRangeTownHall;
+        cells.clear();
+        for (final Map.Entry<Integer, List<T>> entry : colonies.entrySet())
+        {
+            for (final T colony : entry.getValue())
+            {
+                addCells(entry.getKey(), colony);
+            }
+        }
+    }
+
+    /**
+     * Add a colony to all cells its working range touches.
+     */
+    private void addCells(final int dimension, @NotNull final T colony)
+    {
+        final Map<Long, List<T>> cellsInDimension = cells.computeIfAbsent(dimension, dim -> new HashMap<>());
+        final BlockPos center = colony.getCenter();
+        final long range = indexedRange;
+
+        for (int cellX = (center.getX() - indexedRange) >> CELL_SHIFT; cellX <= (center.getX() + indexedRange) >> CELL_SHIFT; cellX++)
+        {
+            for (int cellZ = (center.getZ() - indexedRange) >> CELL_SHIFT; cellZ <= (center.getZ() + indexedRange) >> CELL_SHIFT; cellZ++)
+            {
+                //  Distance from the center to the closest block of the cell.
+                final long dx = Math.max(0, Math.max((cellX << CELL_SHIFT) - center.getX(), center.getX() - ((cellX << CELL_SHIFT) + (1 << CELL_SHIFT) - 1)));
+                final long dz = Math.max(0, Math.max((cellZ << CELL_SHIFT) - center.getZ(), center.getZ() - ((cellZ << CELL_SHIFT) + (1 << CELL_SHIFT) - 1)));
+                if (dx * dx + dz * dz <= range * range)
+                {
+                    cellsInDimension.computeIfAbsent(getCellKey(cellX, cellZ), key -> new ArrayList<>(1)).add(colony);
+                }
+            }
+        }
+    }
+
+    private static long getCellKey(final int cellX, final int cellZ)
+    {
+        return ((long) cellX & 0xFFFFFFFFL) | (((long) cellZ & 0xFFFFFFFFL) << 32);
+    }
+}
@@ -0,0 +1,203 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.api.configuration.Configurations;
+import com.minecolonies.api.util.MathUtils;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.MathHelper;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Keeps the subscribers of the colonies up to date.
+ * Subscribers are the players with a subscriber rank and the players close to the center of a colony.
+ * A player is only checked again when logging in, crossing a chunk border or changing dimension, or when the permissions of a colony change.
+ */
+public final class ColonySubscriptionTracker
+{
+    /**
+     * Players become subscribers if they come within 16 blocks of the edge of the colony.
+     * Players remain subscribers while they remain within double the colony's radius.
+     */
+    private static final double MAX_SQ_DIST_SUBSCRIBER_UPDATE     = MathUtils.square(Configurations.gameplay.workingRangeTownHall + 16D);
+    private static final double MAX_SQ_DIST_OLD_SUBSCRIBER_UPDATE = MathUtils.square(Configurations.gameplay.workingRangeTownHall * 2D);
+
+    /**
+     * The online players by id.
+     */
+    private static final Map<UUID, TrackedPlayer> players = new HashMap<>();
+
+    private ColonySubscriptionTracker()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Check the players which moved to another chunk or dimension, called once per server tick.
+     *
+     * @param server the server.
+     */
+    public static void tick(@NotNull final MinecraftServer server)
+    {
+        for (final EntityPlayerMP player : server.getPlayerList().getPlayers())
+        {
+            final TrackedPlayer tracked = players.get(player.getUniqueID());
+            if (tracked == null || tracked.player != player)
+            {
+                //  Logged in or respawned as a new entity.
+                if (tracked != null)
+                {
+                    tracked.unsubscribeAll();
+                }
+                final TrackedPlayer newTracked = new TrackedPlayer(player);
+                players.put(player.getUniqueID(), newTracked);
+                for (final Colony colony : ColonyManager.getColonies())
+                {
+                    newTracked.update(colony);
+                }
+            }
+            else if (tracked.hasMoved())
+            {
+                for (final Colony colony : new ArrayList<>(tracked.colonies))
+                {
+                    tracked.update(colony);
+                }
+                for (final Colony colony : ColonyManager.getColonies(player.world))
+                {
+                    tracked.update(colony);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check all online players against a colony, used when its permissions changed or it was created.
+     *
+     * @param colony the colony.
+     */
+    public static void refresh(@NotNull final Colony colony)
+    {
+        for (final TrackedPlayer tracked : players.values())
+        {
+            tracked.update(colony);
+        }
+    }
+
+    /**
+     * Unsubscribe all players from a deleted colony.
+     *
+     * @param colony the colony.
+     */
+    public static void onColonyDeleted(@NotNull final Colony colony)
+    {
+        for (final TrackedPlayer tracked : players.values())
+        {
+            if (tracked.colonies.remove(colony))
+            {
+                colony.removeSubscriber(tracked.player);
+            }
+        }
+    }
+
+    /**
+     * Unsubscribe a player from all colonies on logout.
+     *
+     * @param player the player.
+     */
+    public static void onPlayerLogout(@NotNull final EntityPlayerMP player)
+    {
+        final TrackedPlayer tracked = players.remove(player.getUniqueID());
+        if (tracked != null)
+        {
+            tracked.unsubscribeAll();
+        }
+    }
+
+    /**
+     * Forget all players, used when the last world unloads.
+     */
+    public static void clear()
+    {
+        players.clear();
+    }
+
+    /**
+     * A player and the colonies the player is subscribed to.
+     */
+    private static final class TrackedPlayer
+    {
+        private final EntityPlayerMP player;
+        private final Set<Colony>    colonies = new HashSet<>();
+        private       int            dimension;
+        private       int            chunkX;
+        private       int            chunkZ;
+
+        private TrackedPlayer(@NotNull final EntityPlayerMP player)
+        {
+            this.player = player;
+            hasMoved();
+        }
+
+        /**
+         * Checks if the player moved to another chunk or dimension since the last check.
+         *
+         * @return true if so.
+         */
+        private boolean hasMoved()
+        {
+            final int newChunkX = MathHelper.floor(player.posX) >> 4;
+            final int newChunkZ = MathHelper.floor(player.posZ) >> 4;
+            if (newChunkX == chunkX && newChunkZ == chunkZ && player.dimension == dimension)
+            {
+                return false;
+            }
+
+            chunkX = newChunkX;
+            chunkZ = newChunkZ;
+            dimension = player.dimension;
+            return true;
+        }
+
+        /**
+         * Subscribe to or unsubscribe from a colony.
+         *
+         * @param colony the colony.
+         */
+        private void update(@NotNull final Colony colony)
+        {
+            final boolean subscribed = colonies.contains(colony);
+            final boolean subscribe = colony.getPermissions().isSubscriber(player) || isClose(colony, subscribed);
+            if (subscribe && !subscribed)
+            {
+                colonies.add(colony);
+                colony.addSubscriber(player);
+            }
+            else if (!subscribe && subscribed)
+            {
+                colonies.remove(colony);
+                colony.removeSubscriber(player);
+            }
+        }
+
+        private boolean isClose(@NotNull final Colony colony, final boolean subscribed)
+        {
+            if (colony.getDimension() != player.dimension || colony.getCenter() == null)
+            {
+                return false;
+            }
+
+            final double distance = player.getDistanceSq(colony.getCenter());
+            return distance < MAX_SQ_DIST_SUBSCRIBER_UPDATE || (subscribed && distance < MAX_SQ_DIST_OLD_SUBSCRIBER_UPDATE);
+        }
+
+        private void unsubscribeAll()
+        {
+            for (final Colony colony : colonies)
+            {
+                colony.removeSubscriber(player);
+            }
+            colonies.clear();
+        }
+    }
+}
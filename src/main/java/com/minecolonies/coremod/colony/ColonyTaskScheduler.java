@@ -0,0 +1,219 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.api.configuration.Configurations;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the periodic and deferrable work of a colony within a time budget per tick.
+ * Periodic tasks are offset by the colony id, so colonies do their periodic work in different ticks.
+ * Due tasks which don't fit into the budget of a tick wait for the next one, at least one task runs per tick.
+ */
+public final class ColonyTaskScheduler
+{
+    /**
+     * The id of the colony, used to offset the periodic tasks.
+     */
+    private final int colonyId;
+
+    /**
+     * All registered tasks.
+     */
+    private final List<Task> tasks = new ArrayList<>();
+
+    /**
+     * The due tasks, in order.
+     */
+    private final Deque<Task> pending = new ArrayDeque<>();
+
+    /**
+     * Time spent in the current tick.
+     */
+    private long tickNanos = 0;
+
+    /**
+     * Statistics.
+     */
+    private long ticks           = 0;
+    private long totalNanos      = 0;
+    private long maxNanos        = 0;
+    private long overBudgetTicks = 0;
+    private long deferredTicks   = 0;
+
+    /**
+     * Create the scheduler of a colony.
+     *
+     * @param colonyId the id of the colony.
+     */
+    public ColonyTaskScheduler(final int colonyId)
+    {
+        this.colonyId = colonyId;
+    }
+
+    /**
+     * Register a task.
+     *
+     * @param name     the name of the task, for the report.
+     * @param period   the task is due every this amount of ticks, 0 if it only runs when scheduled.
+     * @param runnable the work.
+     * @return the task.
+     */
+    @NotNull
+    public Task addTask(@NotNull final String name, final int period, @NotNull final Runnable runnable)
+    {
+        final Task task = new Task(name, period, tasks.size(), runnable);
+        tasks.add(task);
+        return task;
+    }
+
+    /**
+     * Mark a task as due.
+     *
+     * @param task the task.
+     */
+    public void schedule(@NotNull final Task task)
+    {
+        if (!task.pending)
+        {
+            task.pending = true;
+            pending.add(task);
+        }
+    }
+
+    /**
+     * Count time spent on the work of the colony which is not scheduled, it reduces the budget left for the tasks.
+     *
+     * @param nanos the time.
+     */
+    public void addWork(final long nanos)
+    {
+        tickNanos += nanos;
+    }
+
+    /**
+     * Run the due tasks which fit into the budget left and finish the tick.
+     *
+     * @param worldTime the time of the world.
+     */
+    public void runTasks(final long worldTime)
+    {
+        for (final Task task : tasks)
+        {
+            if (task.period > 0 && (worldTime + colonyId + task.index) % task.period == 0)
+            {
+                schedule(task);
+            }
+        }
+
+        final long budget = TimeUnit.MICROSECONDS.toNanos(Configurations.gameplay.colonyTickBudget);
+        boolean ranTask = false;
+        while (!pending.isEmpty() && (!ranTask || tickNanos < budget))
+        {
+            final Task task = pending.poll();
+            task.pending = false;
+
+            final long start = System.nanoTime();
+            task.runnable.run();
+            final long duration = System.nanoTime() - start;
+
+            task.runs++;
+            task.nanos += duration;
+            task.maxNanos = Math.max(task.maxNanos, duration);
+            tickNanos += duration;
+            ranTask = true;
+        }
+
+        ticks++;
+        totalNanos += tickNanos;
+        maxNanos = Math.max(maxNanos, tickNanos);
+        if (tickNanos > budget)
+        {
+            overBudgetTicks++;
+        }
+        if (!pending.isEmpty())
+        {
+            deferredTicks++;
+        }
+        tickNanos = 0;
+    }
+
+    /**
+     * Getter for the average time spent per tick.
+     *
+     * @return the time in nanoseconds.
+     */
+    public long getAverageNanos()
+    {
+        return totalNanos / Math.max(1, ticks);
+    }
+
+    /**
+     * Reset the statistics.
+     */
+    public void resetStatistics()
+    {
+        ticks = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+        overBudgetTicks = 0;
+        deferredTicks = 0;
+        for (final Task task : tasks)
+        {
+            task.runs = 0;
+            task.nanos = 0;
+            task.maxNanos = 0;
+        }
+    }
+
+    /**
+     * Get human readable lines of the budget usage.
+     *
+     * @return the lines.
+     */
+    @NotNull
+    public List<String> getReport()
+    {
+        final List<String> lines = new ArrayList<>();
+        lines.add(String.format("§2Colony §f%d§2: avg §f%dus §2max §f%dus §2per tick, over budget §f%d§2/§f%d §2ticks, deferred §f%d §2ticks",
+          colonyId,
+          TimeUnit.NANOSECONDS.toMicros(getAverageNanos()),
+          TimeUnit.NANOSECONDS.toMicros(maxNanos),
+          overBudgetTicks,
+          ticks,
+          deferredTicks));
+        for (final Task task : tasks)
+        {
+            lines.add(String.format("  §2%s: §f%d §2runs, avg §f%dus §2max §f%dus",
+              task.name, task.runs, TimeUnit.NANOSECONDS.toMicros(task.nanos / Math.max(1, task.runs)), TimeUnit.NANOSECONDS.toMicros(task.maxNanos)));
+        }
+        return lines;
+    }
+
+    /**
+     * A task of the scheduler.
+     */
+    public static final class Task
+    {
+        private final String   name;
+        private final int      period;
+        private final int      index;
+        private final Runnable runnable;
+        private       boolean  pending;
+        private       long     runs;
+        private       long     nanos;
+        private       long     maxNanos;
+
+        private Task(@NotNull final String name, final int period, final int index, @NotNull final Runnable runnable)
+        {
+            this.name = name;
+            this.period = period;
+            this.index = index;
+            this.runnable = runnable;
+        }
+    }
+}
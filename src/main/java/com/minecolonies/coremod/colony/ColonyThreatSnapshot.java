@@ -0,0 +1,268 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.api.configuration.Configurations;
+import com.minecolonies.api.util.CompatibilityUtils;
+import com.minecolonies.coremod.entity.ai.mobs.barbarians.AbstractEntityBarbarian;
+import com.minecolonies.coremod.entity.ai.mobs.util.BarbarianUtils;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.monster.EntityMob;
+import net.minecraft.entity.monster.EntitySlime;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.EntitySelectors;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Snapshot of the possible threats around a colony, taken once per tick and shared by its guards and citizens.
+ * The mobs, slimes and players within the colony bounds are queried once and bucketed by chunk.
+ * Lookups outside of the bounds or in another world fall back to querying the world.
+ */
+public class ColonyThreatSnapshot
+{
+    /**
+     * Blocks around the colony range which are part of the snapshot, covers the max vision of the guards.
+     */
+    private static final int VISION_MARGIN = 40;
+
+    /**
+     * Height of the world.
+     */
+    private static final int WORLD_HEIGHT = 256;
+
+    /**
+     * Blocks an entity may stick out of its chunk with its bounding box.
+     */
+    private static final double ENTITY_MARGIN = 2.0D;
+
+    /**
+     * Amount of world queries a guard search and a barbarian lookup took before the snapshot.
+     */
+    private static final int QUERIES_PER_SEARCH    = 3;
+    private static final int QUERIES_PER_BARBARIAN = 1;
+
+    /**
+     * Statistics of all colonies.
+     */
+    private static long snapshots       = 0;
+    private static long queriesAvoided  = 0;
+    private static long fallbackQueries = 0;
+
+    /**
+     * The colony of the snapshot.
+     */
+    private final Colony colony;
+
+    /**
+     * The threats by packed chunk position.
+     */
+    private final Map<Long, List<EntityLivingBase>> threats = new HashMap<>();
+
+    /**
+     * The closest barbarians looked up this tick, by entity id and distance.
+     */
+    private final Map<Long, AbstractEntityBarbarian> closestBarbarians = new HashMap<>();
+
+    /**
+     * The bounds of the snapshot.
+     */
+    private AxisAlignedBB bounds = null;
+
+    /**
+     * The world and the tick the snapshot was taken in.
+     */
+    private World world = null;
+    private long  tick  = -1;
+
+    /**
+     * Create the snapshot of a colony.
+     *
+     * @param colony the colony.
+     */
+    public ColonyThreatSnapshot(@NotNull final Colony colony)
+    {
+        this.colony = colony;
+    }
+
+    /**
+     * Get the mobs, slimes and players within an area, the mobs first, then the slimes, then the players.
+     *
+     * @param entity the entity looking for them.
+     * @param area   the area.
+     * @return a new list of the entities.
+     */
+    @NotNull
+    public List<Entity> getThreats(@NotNull final Entity entity, @NotNull final AxisAlignedBB area)
+    {
+        if (!update(entity, area))
+        {
+            fallbackQueries += QUERIES_PER_SEARCH;
+            final World entityWorld = CompatibilityUtils.getWorld(entity);
+            final List<Entity> entities = new ArrayList<>(entityWorld.getEntitiesWithinAABB(EntityMob.class, area));
+            entities.addAll(entityWorld.getEntitiesWithinAABB(EntitySlime.class, area));
+            entities.addAll(entityWorld.getEntitiesWithinAABB(EntityPlayer.class, area));
+            return entities;
+        }
+
+        queriesAvoided += QUERIES_PER_SEARCH;
+        final List<Entity> entities = new ArrayList<>();
+        forEachWithin(area, entities::add);
+        entities.sort(Comparator.comparingInt(ColonyThreatSnapshot::getOrder));
+        return entities;
+    }
+
+    /**
+     * Get the closest living barbarian to an entity.
+     *
+     * @param entity   the entity.
+     * @param distance the distance to check for.
+     * @return the barbarian or null.
+     */
+    @Nullable
+    public AbstractEntityBarbarian getClosestBarbarian(@NotNull final Entity entity, final double distance)
+    {
+        final AxisAlignedBB area = BarbarianUtils.getSearchArea(entity, distance);
+        if (!update(entity, area))
+        {
+            fallbackQueries += QUERIES_PER_BARBARIAN;
+            return BarbarianUtils.getClosestBarbarianToEntity(entity, distance);
+        }
+
+        queriesAvoided += QUERIES_PER_BARBARIAN;
+        final long key = ((long) entity.getEntityId() << Integer.SIZE) | (Double.hashCode(distance) & 0xFFFFFFFFL);
+        if (closestBarbarians.containsKey(key))
+        {
+            return closestBarbarians.get(key);
+        }
+
+        final AbstractEntityBarbarian[] closest = new AbstractEntityBarbarian[1];
+        forEachWithin(area, threat ->
+        {
+            if (threat instanceof AbstractEntityBarbarian && threat.isEntityAlive()
+                  && (closest[0] == null || threat.getDistanceSqToEntity(entity) < closest[0].getDistanceSqToEntity(entity)))
+            {
+                closest[0] = (AbstractEntityBarbarian) threat;
+            }
+        });
+        closestBarbarians.put(key, closest[0]);
+        return closest[0];
+    }
+
+    /**
+     * Get a human readable line of the statistics.
+     *
+     * @return the line.
+     */
+    @NotNull
+    public static String getReport()
+    {
+        return String.format("§2Threat snapshots: §f%d §2taken, §f%d §2world queries avoided, §f%d §2outside of the snapshots",
+          snapshots, queriesAvoided - snapshots, fallbackQueries);
+    }
+
+    /**
+     * Take the snapshot if not taken this tick yet.
+     *
+     * @param entity the entity doing the lookup.
+     * @param area   the area of the lookup.
+     * @return true if the area is covered by the snapshot.
+     */
+    private boolean update(@NotNull final Entity entity, @NotNull final AxisAlignedBB area)
+    {
+        final World entityWorld = CompatibilityUtils.getWorld(entity);
+        if (entityWorld != colony.getWorld())
+        {
+            return false;
+        }
+
+        if (world != entityWorld || tick != entityWorld.getTotalWorldTime())
+        {
+            take(entityWorld);
+        }
+
+        return area.minX >= bounds.minX && area.maxX <= bounds.maxX
+                 && area.minY >= bounds.minY && area.maxY <= bounds.maxY
+                 && area.minZ >= bounds.minZ && area.maxZ <= bounds.maxZ;
+    }
+
+    /**
+     * Query the threats within the colony bounds and bucket them by chunk.
+     *
+     * @param newWorld the world of the colony.
+     */
+    private void take(@NotNull final World newWorld)
+    {
+        world = newWorld;
+        tick = newWorld.getTotalWorldTime();
+        threats.clear();
+        closestBarbarians.clear();
+
+        final BlockPos center = colony.getCenter();
+        final int range = Configurations.gameplay.workingRangeTownHall + Configurations.gameplay.townHallPadding + VISION_MARGIN;
+        bounds = new AxisAlignedBB(center.getX() - range, -VISION_MARGIN, center.getZ() - range, center.getX() + range, WORLD_HEIGHT + VISION_MARGIN, center.getZ() + range);
+
+        for (final EntityLivingBase threat : newWorld.getEntitiesWithinAABB(EntityLivingBase.class, bounds, ColonyThreatSnapshot::isThreat))
+        {
+            final long key = ChunkPos.asLong(MathHelper.floor(threat.posX) >> 4, MathHelper.floor(threat.posZ) >> 4);
+            threats.computeIfAbsent(key, k -> new ArrayList<>()).add(threat);
+        }
+        snapshots++;
+    }
+
+    /**
+     * Run an action for each threat whose bounding box intersects an area.
+     *
+     * @param area   the area.
+     * @param action the action.
+     */
+    private void forEachWithin(@NotNull final AxisAlignedBB area, @NotNull final Consumer<EntityLivingBase> action)
+    {
+        final int minX = MathHelper.floor(area.minX - ENTITY_MARGIN) >> 4;
+        final int maxX = MathHelper.floor(area.maxX + ENTITY_MARGIN) >> 4;
+        final int minZ = MathHelper.floor(area.minZ - ENTITY_MARGIN) >> 4;
+        final int maxZ = MathHelper.floor(area.maxZ + ENTITY_MARGIN) >> 4;
+        for (int chunkX = minX; chunkX <= maxX; chunkX++)
+        {
+            for (int chunkZ = minZ; chunkZ <= maxZ; chunkZ++)
+            {
+                final List<EntityLivingBase> bucket = threats.get(ChunkPos.asLong(chunkX, chunkZ));
+                if (bucket == null)
+                {
+                    continue;
+                }
+
+                for (final EntityLivingBase threat : bucket)
+                {
+                    if (threat.getEntityBoundingBox().intersectsWith(area))
+                    {
+                        action.accept(threat);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isThreat(@Nullable final EntityLivingBase entity)
+    {
+        //  Matches the world queries, which skip spectators.
+        return (entity instanceof EntityMob || entity instanceof EntitySlime || entity instanceof EntityPlayer)
+                 && EntitySelectors.NOT_SPECTATING.apply(entity);
+    }
+
+    private static int getOrder(@NotNull final Entity entity)
+    {
+        if (entity instanceof EntityMob)
+        {
+            return 0;
+        }
+        return entity instanceof EntitySlime ? 1 : 2;
+    }
+}
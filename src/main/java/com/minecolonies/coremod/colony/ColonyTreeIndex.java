@@ -0,0 +1,190 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.api.compatibility.Compatibility;
+import com.minecolonies.coremod.entity.ai.citizen.lumberjack.Tree;
+import com.minecolonies.coremod.entity.ai.item.handling.ItemStorage;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Index of the trees around the lumberjacks of a colony, so they don't have to search them by pathing.
+ * Stores the lowest log of each possible tree as packed position.
+ * The chunks around a lumberjack are scanned once, one chunk per tick, trees grown from saplings afterwards are added when they grow.
+ * Trees which got cut are removed when found during a lookup.
+ */
+public class ColonyTreeIndex
+{
+    /**
+     * Size of a chunk section.
+     */
+    private static final int SECTION_SIZE = 16;
+
+    /**
+     * The lowest logs of the known trees, as packed positions.
+     */
+    private final Set<Long> trees = new HashSet<>();
+
+    /**
+     * The scanned chunks, as packed chunk positions.
+     */
+    private final Set<Long> scannedChunks = new HashSet<>();
+
+    /**
+     * The chunks waiting for their scan, in order.
+     */
+    private final Set<Long> scanQueue = new LinkedHashSet<>();
+
+    /**
+     * Add a possible tree, for example a sapling which grew or got planted.
+     *
+     * @param pos the position of its lowest log.
+     */
+    public void addTree(@NotNull final BlockPos pos)
+    {
+        trees.add(pos.toLong());
+    }
+
+    /**
+     * Queue the chunks within a range of a position for their scan, if not scanned yet.
+     *
+     * @param center the position.
+     * @param range  the range in blocks.
+     */
+    public void requestScan(@NotNull final BlockPos center, final int range)
+    {
+        for (int chunkX = (center.getX() - range) >> 4; chunkX <= (center.getX() + range) >> 4; chunkX++)
+        {
+            for (int chunkZ = (center.getZ() - range) >> 4; chunkZ <= (center.getZ() + range) >> 4; chunkZ++)
+            {
+                final long key = ChunkPos.asLong(chunkX, chunkZ);
+                if (!scannedChunks.contains(key))
+                {
+                    scanQueue.add(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Scan the next queued chunk for trees.
+     * Unloaded chunks are skipped, they are queued again by the next request.
+     *
+     * @param world the world of the colony.
+     */
+    public void scanNextChunk(@Nullable final World world)
+    {
+        if (world == null || scanQueue.isEmpty())
+        {
+            return;
+        }
+
+        final Iterator<Long> iterator = scanQueue.iterator();
+        final long key = iterator.next();
+        iterator.remove();
+
+        final Chunk chunk = world.getChunkProvider().getLoadedChunk((int) key, (int) (key >> 32));
+        if (chunk == null)
+        {
+            return;
+        }
+
+        scannedChunks.add(key);
+        final BlockPos.MutableBlockPos below = new BlockPos.MutableBlockPos();
+        for (final ExtendedBlockStorage section : chunk.getBlockStorageArray())
+        {
+            if (section == Chunk.NULL_BLOCK_STORAGE || section.isEmpty())
+            {
+                continue;
+            }
+
+            for (int y = 0; y < SECTION_SIZE; y++)
+            {
+                for (int x = 0; x < SECTION_SIZE; x++)
+                {
+                    for (int z = 0; z < SECTION_SIZE; z++)
+                    {
+                        if (!isLog(section.get(x, y, z)))
+                        {
+                            continue;
+                        }
+
+                        below.setPos(chunk.xPosition * SECTION_SIZE + x, section.getYLocation() + y - 1, chunk.zPosition * SECTION_SIZE + z);
+                        if (!isLog(chunk.getBlockState(below)))
+                        {
+                            trees.add(below.up().toLong());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Find the closest tree the lumberjack is supposed to cut.
+     * Positions which are no tree (anymore), like the logs of buildings, are removed.
+     * The index doesn't know if a tree can be reached, trees the lumberjack failed to reach are skipped.
+     *
+     * @param world      the world of the colony.
+     * @param from       the position to measure the distance from.
+     * @param range      the max distance in blocks.
+     * @param treesToCut the trees the lumberjack is supposed to cut.
+     * @param skip       the trees to skip.
+     * @return the position of the lowest log of the tree or null.
+     */
+    @Nullable
+    public BlockPos findClosestTree(
+                                     @NotNull final World world,
+                                     @NotNull final BlockPos from,
+                                     final int range,
+                                     @NotNull final Map<ItemStorage, Boolean> treesToCut,
+                                     @NotNull final Set<BlockPos> skip)
+    {
+        final double maxDistance = (double) range * range;
+        final List<BlockPos> candidates = new ArrayList<>();
+        for (final long packed : trees)
+        {
+            final BlockPos pos = BlockPos.fromLong(packed);
+            if (pos.distanceSq(from) <= maxDistance && !skip.contains(pos))
+            {
+                candidates.add(pos);
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(pos -> pos.distanceSq(from)));
+
+        for (final BlockPos pos : candidates)
+        {
+            if (!world.isBlockLoaded(pos))
+            {
+                continue;
+            }
+
+            //Without trees to skip only the shape of the tree is checked.
+            if (!isLog(world.getBlockState(pos)) || !Tree.checkTree(world, pos, Collections.emptyMap()))
+            {
+                trees.remove(pos.toLong());
+                continue;
+            }
+
+            if (Tree.checkTree(world, pos, treesToCut))
+            {
+                return pos;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isLog(@NotNull final IBlockState state)
+    {
+        final Block block = state.getBlock();
+        return block.isWood(null, BlockPos.ORIGIN) || Compatibility.isSlimeBlock(block);
+    }
+}
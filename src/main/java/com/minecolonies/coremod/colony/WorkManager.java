@@ -16,9 +16,7 @@ import java.util.stream.Collectors;
  */
 public class WorkManager
 {
-    private static final String TAG_WORK_ORDERS              = "workOrders";
-    //  Once a second
-    private static final int    WORK_ORDER_FULFILL_INCREMENT = 1 * 20;
+    private static final String TAG_WORK_ORDERS = "workOrders";
     /**
      * The Colony the workManager takes part of.
      */
@@ -245,16 +243,20 @@ public class WorkManager
                     o.resetChange();
                 }
             }
-
-            if ((event.world.getWorldTime() % WORK_ORDER_FULFILL_INCREMENT) == 0)
-            {
-                workOrders.values().stream().filter(o -> !o.isClaimed())
-                  .sorted(Comparator.comparingInt(AbstractWorkOrder::getPriority).reversed())
-                  .forEach(o -> o.attemptToFulfill(colony));
-            }
         }
     }
 
+    /**
+     * Try to assign the unclaimed work orders, highest priority first.
+     * Called periodically by the scheduler of the colony.
+     */
+    public void fulfillWorkOrders()
+    {
+        workOrders.values().stream().filter(o -> !o.isClaimed())
+          .sorted(Comparator.comparingInt(AbstractWorkOrder::getPriority).reversed())
+          .forEach(o -> o.attemptToFulfill(colony));
+    }
+
     /**
      * Checks if changes has been made.
      *
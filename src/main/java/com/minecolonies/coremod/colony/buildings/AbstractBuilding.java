@@ -967,7 +967,7 @@ public abstract class AbstractBuilding
 
         buildingLevel = level;
         markDirty();
-        ColonyManager.markDirty();
+        ColonyManager.markDirty(getColony());
     }
 
     /**
@@ -1063,6 +1063,27 @@ public abstract class AbstractBuilding
     public void setOnGoingDelivery(final boolean valueToSet)
     {
         this.onGoingDelivery = valueToSet;
+        if (!valueToSet)
+        {
+            publishNeeds();
+        }
+    }
+
+    /**
+     * Publish the needs of the building to the warehouse of the colony, call whenever they grow.
+     */
+    protected void publishNeeds()
+    {
+        if (!needsAnything())
+        {
+            return;
+        }
+
+        @Nullable final BuildingWareHouse wareHouse = colony.getWareHouse();
+        if (wareHouse != null && wareHouse != this && wareHouse.getTileEntity() != null)
+        {
+            wareHouse.getTileEntity().addDemand(this);
+        }
     }
 
     /**
@@ -1106,6 +1127,7 @@ public abstract class AbstractBuilding
     {
         this.neededTool     = neededTool;
         this.needsToolLevel = minimalLevel;
+        publishNeeds();
     }
 
     @Override
@@ -1150,6 +1172,7 @@ public abstract class AbstractBuilding
         if (stack != null)
         {
             itemsCurrentlyNeeded.add(stack);
+            publishNeeds();
         }
     }
 
@@ -1197,6 +1220,7 @@ public abstract class AbstractBuilding
     public void setItemsCurrentlyNeeded(@NotNull final List<ItemStack> newList)
     {
         this.itemsCurrentlyNeeded = new ArrayList<>(newList);
+        publishNeeds();
     }
 
     /**
@@ -198,6 +198,7 @@ public class BuildingHome extends AbstractBuildingHut
     public void setFoodNeeded(final boolean foodNeeded)
     {
         isFoodNeeded = foodNeeded;
+        publishNeeds();
     }
 
     /**
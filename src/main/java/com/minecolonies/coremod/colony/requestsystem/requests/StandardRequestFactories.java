@@ -26,6 +26,7 @@ public final class StandardRequestFactories
 
     ////// --------------------------- NBTConstants --------------------------- \\\\\\
     private static final String NBT_TOKEN     = "Token";
+    private static final String NBT_REQUESTER = "Requester";
     private static final String NBT_STATE     = "State";
     private static final String NBT_REQUESTED = "Requested";
     private static final String NBT_RESULT    = "Result";
@@ -102,6 +103,7 @@ public final class StandardRequestFactories
             }
 
             compound.setTag(NBT_TOKEN, tokenCompound);
+            compound.setTag(NBT_REQUESTER, controller.serialize(request.getRequester()));
             compound.setTag(NBT_STATE, stateCompound);
             compound.setTag(NBT_REQUESTED, requestedCompound);
 
@@ -133,6 +135,7 @@ public final class StandardRequestFactories
         public StandardRequests.ItemStackRequest deserialize(@NotNull final IFactoryController controller, @NotNull final NBTTagCompound nbt)
         {
             final IToken token = controller.deserialize(nbt.getCompoundTag(NBT_TOKEN));
+            final IRequester requester = controller.deserialize(nbt.getCompoundTag(NBT_REQUESTER));
             final RequestState state = RequestState.deserializeNBT((NBTTagInt) nbt.getTag(NBT_STATE));
             final ItemStack requested = new ItemStack(nbt.getCompoundTag(NBT_REQUESTED));
 
@@ -144,7 +147,9 @@ public final class StandardRequestFactories
             }
 
             @SuppressWarnings(Suppression.LEFT_CURLY_BRACE)
-            final StandardRequests.ItemStackRequest request = controller.getNewInstance(requested, new TypeToken<StandardRequests.ItemStackRequest>() {}, token, state);
+            final StandardRequests.ItemStackRequest request = controller.getNewInstance(requested, new TypeToken<StandardRequests.ItemStackRequest>() {}, token, requester, state);
+
+            request.addChildren(childTokens);
 
             if (nbt.hasKey(NBT_PARENT))
             {
@@ -204,6 +209,7 @@ public final class StandardRequestFactories
             }
 
             compound.setTag(NBT_TOKEN, tokenCompound);
+            compound.setTag(NBT_REQUESTER, controller.serialize(request.getRequester()));
             compound.setTag(NBT_STATE, stateCompound);
             compound.setTag(NBT_REQUESTED, requestedCompound);
 
@@ -235,6 +241,7 @@ public final class StandardRequestFactories
         public StandardRequests.DeliveryRequest deserialize(@NotNull final IFactoryController controller, @NotNull final NBTTagCompound nbt)
         {
             final IToken token = controller.deserialize(nbt.getCompoundTag(NBT_TOKEN));
+            final IRequester requester = controller.deserialize(nbt.getCompoundTag(NBT_REQUESTER));
             final RequestState state = RequestState.deserializeNBT((NBTTagInt) nbt.getTag(NBT_STATE));
             final Delivery requested = Delivery.deserialize(controller, nbt.getCompoundTag(NBT_REQUESTED));
 
@@ -246,7 +253,9 @@ public final class StandardRequestFactories
             }
 
             @SuppressWarnings(Suppression.LEFT_CURLY_BRACE)
-            final StandardRequests.DeliveryRequest request = controller.getNewInstance(requested, new TypeToken<StandardRequests.DeliveryRequest>() {}, token, state);
+            final StandardRequests.DeliveryRequest request = controller.getNewInstance(requested, new TypeToken<StandardRequests.DeliveryRequest>() {}, token, requester, state);
+
+            request.addChildren(childTokens);
 
             if (nbt.hasKey(NBT_PARENT))
             {
@@ -32,6 +32,10 @@ public class MinecoloniesCommand extends AbstractSplitCommand
         .put(HomeTeleportCommand.DESC, new HomeTeleportCommand(DESC))
         .put(RaidAllTonightCommand.DESC, new RaidAllTonightCommand(DESC))
         .put(RaidAllNowCommand.DESC, new RaidAllNowCommand(DESC))
+        .put(PathfindingStatisticsCommand.DESC, new PathfindingStatisticsCommand(DESC))
+        .put(ViewSyncStatisticsCommand.DESC, new ViewSyncStatisticsCommand(DESC))
+        .put(AIStatisticsCommand.DESC, new AIStatisticsCommand(DESC))
+        .put(ProfilerCommand.DESC, new ProfilerCommand(DESC))
         .build();
 
     /**
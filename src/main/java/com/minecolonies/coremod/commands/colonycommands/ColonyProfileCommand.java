@@ -0,0 +1,120 @@
+package com.minecolonies.coremod.commands.colonycommands;
+
+import com.minecolonies.api.colony.requestsystem.StandardRequestManager;
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.commands.AbstractSingleCommand;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Shows how much of their tick budget the colonies use, and the request statistics of a single colony.
+ */
+public class ColonyProfileCommand extends AbstractSingleCommand
+{
+    public static final  String DESC                       = "profile";
+    private static final String NO_PERMISSION_MESSAGE      = "You do not have permission to profile the colonies!";
+    private static final String NO_COLONY_FOUND_MESSAGE_ID = "Colony with ID %d not found.";
+    private static final String RESET_ARGUMENT             = "reset";
+    private static final String RESET_MESSAGE              = "Colony profiles reset.";
+    private static final int    LISTED_COLONIES            = 10;
+
+    /**
+     * Initialize this SubCommand with it's parents.
+     *
+     * @param parents an array of all the parents.
+     */
+    public ColonyProfileCommand(@NotNull final String... parents)
+    {
+        super(parents);
+    }
+
+    @NotNull
+    @Override
+    public String getCommandUsage(@NotNull final ICommandSender sender)
+    {
+        return super.getCommandUsage(sender) + "[ColonyId|" + RESET_ARGUMENT + "]";
+    }
+
+    @Override
+    public void execute(@NotNull final MinecraftServer server, @NotNull final ICommandSender sender, @NotNull final String... args) throws CommandException
+    {
+        if (!isPlayerOpped(sender))
+        {
+            sender.sendMessage(new TextComponentString(NO_PERMISSION_MESSAGE));
+            return;
+        }
+
+        if (args.length > 0 && RESET_ARGUMENT.equalsIgnoreCase(args[0]))
+        {
+            for (final Colony colony : ColonyManager.getColonies())
+            {
+                colony.getScheduler().resetStatistics();
+                if (colony.getRequestManager() instanceof StandardRequestManager)
+                {
+                    ((StandardRequestManager) colony.getRequestManager()).resetStatistics();
+                }
+            }
+            sender.sendMessage(new TextComponentString(RESET_MESSAGE));
+            return;
+        }
+
+        final int colonyId = getIthArgument(args, 0, -1);
+        if (colonyId != -1)
+        {
+            final Colony colony = ColonyManager.getColony(colonyId);
+            if (colony == null)
+            {
+                sender.sendMessage(new TextComponentString(String.format(NO_COLONY_FOUND_MESSAGE_ID, colonyId)));
+                return;
+            }
+
+            for (final String line : colony.getScheduler().getReport())
+            {
+                sender.sendMessage(new TextComponentString(line));
+            }
+            if (colony.getRequestManager() instanceof StandardRequestManager)
+            {
+                for (final String line : ((StandardRequestManager) colony.getRequestManager()).getReport())
+                {
+                    sender.sendMessage(new TextComponentString(line));
+                }
+            }
+            return;
+        }
+
+        //  Only the summary line of the busiest colonies.
+        final List<Colony> colonies = ColonyManager.getColonies();
+        colonies.sort(Comparator.comparingLong((Colony colony) -> colony.getScheduler().getAverageNanos()).reversed());
+        for (final Colony colony : colonies.subList(0, Math.min(LISTED_COLONIES, colonies.size())))
+        {
+            sender.sendMessage(new TextComponentString(colony.getScheduler().getReport().get(0)));
+        }
+    }
+
+    @NotNull
+    @Override
+    public List<String> getTabCompletionOptions(
+                                                 @NotNull final MinecraftServer server,
+                                                 @NotNull final ICommandSender sender,
+                                                 @NotNull final String[] args,
+                                                 @Nullable final BlockPos pos)
+    {
+        return Collections.singletonList(RESET_ARGUMENT);
+    }
+
+    @Override
+    public boolean isUsernameIndex(@NotNull final String[] args, final int index)
+    {
+        return false;
+    }
+}
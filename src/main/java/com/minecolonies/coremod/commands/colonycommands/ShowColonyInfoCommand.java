@@ -4,6 +4,7 @@ import com.minecolonies.api.colony.IColony;
 import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.ColonyManager;
 import com.minecolonies.coremod.commands.AbstractSingleCommand;
+import com.minecolonies.coremod.entity.pathfinding.PathCache;
 import com.mojang.authlib.GameProfile;
 import net.minecraft.command.CommandException;
 import net.minecraft.command.ICommandSender;
@@ -36,6 +37,7 @@ public class ShowColonyInfoCommand extends AbstractSingleCommand
     private static final String NO_COLONY_FOUND_MESSAGE    = "Colony with mayor %s not found.";
     private static final String NO_COLONY_FOUND_MESSAGE_ID = "Colony with ID %d not found.";
     private static final String LAST_CONTACT_TEXT          = "Last contact with Owner or Officer: %d hours ago!";
+    private static final String PATH_CACHE_TEXT            = "§2Path cache: §f%d paths, %d hits, %d misses, %d invalidated";
 
     /**
      * Initialize this SubCommand with it's parents.
@@ -127,6 +129,9 @@ public class ShowColonyInfoCommand extends AbstractSingleCommand
         sender.sendMessage(new TextComponentString(CITIZENS + colony.getCitizens().size() + "/" + colony.getMaxCitizens()));
         sender.sendMessage(new TextComponentString(COORDINATES_TEXT + String.format(COORDINATES_XYZ, position.getX(), position.getY(), position.getZ())));
         sender.sendMessage(new TextComponentString(String.format(LAST_CONTACT_TEXT, colony.getLastContactInHours())));
+        final PathCache pathCache = colony.getPathCache();
+        sender.sendMessage(new TextComponentString(String.format(PATH_CACHE_TEXT,
+          pathCache.size(), pathCache.getHits(), pathCache.getMisses(), pathCache.getInvalidations())));
     }
 
     @NotNull
@@ -0,0 +1,93 @@
+package com.minecolonies.coremod.commands.generalcommands;
+
+import com.minecolonies.coremod.commands.AbstractSingleCommand;
+import com.minecolonies.coremod.entity.pathfinding.ChunkPortalGraph;
+import com.minecolonies.coremod.entity.pathfinding.Pathfinding;
+import com.minecolonies.coremod.entity.pathfinding.PathfindingStatistics;
+import com.minecolonies.coremod.entity.pathfinding.WorldSnapshot;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Shows the statistics of the pathfinding scheduler.
+ */
+public class PathfindingStatisticsCommand extends AbstractSingleCommand
+{
+    public static final  String DESC                  = "pathfinding";
+    private static final String NO_PERMISSION_MESSAGE = "You do not have permission to see the pathfinding statistics!";
+    private static final String QUEUE_TEXT            = "§2Queued: §f%d §2Running: §f%d §2Coalesced: §f%d §2Dropped: §f%d";
+    private static final String SNAPSHOT_TEXT         = "§2Snapshot sections captured: §f%d §2reused: §f%d";
+    private static final String PORTALS_TEXT          = "§2Chunk portals computed: §f%d §2reused: §f%d §2Routes planned: §f%d §2failed: §f%d";
+    private static final String RESET_ARGUMENT        = "reset";
+    private static final String RESET_MESSAGE         = "Pathfinding statistics reset.";
+
+    /**
+     * Initialize this SubCommand with it's parents.
+     *
+     * @param parents an array of all the parents.
+     */
+    public PathfindingStatisticsCommand(@NotNull final String... parents)
+    {
+        super(parents);
+    }
+
+    @NotNull
+    @Override
+    public String getCommandUsage(@NotNull final ICommandSender sender)
+    {
+        return super.getCommandUsage(sender) + "[" + RESET_ARGUMENT + "]";
+    }
+
+    @Override
+    public void execute(@NotNull final MinecraftServer server, @NotNull final ICommandSender sender, @NotNull final String... args) throws CommandException
+    {
+        if (!isPlayerOpped(sender))
+        {
+            sender.sendMessage(new TextComponentString(NO_PERMISSION_MESSAGE));
+            return;
+        }
+
+        if (args.length > 0 && RESET_ARGUMENT.equalsIgnoreCase(args[0]))
+        {
+            PathfindingStatistics.reset();
+            ChunkPortalGraph.resetStatistics();
+            sender.sendMessage(new TextComponentString(RESET_MESSAGE));
+            return;
+        }
+
+        sender.sendMessage(new TextComponentString(String.format(QUEUE_TEXT,
+          Pathfinding.getQueueDepth(), Pathfinding.getActiveJobs(), PathfindingStatistics.getCoalesced(), PathfindingStatistics.getRejected())));
+        sender.sendMessage(new TextComponentString(String.format(SNAPSHOT_TEXT, WorldSnapshot.getSectionsCaptured(), WorldSnapshot.getSectionsReused())));
+        sender.sendMessage(new TextComponentString(String.format(PORTALS_TEXT,
+          ChunkPortalGraph.getChunksComputed(), ChunkPortalGraph.getChunksReused(), ChunkPortalGraph.getRoutesPlanned(), ChunkPortalGraph.getRoutesFailed())));
+        for (final String line : PathfindingStatistics.getReport())
+        {
+            sender.sendMessage(new TextComponentString(line));
+        }
+    }
+
+    @NotNull
+    @Override
+    public List<String> getTabCompletionOptions(
+                                                 @NotNull final MinecraftServer server,
+                                                 @NotNull final ICommandSender sender,
+                                                 @NotNull final String[] args,
+                                                 @Nullable final BlockPos pos)
+    {
+        return Collections.singletonList(RESET_ARGUMENT);
+    }
+
+    @Override
+    public boolean isUsernameIndex(@NotNull final String[] args, final int index)
+    {
+        return false;
+    }
+}
@@ -0,0 +1,170 @@
+package com.minecolonies.coremod.commands.generalcommands;
+
+import com.minecolonies.api.util.Log;
+import com.minecolonies.api.util.TickProfiler;
+import com.minecolonies.coremod.colony.ColonyThreatSnapshot;
+import com.minecolonies.coremod.commands.AbstractSingleCommand;
+import com.minecolonies.coremod.entity.ai.mobs.util.BarbarianHorde;
+import com.minecolonies.structures.helpers.StructureCache;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraftforge.common.DimensionManager;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controls the tick profiler, shows the most expensive measurements and exports all of them as csv or json.
+ */
+public class ProfilerCommand extends AbstractSingleCommand
+{
+    public static final  String DESC                  = "profiler";
+    private static final String NO_PERMISSION_MESSAGE = "You do not have permission to use the profiler!";
+    private static final String START_ARGUMENT        = "start";
+    private static final String STOP_ARGUMENT         = "stop";
+    private static final String RESET_ARGUMENT        = "reset";
+    private static final String CSV_ARGUMENT          = "csv";
+    private static final String JSON_ARGUMENT         = "json";
+    private static final String START_MESSAGE         = "Profiler started.";
+    private static final String STOP_MESSAGE          = "Profiler stopped.";
+    private static final String RESET_MESSAGE         = "Profiler reset.";
+    private static final String EXPORT_MESSAGE        = "Profile written to %s";
+    private static final String EXPORT_FAILED_MESSAGE = "Failed to write the profile, see the log.";
+    private static final String EMPTY_MESSAGE         = "Nothing measured, use start first.";
+    private static final String PROFILE_FILE          = "minecolonies/profile-%d.%s";
+
+    /**
+     * Amount of entries shown in the chat.
+     */
+    private static final int SHOWN_ENTRIES = 10;
+
+    /**
+     * Initialize this SubCommand with it's parents.
+     *
+     * @param parents an array of all the parents.
+     */
+    public ProfilerCommand(@NotNull final String... parents)
+    {
+        super(parents);
+    }
+
+    @NotNull
+    @Override
+    public String getCommandUsage(@NotNull final ICommandSender sender)
+    {
+        return super.getCommandUsage(sender) + "[" + START_ARGUMENT + "|" + STOP_ARGUMENT + "|" + RESET_ARGUMENT + "|" + CSV_ARGUMENT + "|" + JSON_ARGUMENT + "]";
+    }
+
+    @Override
+    public void execute(@NotNull final MinecraftServer server, @NotNull final ICommandSender sender, @NotNull final String... args) throws CommandException
+    {
+        if (!isPlayerOpped(sender))
+        {
+            sender.sendMessage(new TextComponentString(NO_PERMISSION_MESSAGE));
+            return;
+        }
+
+        final String argument = args.length > 0 ? args[0].toLowerCase() : "";
+        switch (argument)
+        {
+            case START_ARGUMENT:
+                TickProfiler.setEnabled(true);
+                sender.sendMessage(new TextComponentString(START_MESSAGE));
+                break;
+            case STOP_ARGUMENT:
+                TickProfiler.setEnabled(false);
+                sender.sendMessage(new TextComponentString(STOP_MESSAGE));
+                break;
+            case RESET_ARGUMENT:
+                TickProfiler.reset();
+                sender.sendMessage(new TextComponentString(RESET_MESSAGE));
+                break;
+            case CSV_ARGUMENT:
+            case JSON_ARGUMENT:
+                export(sender, argument);
+                break;
+            default:
+                showEntries(sender);
+                break;
+        }
+    }
+
+    private static void showEntries(@NotNull final ICommandSender sender)
+    {
+        sender.sendMessage(new TextComponentString(StructureCache.getReport()));
+        sender.sendMessage(new TextComponentString(ColonyThreatSnapshot.getReport()));
+        sender.sendMessage(new TextComponentString(BarbarianHorde.getReport()));
+
+        final List<TickProfiler.Entry> entries = TickProfiler.getEntries();
+        if (entries.isEmpty())
+        {
+            sender.sendMessage(new TextComponentString(EMPTY_MESSAGE));
+            return;
+        }
+
+        for (final TickProfiler.Entry entry : entries.subList(0, Math.min(SHOWN_ENTRIES, entries.size())))
+        {
+            sender.sendMessage(new TextComponentString(String.format("§2%s §f%d §2%s: §f%d §2calls, total §f%dms§2, p50 §f%dus§2, p99 §f%dus§2, max §f%dus",
+              entry.section, entry.colonyId, entry.type, entry.count,
+              TimeUnit.NANOSECONDS.toMillis(entry.totalNanos),
+              TimeUnit.NANOSECONDS.toMicros(entry.p50Nanos),
+              TimeUnit.NANOSECONDS.toMicros(entry.p99Nanos),
+              TimeUnit.NANOSECONDS.toMicros(entry.maxNanos))));
+        }
+    }
+
+    private static void export(@NotNull final ICommandSender sender, @NotNull final String format)
+    {
+        final File saveDir = DimensionManager.getWorld(0).getSaveHandler().getWorldDirectory();
+        final File file = new File(saveDir, String.format(PROFILE_FILE, System.currentTimeMillis(), format));
+        try
+        {
+            Files.createDirectories(file.getParentFile().toPath());
+            try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))
+            {
+                if (CSV_ARGUMENT.equals(format))
+                {
+                    TickProfiler.writeCsv(writer);
+                }
+                else
+                {
+                    TickProfiler.writeJson(writer);
+                }
+            }
+            sender.sendMessage(new TextComponentString(String.format(EXPORT_MESSAGE, file.getPath())));
+        }
+        catch (final IOException e)
+        {
+            Log.getLogger().error("Failed to write the profile", e);
+            sender.sendMessage(new TextComponentString(EXPORT_FAILED_MESSAGE));
+        }
+    }
+
+    @NotNull
+    @Override
+    public List<String> getTabCompletionOptions(
+                                                 @NotNull final MinecraftServer server,
+                                                 @NotNull final ICommandSender sender,
+                                                 @NotNull final String[] args,
+                                                 @Nullable final BlockPos pos)
+    {
+        return Arrays.asList(START_ARGUMENT, STOP_ARGUMENT, RESET_ARGUMENT, CSV_ARGUMENT, JSON_ARGUMENT);
+    }
+
+    @Override
+    public boolean isUsernameIndex(@NotNull final String[] args, final int index)
+    {
+        return false;
+    }
+}
@@ -0,0 +1,81 @@
+package com.minecolonies.coremod.commands.generalcommands;
+
+import com.minecolonies.coremod.commands.AbstractSingleCommand;
+import com.minecolonies.coremod.network.ColonyViewSync;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Shows the bandwidth used to synchronize the colony views.
+ */
+public class ViewSyncStatisticsCommand extends AbstractSingleCommand
+{
+    public static final  String DESC                  = "viewsync";
+    private static final String NO_PERMISSION_MESSAGE = "You do not have permission to see the view sync statistics!";
+    private static final String RESET_ARGUMENT        = "reset";
+    private static final String RESET_MESSAGE         = "View sync statistics reset.";
+
+    /**
+     * Initialize this SubCommand with it's parents.
+     *
+     * @param parents an array of all the parents.
+     */
+    public ViewSyncStatisticsCommand(@NotNull final String... parents)
+    {
+        super(parents);
+    }
+
+    @NotNull
+    @Override
+    public String getCommandUsage(@NotNull final ICommandSender sender)
+    {
+        return super.getCommandUsage(sender) + "[" + RESET_ARGUMENT + "]";
+    }
+
+    @Override
+    public void execute(@NotNull final MinecraftServer server, @NotNull final ICommandSender sender, @NotNull final String... args) throws CommandException
+    {
+        if (!isPlayerOpped(sender))
+        {
+            sender.sendMessage(new TextComponentString(NO_PERMISSION_MESSAGE));
+            return;
+        }
+
+        if (args.length > 0 && RESET_ARGUMENT.equalsIgnoreCase(args[0]))
+        {
+            ColonyViewSync.resetStatistics();
+            sender.sendMessage(new TextComponentString(RESET_MESSAGE));
+            return;
+        }
+
+        for (final String line : ColonyViewSync.getReport())
+        {
+            sender.sendMessage(new TextComponentString(line));
+        }
+    }
+
+    @NotNull
+    @Override
+    public List<String> getTabCompletionOptions(
+                                                 @NotNull final MinecraftServer server,
+                                                 @NotNull final ICommandSender sender,
+                                                 @NotNull final String[] args,
+                                                 @Nullable final BlockPos pos)
+    {
+        return Collections.singletonList(RESET_ARGUMENT);
+    }
+
+    @Override
+    public boolean isUsernameIndex(@NotNull final String[] args, final int index)
+    {
+        return false;
+    }
+}
@@ -17,6 +17,7 @@ import com.minecolonies.coremod.colony.jobs.AbstractJob;
 import com.minecolonies.coremod.colony.jobs.JobGuard;
 import com.minecolonies.coremod.entity.ai.basic.AbstractEntityAIInteract;
 import com.minecolonies.coremod.entity.ai.minimal.*;
+import com.minecolonies.coremod.entity.ai.mobs.barbarians.AbstractEntityBarbarian;
 import com.minecolonies.coremod.entity.ai.mobs.util.BarbarianUtils;
 import com.minecolonies.coremod.entity.pathfinding.EntityCitizenWalkToProxy;
 import com.minecolonies.coremod.entity.pathfinding.PathNavigate;
@@ -1674,7 +1675,10 @@ public class EntityCitizen extends EntityAgeable implements INpc
             return DesiredActivity.WORK;
         }
 
-        if (BarbarianUtils.getClosestBarbarianToEntity(this,AVOID_BARBARIAN_RANGE) != null && !(this.getColonyJob() instanceof JobGuard))
+        final AbstractEntityBarbarian barbarian = colony == null
+                                                    ? BarbarianUtils.getClosestBarbarianToEntity(this, AVOID_BARBARIAN_RANGE)
+                                                    : colony.getThreatSnapshot().getClosestBarbarian(this, AVOID_BARBARIAN_RANGE);
+        if (barbarian != null && !(this.getColonyJob() instanceof JobGuard))
         {
             return DesiredActivity.SLEEP;
         }
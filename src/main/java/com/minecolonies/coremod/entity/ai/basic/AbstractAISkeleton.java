@@ -2,9 +2,11 @@ package com.minecolonies.coremod.entity.ai.basic;
 
 import com.minecolonies.api.util.CompatibilityUtils;
 import com.minecolonies.api.util.Log;
+import com.minecolonies.api.util.TickProfiler;
 import com.minecolonies.coremod.colony.jobs.AbstractJob;
 import com.minecolonies.coremod.entity.EntityCitizen;
 import com.minecolonies.coremod.entity.ai.util.AIState;
+import com.minecolonies.coremod.entity.ai.util.AIStatistics;
 import com.minecolonies.coremod.entity.ai.util.AITarget;
 import com.minecolonies.coremod.entity.ai.util.ChatSpamFilter;
 import net.minecraft.entity.ai.EntityAIBase;
@@ -13,6 +15,8 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
 
 import static com.minecolonies.coremod.entity.EntityCitizen.Status.IDLE;
 
@@ -29,19 +33,30 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
 
     private static final int MUTEX_MASK = 3;
     @NotNull
-    protected final J                   job;
+    protected final J                          job;
     @NotNull
-    protected final EntityCitizen       worker;
-    protected final World               world;
+    protected final EntityCitizen              worker;
+    protected final World                      world;
     @NotNull
-    protected final ChatSpamFilter      chatSpamFilter;
+    protected final ChatSpamFilter             chatSpamFilter;
     @NotNull
-    private final   ArrayList<AITarget> targetList;
+    private final   ArrayList<AITarget>        targetList;
+    /**
+     * The targets to check in each state, in the order of registration.
+     * Built from the targetList when a state is first reached.
+     */
+    @NotNull
+    private final   Map<AIState, AITarget[]>   dispatchTable = new EnumMap<>(AIState.class);
+    /**
+     * The statistics of the job type of this ai.
+     */
+    @NotNull
+    private final   AIStatistics.JobStatistics statistics;
     /**
      * The current state the ai is in.
      * Used to compare to state matching targets.
      */
-    private         AIState             state;
+    private         AIState                    state;
 
     /**
      * Sets up some important skeleton stuff for every ai.
@@ -58,6 +73,7 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
         this.world = CompatibilityUtils.getWorld(this.worker);
         this.chatSpamFilter = new ChatSpamFilter(worker);
         this.state = AIState.INIT;
+        this.statistics = AIStatistics.getJobStatistics(job.getClass().getSimpleName());
     }
 
     /**
@@ -68,6 +84,7 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
     private void registerTarget(final AITarget target)
     {
         targetList.add(target);
+        dispatchTable.clear();
     }
 
     /**
@@ -126,7 +143,46 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
     @Override
     public final void updateTask()
     {
-        targetList.stream().anyMatch(this::checkOnTarget);
+        final long start = System.nanoTime();
+        final AIState currentState = state;
+        final AITarget[] targets = getTargets(currentState);
+
+        int evaluations = 0;
+        for (final AITarget target : targets)
+        {
+            evaluations++;
+            if (checkOnTarget(target))
+            {
+                break;
+            }
+        }
+
+        final long duration = System.nanoTime() - start;
+        statistics.record(currentState, evaluations, duration);
+        if (TickProfiler.isEnabled() && job.getColony() != null)
+        {
+            TickProfiler.record(TickProfiler.SECTION_AI, job.getColony().getID(), job.getClass(), duration);
+        }
+    }
+
+    /**
+     * Get the targets matching a state, the targets without state included.
+     *
+     * @param aiState the state.
+     * @return the targets, in the order of registration.
+     */
+    @NotNull
+    private AITarget[] getTargets(@NotNull final AIState aiState)
+    {
+        AITarget[] targets = dispatchTable.get(aiState);
+        if (targets == null)
+        {
+            targets = targetList.stream()
+                        .filter(target -> target.getState() == null || target.getState() == aiState)
+                        .toArray(AITarget[]::new);
+            dispatchTable.put(aiState, targets);
+        }
+        return targets;
     }
 
     /**
@@ -144,8 +200,8 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
 
     /**
      * Checks on one target to see if it has to be executed.
-     * It first checks for the state of the ai.
-     * If that matches it tests the predicate if the ai
+     * The target is known to match the state of the ai.
+     * It tests the predicate if the ai
      * wants to run the target.
      * And if that's a yes, runs the target.
      * Tester and target are both error-checked
@@ -156,10 +212,6 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
      */
     private boolean checkOnTarget(@NotNull final AITarget target)
     {
-        if (state != target.getState() && target.getState() != null)
-        {
-            return false;
-        }
         try
         {
             if (!target.test())
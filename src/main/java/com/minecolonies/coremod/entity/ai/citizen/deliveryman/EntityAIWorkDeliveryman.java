@@ -425,6 +425,7 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
             {
                 if (itemsToDeliver.isEmpty() && hasTools(buildingToDeliver) && !needsToDeliverFood(buildingToDeliver))
                 {
+                    buildingToDeliver.setOnGoingDelivery(false);
                     ((BuildingDeliveryman) ownBuilding).setBuildingToDeliver(null);
                     return START_WORKING;
                 }
@@ -496,6 +497,7 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
 
         if (position == null)
         {
+            buildingToDeliver.setOnGoingDelivery(false);
             ((BuildingDeliveryman) getOwnBuilding()).setBuildingToDeliver(null);
             itemsToDeliver.clear();
             return START_WORKING;
@@ -507,7 +509,9 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
             return GATHER_IN_WAREHOUSE;
         }
 
-        return gatherItems(buildingToDeliver, position);
+        final AIState state = gatherItems(buildingToDeliver, position);
+        wareHouse.getTileEntity().updateIndex(position);
+        return state;
     }
 
     /**
@@ -551,6 +555,7 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
                 return DELIVERY;
             }
 
+            buildingToDeliver.setOnGoingDelivery(false);
             ((BuildingDeliveryman) getOwnBuilding()).setBuildingToDeliver(null);
             itemsToDeliver.clear();
             return START_WORKING;
@@ -572,6 +577,7 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
                 setDelay(DUMP_AND_GATHER_DELAY);
                 return DELIVERY;
             }
+            buildingToDeliver.setOnGoingDelivery(false);
             ((BuildingDeliveryman) getOwnBuilding()).setBuildingToDeliver(null);
             itemsToDeliver.clear();
             return START_WORKING;
@@ -353,7 +353,7 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAIInteract<Job
         if (this.worker.getLastAttacker() != null && this.worker.getLastAttackerTime() >= worker.ticksExisted - ATTACK_TIME_BUFFER
                 && this.worker.getLastAttacker().isEntityAlive())
         {
-            return this.worker.getLastAttacker() != null && this.worker.canEntityBeSeen(this.worker.getLastAttacker());
+            return this.worker.getLastAttacker() != null && this.worker.getEntitySenses().canSee(this.worker.getLastAttacker());
         }
         worker.setLastAttacker(null);
         return false;
@@ -372,14 +372,24 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAIInteract<Job
             return AIState.GUARD_HUNT_DOWN_TARGET;
         }
 
+        final Colony colony = worker.getColony();
         if (targetEntity == null)
         {
-            targetEntity = BarbarianUtils.getClosestBarbarianToEntity(this.worker, currentSearchDistance);
+            targetEntity = colony == null
+                             ? BarbarianUtils.getClosestBarbarianToEntity(this.worker, currentSearchDistance)
+                             : colony.getThreatSnapshot().getClosestBarbarian(this.worker, currentSearchDistance);
         }
 
-        entityList = CompatibilityUtils.getWorld(worker).getEntitiesWithinAABB(EntityMob.class, this.getTargetableArea(currentSearchDistance));
-        entityList.addAll(CompatibilityUtils.getWorld(worker).getEntitiesWithinAABB(EntitySlime.class, this.getTargetableArea(currentSearchDistance)));
-        entityList.addAll(CompatibilityUtils.getWorld(worker).getEntitiesWithinAABB(EntityPlayer.class, this.getTargetableArea(currentSearchDistance)));
+        if (colony == null)
+        {
+            entityList = CompatibilityUtils.getWorld(worker).getEntitiesWithinAABB(EntityMob.class, this.getTargetableArea(currentSearchDistance));
+            entityList.addAll(CompatibilityUtils.getWorld(worker).getEntitiesWithinAABB(EntitySlime.class, this.getTargetableArea(currentSearchDistance)));
+            entityList.addAll(CompatibilityUtils.getWorld(worker).getEntitiesWithinAABB(EntityPlayer.class, this.getTargetableArea(currentSearchDistance)));
+        }
+        else
+        {
+            entityList = colony.getThreatSnapshot().getThreats(worker, this.getTargetableArea(currentSearchDistance));
+        }
 
         if (targetEntity != null && targetEntity.isEntityAlive() && worker.getEntitySenses().canSee(targetEntity))
         {
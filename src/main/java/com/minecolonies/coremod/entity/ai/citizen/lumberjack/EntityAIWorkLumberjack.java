@@ -3,6 +3,7 @@ package com.minecolonies.coremod.entity.ai.citizen.lumberjack;
 import com.minecolonies.api.compatibility.Compatibility;
 import com.minecolonies.api.util.*;
 import com.minecolonies.api.util.constant.ToolType;
+import com.minecolonies.coremod.colony.ColonyTreeIndex;
 import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
 import com.minecolonies.coremod.colony.buildings.BuildingLumberjack;
 import com.minecolonies.coremod.colony.jobs.JobLumberjack;
@@ -24,7 +25,9 @@ import net.minecraftforge.items.wrapper.InvWrapper;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 
 import static com.minecolonies.coremod.entity.ai.util.AIState.*;
 
@@ -63,6 +66,11 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
      */
     private static final int STUCK_WAIT_TIME = 10;
 
+    /**
+     * Number of ticks without getting closer to a tree before the lumberjack gives up on it.
+     */
+    private static final int UNREACHABLE_WAIT_TIME = 400;
+
     /**
      * Number of ticks until he gives up destroying leaves
      * and walks a bit back to try a new path.
@@ -144,6 +152,16 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
      * to check if the lumberjack is still walking.
      */
     private              int   previousDistance        = 0;
+    /**
+     * Closest distance to the current tree so far,
+     * and the number of ticks since it got closer.
+     */
+    private              int   closestDistance         = Integer.MAX_VALUE;
+    private              int   ticksWithoutProgress    = 0;
+    /**
+     * The trees the lumberjack failed to reach, skipped in the tree index.
+     */
+    private final Set<BlockPos> unreachableTrees = new HashSet<>();
 
 
 
@@ -252,6 +270,18 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
 
         if (pathResult == null || pathResult.treeLocation == null)
         {
+            final ColonyTreeIndex treeIndex = building.getColony().getTreeIndex();
+            final BlockPos treeLocation =
+              treeIndex.findClosestTree(world, building.getLocation(), SEARCH_RANGE + searchIncrement, ((BuildingLumberjack) building).getTreesToCut(), unreachableTrees);
+            if (treeLocation != null)
+            {
+                job.tree = new Tree(world, treeLocation);
+                job.tree.findLogs(world);
+                return getState();
+            }
+
+            //Search by pathing while the index doesn't know a tree, for example while the chunks are scanned.
+            treeIndex.requestScan(building.getLocation(), SEARCH_LIMIT);
             pathResult = worker.getNavigator().moveToTree(SEARCH_RANGE + searchIncrement, 1.0D, ((BuildingLumberjack) building).getTreesToCut());
             return getState();
         }
@@ -274,12 +304,15 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
             setDelay(WAIT_BEFORE_INCREMENT);
             if (searchIncrement + SEARCH_RANGE > SEARCH_LIMIT)
             {
+                //Give the unreachable trees another chance after waiting, the way to them may be built by now.
+                unreachableTrees.clear();
                 return LUMBERJACK_NO_TREES_FOUND;
             }
             searchIncrement += SEARCH_INCREMENT;
         }
         else
         {
+            getOwnBuilding().getColony().getTreeIndex().addTree(pathResult.treeLocation);
             job.tree = new Tree(world, pathResult.treeLocation);
             job.tree.findLogs(world);
         }
@@ -358,8 +391,19 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
         if (!walkToTree(job.tree.getStumpLocations().get(0)))
         {
             checkIfStuckOnLeaves(location);
+            if (isTreeUnreachable(location))
+            {
+                //The index knows the tree by each of its log columns, skip all of them.
+                unreachableTrees.add(location);
+                unreachableTrees.addAll(job.tree.getLogColumnBases());
+                job.tree = null;
+                workFrom = null;
+                return LUMBERJACK_SEARCHING_TREE;
+            }
             return getState();
         }
+        closestDistance = Integer.MAX_VALUE;
+        ticksWithoutProgress = 0;
 
         if (!job.tree.hasLogs() && (!job.tree.isSlimeTree() || !job.tree.hasLeaves()))
         {
@@ -450,6 +494,33 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
         tryGettingUnstuckFromLeaves();
     }
 
+    /**
+     * Check if the lumberjack stopped getting closer to the tree for too long.
+     *
+     * @param location the tree.
+     * @return true if he should give up on it.
+     */
+    private boolean isTreeUnreachable(@NotNull final BlockPos location)
+    {
+        final int distance = (int) location.distanceSq(worker.getPosition());
+        if (distance < closestDistance)
+        {
+            closestDistance = distance;
+            ticksWithoutProgress = 0;
+            return false;
+        }
+
+        ticksWithoutProgress++;
+        if (ticksWithoutProgress < UNREACHABLE_WAIT_TIME)
+        {
+            return false;
+        }
+
+        closestDistance = Integer.MAX_VALUE;
+        ticksWithoutProgress = 0;
+        return true;
+    }
+
     /**
      * Place a sappling for the current tree.
      */
@@ -20,10 +20,14 @@ import net.minecraftforge.common.util.Constants;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -446,33 +450,50 @@ public class Tree
      */
     private void addAndSearch(@NotNull final World world, @NotNull final BlockPos log)
     {
-        if (woodBlocks.size() >= MAX_TREE_SIZE)
+        final Set<Long> visited = new HashSet<>();
+        for (final BlockPos pos : woodBlocks)
         {
-            return;
+            visited.add(pos.toLong());
         }
-
-        if (log.getY() < location.getY())
+        if (!visited.add(log.toLong()))
         {
-            location = log;
+            return;
         }
 
-        if (log.getY() > topLog.getY())
+        final Deque<BlockPos> queue = new ArrayDeque<>();
+        queue.add(log);
+        while (!queue.isEmpty() && woodBlocks.size() < MAX_TREE_SIZE)
         {
-            topLog = log;
-        }
+            final BlockPos current = queue.poll();
+            if (current.getY() < location.getY())
+            {
+                location = current;
+            }
 
-        woodBlocks.add(log);
-        for (int y = -1; y <= 1; y++)
-        {
-            for (int x = -1; x <= 1; x++)
+            if (current.getY() > topLog.getY())
             {
-                for (int z = -1; z <= 1; z++)
+                topLog = current;
+            }
+
+            woodBlocks.add(current);
+            for (int y = -1; y <= 1; y++)
+            {
+                for (int x = -1; x <= 1; x++)
                 {
-                    final BlockPos temp = log.add(x, y, z);
-                    final Block block = BlockPosUtil.getBlock(world, temp);
-                    if ((block.isWood(null, temp) || Compatibility.isSlimeBlock(block)) && !woodBlocks.contains(temp))
+                    for (int z = -1; z <= 1; z++)
                     {
-                        addAndSearch(world, temp);
+                        final BlockPos temp = current.add(x, y, z);
+                        if (visited.contains(temp.toLong()))
+                        {
+                            continue;
+                        }
+
+                        final Block block = BlockPosUtil.getBlock(world, temp);
+                        if (block.isWood(null, temp) || Compatibility.isSlimeBlock(block))
+                        {
+                            visited.add(temp.toLong());
+                            queue.add(temp);
+                        }
                     }
                 }
             }
@@ -480,40 +501,25 @@ public class Tree
     }
 
     /**
-     * Adds a leaf and searches for further leaves.
+     * Adds the leaves around the tree, from above the ground up to the top of the canopy.
      *
-     * @param world The world the leaf is in.
+     * @param world The world the leaves are in.
      */
     private void addAndSearch(@NotNull final World world)
     {
-        int locXMin = location.getX() - LEAVES_WIDTH;
-        int locXMax = location.getX() + LEAVES_WIDTH;
         final int locYMin = location.getY() + 2;
-        int locZMin = location.getZ() - LEAVES_WIDTH;
-        int locZMax = location.getZ() + LEAVES_WIDTH;
-        int temp;
-        if (locXMin > locXMax)
-        {
-            temp = locXMax;
-            locXMax = locXMin;
-            locXMin = temp;
-        }
-        if (locZMin > locZMax)
+        final int locYMax = Math.min(topLog.getY() + LEAVES_WIDTH, MAX_TREE_SIZE);
+        final BlockPos.MutableBlockPos leaf = new BlockPos.MutableBlockPos();
+        for (int locX = location.getX() - LEAVES_WIDTH; locX <= location.getX() + LEAVES_WIDTH; locX++)
         {
-            temp = locZMax;
-            locZMax = locZMin;
-            locZMin = temp;
-        }
-        for (int locX = locXMin; locX <= locXMax; locX++)
-        {
-            for (int locY = locYMin; locY <= MAX_TREE_SIZE; locY++)
+            for (int locY = locYMin; locY <= locYMax; locY++)
             {
-                for (int locZ = locZMin; locZ <= locZMax; locZ++)
+                for (int locZ = location.getZ() - LEAVES_WIDTH; locZ <= location.getZ() + LEAVES_WIDTH; locZ++)
                 {
-                    final BlockPos leaf = new BlockPos(locX, locY, locZ);
+                    leaf.setPos(locX, locY, locZ);
                     if (world.getBlockState(leaf).getMaterial() == Material.LEAVES)
                     {
-                        leaves.add(leaf);
+                        leaves.add(leaf.toImmutable());
                     }
                 }
             }
@@ -599,6 +605,27 @@ public class Tree
         return new ArrayList<>(stumpLocations);
     }
 
+    /**
+     * Get the lowest log of each column of logs of the tree, like the tree index of the colony stores them.
+     * A tree can have several, for example the four trunks of a dark oak or the branches of a big oak.
+     *
+     * @return the positions.
+     */
+    @NotNull
+    public List<BlockPos> getLogColumnBases()
+    {
+        final Set<BlockPos> logs = new HashSet<>(woodBlocks);
+        final List<BlockPos> bases = new ArrayList<>();
+        for (final BlockPos log : woodBlocks)
+        {
+            if (!logs.contains(log.down()))
+            {
+                bases.add(log);
+            }
+        }
+        return bases;
+    }
+
     /**
      * Removes a stump from the stump list.
      *
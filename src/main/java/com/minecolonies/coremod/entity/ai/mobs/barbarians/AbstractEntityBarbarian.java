@@ -5,6 +5,7 @@ import com.minecolonies.api.util.CompatibilityUtils;
 import com.minecolonies.api.util.constant.Constants;
 import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.entity.ai.mobs.util.BarbarianHorde;
 import com.minecolonies.coremod.entity.ai.mobs.util.BarbarianSpawnUtils;
 import com.minecolonies.coremod.entity.ai.mobs.util.BarbarianUtils;
 import com.minecolonies.coremod.items.ItemChiefSword;
@@ -74,6 +75,12 @@ public abstract class AbstractEntityBarbarian extends EntityMob
      */
     private final        Colony colony                          = ColonyManager.getClosestColony(CompatibilityUtils.getWorld(this), this.getPosition());
 
+    /**
+     * The horde the barbarian spawned with, not saved.
+     */
+    @Nullable
+    private BarbarianHorde horde = null;
+
     /**
      * Current count of ticks.
      */
@@ -104,6 +111,27 @@ public abstract class AbstractEntityBarbarian extends EntityMob
         super(world);
     }
 
+    /**
+     * Getter for the horde the barbarian spawned with.
+     *
+     * @return the horde or null if it spawned alone or got loaded.
+     */
+    @Nullable
+    public BarbarianHorde getHorde()
+    {
+        return horde;
+    }
+
+    /**
+     * Set the horde the barbarian spawned with.
+     *
+     * @param horde the horde or null.
+     */
+    public void setHorde(@Nullable final BarbarianHorde horde)
+    {
+        this.horde = horde;
+    }
+
     @Override
     protected void initEntityAI()
     {
@@ -4,6 +4,7 @@ import com.minecolonies.api.util.Log;
 import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.ColonyManager;
 import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
+import com.minecolonies.coremod.entity.ai.mobs.util.BarbarianHorde;
 import com.minecolonies.coremod.entity.pathfinding.GeneralEntityWalkToProxy;
 import com.minecolonies.coremod.entity.pathfinding.PathNavigate;
 import net.minecraft.entity.EntityCreature;
@@ -66,7 +67,8 @@ public class EntityAIWalkToRandomHuts extends EntityAIBase
     {
         if (this.targetBlock == null)
         {
-            this.targetBlock = getRandomBuilding();
+            final BarbarianHorde horde = getHorde();
+            this.targetBlock = horde == null ? getRandomBuilding() : horde.getRallyPoint();
         }
 
         return this.targetBlock != null;
@@ -163,6 +165,17 @@ public class EntityAIWalkToRandomHuts extends EntityAIBase
         }
     }
 
+    /**
+     * Gets the horde the entity spawned with, its barbarians walk to the center of the colony first.
+     *
+     * @return the horde or null.
+     */
+    @Nullable
+    private BarbarianHorde getHorde()
+    {
+        return entity instanceof AbstractEntityBarbarian ? ((AbstractEntityBarbarian) entity).getHorde() : null;
+    }
+
     /**
      * gets a random building from the nearby colony
      *
@@ -170,12 +183,14 @@ public class EntityAIWalkToRandomHuts extends EntityAIBase
      */
     private BlockPos getRandomBuilding()
     {
-        if (colony == null)
+        final BarbarianHorde horde = getHorde();
+        final Colony targetColony = horde == null ? colony : horde.getColony();
+        if (targetColony == null)
         {
             return null;
         }
 
-        final Collection<AbstractBuilding> buildingList = colony.getBuildings().values();
+        final Collection<AbstractBuilding> buildingList = targetColony.getBuildings().values();
         final Object[] buildingArray = buildingList.toArray();
         if (buildingArray.length != 0)
         {
@@ -0,0 +1,174 @@
+package com.minecolonies.coremod.entity.ai.mobs.util;
+
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.entity.ai.mobs.barbarians.AbstractEntityBarbarian;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A horde of barbarians raiding a colony, spawned over several ticks instead of all at once.
+ * The first barbarian is spawned alone and the others follow once it found its path to the center of the colony,
+ * they spawn at the same position and get the same path from the path cache of the colony instead of computing it again.
+ */
+public class BarbarianHorde
+{
+    /**
+     * Max amount of barbarians spawned per tick.
+     */
+    private static final int SPAWNS_PER_TICK = 4;
+
+    /**
+     * Max amount of ticks to wait for the path of the first barbarian.
+     */
+    private static final int MAX_PATH_WAIT_TICKS = 100;
+
+    /**
+     * Statistics of all hordes.
+     */
+    private static long hordes       = 0;
+    private static long spawned      = 0;
+    private static long spawnTicks   = 0;
+    private static long pathTimeouts = 0;
+
+    /**
+     * The colony which is raided.
+     */
+    private final Colony colony;
+
+    /**
+     * The position the barbarians spawn at.
+     */
+    private final BlockPos spawnPoint;
+
+    /**
+     * The barbarians which are still to spawn, in order.
+     */
+    private final Deque<ResourceLocation> pending = new ArrayDeque<>();
+
+    /**
+     * The first barbarian of the horde.
+     */
+    @Nullable
+    private AbstractEntityBarbarian leader = null;
+
+    /**
+     * Ticks waited for the path of the first barbarian.
+     */
+    private int waitedTicks = 0;
+
+    /**
+     * Create a horde.
+     *
+     * @param colony     the colony which is raided.
+     * @param spawnPoint the position the barbarians spawn at.
+     */
+    public BarbarianHorde(@NotNull final Colony colony, @NotNull final BlockPos spawnPoint)
+    {
+        this.colony = colony;
+        this.spawnPoint = spawnPoint;
+        hordes++;
+    }
+
+    /**
+     * Add barbarians to spawn.
+     *
+     * @param entityToSpawn  the barbarian entity.
+     * @param numberOfSpawns the amount of them.
+     */
+    public void add(@NotNull final ResourceLocation entityToSpawn, final int numberOfSpawns)
+    {
+        for (int i = 0; i < numberOfSpawns; i++)
+        {
+            pending.add(entityToSpawn);
+        }
+    }
+
+    /**
+     * Spawn the barbarians of this tick.
+     *
+     * @param world the world of the colony.
+     * @return true if barbarians are left to spawn.
+     */
+    public boolean spawnNext(@Nullable final World world)
+    {
+        if (world == null || pending.isEmpty())
+        {
+            return !pending.isEmpty();
+        }
+
+        if (leader == null)
+        {
+            leader = spawn(pending.poll(), world);
+            spawnTicks++;
+            return !pending.isEmpty();
+        }
+
+        if (leader.isEntityAlive() && leader.getNavigator().noPath() && waitedTicks < MAX_PATH_WAIT_TICKS)
+        {
+            waitedTicks++;
+            if (waitedTicks == MAX_PATH_WAIT_TICKS)
+            {
+                pathTimeouts++;
+            }
+            return true;
+        }
+
+        for (int i = 0; i < SPAWNS_PER_TICK && !pending.isEmpty(); i++)
+        {
+            spawn(pending.poll(), world);
+        }
+        spawnTicks++;
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Getter for the colony which is raided.
+     *
+     * @return the colony.
+     */
+    @NotNull
+    public Colony getColony()
+    {
+        return colony;
+    }
+
+    /**
+     * Getter for the position the barbarians of the horde walk to first.
+     *
+     * @return the center of the colony.
+     */
+    @NotNull
+    public BlockPos getRallyPoint()
+    {
+        return colony.getCenter();
+    }
+
+    /**
+     * Get a human readable line of the statistics.
+     *
+     * @return the line.
+     */
+    @NotNull
+    public static String getReport()
+    {
+        return String.format("§2Barbarian hordes: §f%d§2, §f%d §2barbarians spawned in §f%d §2ticks, §f%d §2path timeouts",
+          hordes, spawned, spawnTicks, pathTimeouts);
+    }
+
+    @Nullable
+    private AbstractEntityBarbarian spawn(@NotNull final ResourceLocation entityToSpawn, @NotNull final World world)
+    {
+        final AbstractEntityBarbarian barbarian = BarbarianSpawnUtils.spawnOne(entityToSpawn, spawnPoint, world, this);
+        if (barbarian != null)
+        {
+            spawned++;
+        }
+        return barbarian;
+    }
+}
@@ -22,6 +22,8 @@ import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraftforge.common.ForgeChunkManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.stream.IntStream;
 
@@ -167,24 +169,39 @@ public final class BarbarianSpawnUtils
     {
         if (spawnLocation != null && entityToSpawn != null && world != null)
         {
-            final int x = spawnLocation.getX();
-            final int y = spawnLocation.getY();
-            final int z = spawnLocation.getZ();
-
-            IntStream.range(0, numberOfSpawns).forEach(theInteger ->
-            {
-                final AbstractEntityBarbarian entity = (AbstractEntityBarbarian) EntityList.createEntityByIDFromName(entityToSpawn, world);
-
-                if (entity != null)
-                {
-                    setBarbarianEquipment(entity);
-                    entity.setLocationAndAngles(x, y, z, MathHelper.wrapDegrees(world.rand.nextFloat() * WHOLE_CIRCLE), 0.0F);
-                    CompatibilityUtils.spawnEntity(world, entity);
-                }
-            });
+            IntStream.range(0, numberOfSpawns).forEach(theInteger -> spawnOne(entityToSpawn, spawnLocation, world, null));
         }
     }
 
+    /**
+     * Sets up and spawns one Barbarian entity of choice
+     *
+     * @param entityToSpawn The entity which should be spawned
+     * @param spawnLocation the location at which to spawn the entity
+     * @param world         the world in which the colony and entity are
+     * @param horde         the horde the entity belongs to, if any
+     * @return the spawned entity or null
+     */
+    @Nullable
+    public static AbstractEntityBarbarian spawnOne(
+      @NotNull final ResourceLocation entityToSpawn,
+      @NotNull final BlockPos spawnLocation,
+      @NotNull final World world,
+      @Nullable final BarbarianHorde horde)
+    {
+        final AbstractEntityBarbarian entity = (AbstractEntityBarbarian) EntityList.createEntityByIDFromName(entityToSpawn, world);
+
+        if (entity != null)
+        {
+            setBarbarianEquipment(entity);
+            entity.setHorde(horde);
+            entity.setLocationAndAngles(spawnLocation.getX(), spawnLocation.getY(), spawnLocation.getZ(),
+              MathHelper.wrapDegrees(world.rand.nextFloat() * WHOLE_CIRCLE), 0.0F);
+            CompatibilityUtils.spawnEntity(world, entity);
+        }
+        return entity;
+    }
+
     public static void setBarbarianEquipment(final AbstractEntityBarbarian barbarian)
     {
         if (barbarian instanceof EntityBarbarian)
@@ -3,6 +3,7 @@ package com.minecolonies.coremod.entity.ai.mobs.util;
 import com.minecolonies.api.util.CompatibilityUtils;
 import com.minecolonies.coremod.entity.ai.mobs.barbarians.AbstractEntityBarbarian;
 import net.minecraft.entity.Entity;
+import net.minecraft.util.math.AxisAlignedBB;
 
 import java.util.List;
 import java.util.Optional;
@@ -46,10 +47,22 @@ public final class BarbarianUtils
     {
         return CompatibilityUtils.getWorld(entity).getEntitiesWithinAABB(
           AbstractEntityBarbarian.class,
-          entity.getEntityBoundingBox().expand(
-            distanceFromEntity,
-            Y_DISTANCE_TO_CHECK_WITHIN,
-            distanceFromEntity),
+          getSearchArea(entity, distanceFromEntity),
           Entity::isEntityAlive);
     }
+
+    /**
+     * Returns the area barbarians close to an entity are searched in.
+     *
+     * @param entity             The entity to test against
+     * @param distanceFromEntity The distance to check for
+     * @return the area
+     */
+    public static AxisAlignedBB getSearchArea(final Entity entity, final double distanceFromEntity)
+    {
+        return entity.getEntityBoundingBox().expand(
+          distanceFromEntity,
+          Y_DISTANCE_TO_CHECK_WITHIN,
+          distanceFromEntity);
+    }
 }
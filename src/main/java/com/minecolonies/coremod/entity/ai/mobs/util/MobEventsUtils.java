@@ -80,9 +80,11 @@ public final class MobEventsUtils
           colony.getMessageEntityPlayers(),
           "event.minecolonies.raidMessage");
 
-        BarbarianSpawnUtils.spawn(BARBARIAN, numberOfBarbarians, targetSpawnPoint, world);
-        BarbarianSpawnUtils.spawn(ARCHER, numberOfArchers, targetSpawnPoint, world);
-        BarbarianSpawnUtils.spawn(CHIEF, numberOfChiefs, targetSpawnPoint, world);
+        final BarbarianHorde horde = new BarbarianHorde(colony, targetSpawnPoint);
+        horde.add(BARBARIAN, numberOfBarbarians);
+        horde.add(ARCHER, numberOfArchers);
+        horde.add(CHIEF, numberOfChiefs);
+        colony.setHorde(horde);
     }
 
     /**
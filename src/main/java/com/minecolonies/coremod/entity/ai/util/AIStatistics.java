@@ -0,0 +1,129 @@
+package com.minecolonies.coremod.entity.ai.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the target checks and the time spent in each state of the worker ai, per job type.
+ * Only accessed by the server thread.
+ */
+public final class AIStatistics
+{
+    /**
+     * Max states listed per job in the report.
+     */
+    private static final int REPORTED_STATES = 5;
+
+    /**
+     * Statistics by job name.
+     */
+    private static final Map<String, JobStatistics> jobs = new TreeMap<>();
+
+    private AIStatistics()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Get the statistics of a job type, to be kept by the ai.
+     *
+     * @param jobName the name of the job.
+     * @return the statistics.
+     */
+    @NotNull
+    public static JobStatistics getJobStatistics(@NotNull final String jobName)
+    {
+        return jobs.computeIfAbsent(jobName, name -> new JobStatistics());
+    }
+
+    /**
+     * Reset all statistics.
+     */
+    public static void reset()
+    {
+        jobs.values().forEach(JobStatistics::reset);
+    }
+
+    /**
+     * Get human readable lines of the statistics, the states a job spent the most time in first.
+     *
+     * @return the lines.
+     */
+    @NotNull
+    public static List<String> getReport()
+    {
+        final List<String> lines = new ArrayList<>();
+        for (final Map.Entry<String, JobStatistics> entry : jobs.entrySet())
+        {
+            final JobStatistics statistics = entry.getValue();
+            if (statistics.ticks == 0)
+            {
+                continue;
+            }
+
+            lines.add(String.format("§2%s: §f%d §2ticks, §f%d §2checks, §f%dms", entry.getKey(),
+              statistics.ticks, statistics.evaluations, TimeUnit.NANOSECONDS.toMillis(statistics.nanos)));
+
+            final List<AIState> states = new ArrayList<>();
+            for (final AIState state : AIState.values())
+            {
+                if (statistics.stateTicks[state.ordinal()] > 0)
+                {
+                    states.add(state);
+                }
+            }
+            states.sort(Comparator.comparingLong((AIState state) -> statistics.stateNanos[state.ordinal()]).reversed());
+
+            for (final AIState state : states.subList(0, Math.min(REPORTED_STATES, states.size())))
+            {
+                lines.add(String.format("  §2%s: §f%d §2ticks, §f%dus", state,
+                  statistics.stateTicks[state.ordinal()], TimeUnit.NANOSECONDS.toMicros(statistics.stateNanos[state.ordinal()])));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * The statistics of one job type.
+     */
+    public static final class JobStatistics
+    {
+        private final long[] stateTicks = new long[AIState.values().length];
+        private final long[] stateNanos = new long[AIState.values().length];
+        private       long   ticks;
+        private       long   evaluations;
+        private       long   nanos;
+
+        private JobStatistics()
+        {
+            //Created by AIStatistics only.
+        }
+
+        /**
+         * Record one tick of an ai.
+         *
+         * @param state       the state the ai was in.
+         * @param evaluations the amount of targets checked.
+         * @param duration    the time spent, in nanoseconds.
+         */
+        public void record(@NotNull final AIState state, final int evaluations, final long duration)
+        {
+            ticks++;
+            this.evaluations += evaluations;
+            nanos += duration;
+            stateTicks[state.ordinal()]++;
+            stateNanos[state.ordinal()] += duration;
+        }
+
+        private void reset()
+        {
+            Arrays.fill(stateTicks, 0);
+            Arrays.fill(stateNanos, 0);
+            ticks = 0;
+            evaluations = 0;
+            nanos = 0;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import net.minecraft.block.BlockDoor;
 import net.minecraft.block.BlockOre;
 import net.minecraft.block.BlockStairs;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
@@ -20,12 +21,16 @@ import net.minecraft.util.Mirror;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.gen.structure.template.Template;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-import java.util.function.Function;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -142,28 +147,46 @@ public class Structure
          */
         public boolean doesStructureBlockEqualWorldBlock()
         {
-            final IBlockState structureBlockState = metadata;
+            return blocksEqual(metadata, worldMetadata, entity, () -> hasWorldEntity);
+        }
+
+        /**
+         * Checks if a structure block equals a world block.
+         * The world entities are only checked if the blocks are equal, as they are the most expensive to look up.
+         *
+         * @param structureBlockState the state of the structure block.
+         * @param worldBlockState     the state of the world block.
+         * @param entity              the entity of the structure at the position.
+         * @param hasWorldEntity      checks if there is an entity at the position in the world.
+         * @return true if so.
+         */
+        private static boolean blocksEqual(
+                                            @NotNull final IBlockState structureBlockState, @NotNull final IBlockState worldBlockState,
+                                            @Nullable final Template.EntityInfo entity, @NotNull final BooleanSupplier hasWorldEntity)
+        {
             final Block structureBlock = structureBlockState.getBlock();
+            final Block worldBlock = worldBlockState.getBlock();
 
             //All worldBlocks are equal the substitution block
-            if (structureBlockEqualsWorldBlock(structureBlock, worldBlock, worldMetadata)
+            if (structureBlockEqualsWorldBlock(structureBlock, worldBlock, worldBlockState)
                     || structureBlock == ModBlocks.blockWayPoint)
             {
                 return true;
             }
 
-            if(entity == null && hasWorldEntity)
-            {
-                return false;
-            }
+            return statesEqual(structureBlockState, worldBlockState) && (entity != null || !hasWorldEntity.getAsBoolean());
+        }
 
-            final IBlockState worldBlockState = worldMetadata;
+        private static boolean statesEqual(@NotNull final IBlockState structureBlockState, @NotNull final IBlockState worldBlockState)
+        {
+            final Block structureBlock = structureBlockState.getBlock();
+            final Block worldBlock = worldBlockState.getBlock();
 
             //list of things to only check block for.
             //For the time being any flower pot is equal to each other.
             if (structureBlock instanceof BlockDoor || structureBlock == Blocks.FLOWER_POT)
             {
-                return structureBlock == worldBlockState.getBlock();
+                return structureBlock == worldBlock;
             }
             else if ((structureBlock instanceof BlockStairs && structureBlockState.equals(worldBlockState))
                     || BlockUtils.isGrassOrDirt(structureBlock, worldBlock, structureBlockState, worldBlockState)
@@ -194,6 +217,11 @@ public class Structure
     private final World            targetWorld;
     private       Stage            stage;
 
+    /**
+     * Reused by advanceBlocks to check blocks without creating a StructureBlock for each.
+     */
+    private final BlockCursor cursor = new BlockCursor();
+
     /**
      * Create a new building task.
      *
@@ -350,19 +378,19 @@ public class Structure
         {
             case CLEAR:
                 return advanceBlocks(this.structure::decrementBlock,
-                  structureBlock -> structureBlock.doesStructureBlockEqualWorldBlock()
-                                      || structureBlock.worldBlock == Blocks.AIR);
+                  block -> block.isEqual()
+                             || block.getWorldState().getBlock() == Blocks.AIR);
             case BUILD:
-                return advanceBlocks(this.structure::incrementBlock, structureBlock -> structureBlock.doesStructureBlockEqualWorldBlock()
-                                                                                         && structureBlock.block == Blocks.AIR
-                                                                                         && !structureBlock.metadata.getMaterial().isSolid());
+                return advanceBlocks(this.structure::incrementBlock, block -> block.isEqual()
+                                                                                && block.structureState.getBlock() == Blocks.AIR
+                                                                                && !block.structureState.getMaterial().isSolid());
             case SPAWN:
-                return advanceBlocks(this.structure::decrementBlock, structureBlock ->
-                                                                       structureBlock.entity == null);
+                return advanceBlocks(this.structure::decrementBlock, block ->
+                                                                       block.entity == null);
             case DECORATE:
-                return advanceBlocks(this.structure::incrementBlock, structureBlock ->
-                                                                       structureBlock.doesStructureBlockEqualWorldBlock()
-                                                                         || structureBlock.metadata.getMaterial().isSolid());
+                return advanceBlocks(this.structure::incrementBlock, block ->
+                                                                       block.isEqual()
+                                                                         || block.structureState.getMaterial().isSolid());
             default:
                 return Result.NEW_BLOCK;
         }
@@ -373,19 +401,21 @@ public class Structure
      * or if we reached the maximum of iterations in maxBlocksCheckedByBuilder.
      *
      * @param moveOneBlock   this will be called to advance the structure one block.
-     * @param checkIfApplies this will be evaluated to check if we should skip a block.
+     * @param checkIfApplies this will be evaluated on the current block to check if we should skip it.
      * @return a Result enum specifying the result
      */
     @NotNull
-    private Result advanceBlocks(@NotNull final Supplier<Boolean> moveOneBlock, @NotNull final Function<StructureBlock, Boolean> checkIfApplies)
+    private Result advanceBlocks(@NotNull final Supplier<Boolean> moveOneBlock, @NotNull final Predicate<BlockCursor> checkIfApplies)
     {
+        cursor.begin();
         for (int i = 0; i < Configurations.gameplay.maxBlocksCheckedByBuilder; i++)
         {
             if (!moveOneBlock.get())
             {
                 return Result.AT_END;
             }
-            if (!checkIfApplies.apply(getCurrentBlock()))
+            cursor.load();
+            if (!checkIfApplies.test(cursor))
             {
                 return Result.NEW_BLOCK;
             }
@@ -409,9 +439,115 @@ public class Structure
                                    this.structure.getItem(),
                                    BlockPosUtil.getBlock(targetWorld, this.structure.getBlockPosition()),
                                    BlockPosUtil.getBlockState(targetWorld, this.structure.getBlockPosition()),
-                                           !targetWorld.getEntitiesWithinAABB(net.minecraft.entity.Entity.class,
+                                           !targetWorld.getEntitiesWithinAABB(Entity.class,
                                                    new AxisAlignedBB(this.structure.getBlockPosition()),
-                                                   entity -> !(entity instanceof EntityLiving || entity instanceof EntityPlayer || entity instanceof EntityItem)).isEmpty());
+                                                   Structure::isRemovableEntity).isEmpty());
+    }
+
+    /**
+     * The block advanceBlocks is checking, reused for every block.
+     * Loads the world block and the world entities only when the check needs them.
+     */
+    private final class BlockCursor
+    {
+        private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        private       IBlockState              structureState;
+        private       Template.EntityInfo      entity;
+        private       IBlockState              worldState;
+        private       BlockPos                 origin;
+        private       Chunk                    chunk;
+        private       List<AxisAlignedBB>      worldEntities;
+
+        /**
+         * Start checking blocks, the world may have changed since the last call.
+         */
+        private void begin()
+        {
+            origin = structure.getOffsetPosition();
+            chunk = null;
+            worldEntities = null;
+        }
+
+        /**
+         * Move to the current block of the structure.
+         */
+        private void load()
+        {
+            structure.getBlockPosition(origin, pos);
+            structureState = structure.getBlockState();
+            entity = structure.getEntityinfo();
+            worldState = null;
+        }
+
+        /**
+         * Get the world block at the position, the chunk is kept for the next blocks.
+         *
+         * @return the state of the world block.
+         */
+        @NotNull
+        private IBlockState getWorldState()
+        {
+            if (worldState == null)
+            {
+                if (chunk == null || chunk.xPosition != pos.getX() >> 4 || chunk.zPosition != pos.getZ() >> 4)
+                {
+                    chunk = targetWorld.getChunkFromChunkCoords(pos.getX() >> 4, pos.getZ() >> 4);
+                }
+                worldState = chunk.getBlockState(pos);
+            }
+            return worldState;
+        }
+
+        /**
+         * Checks if there is an entity at the position in the world which the builder has to remove.
+         * The entities in the area of the structure are looked up once per call of advanceBlocks.
+         *
+         * @return true if so.
+         */
+        private boolean hasWorldEntity()
+        {
+            if (worldEntities == null)
+            {
+                worldEntities = new ArrayList<>();
+                final AxisAlignedBB area = new AxisAlignedBB(origin, origin.add(structure.getWidth(), structure.getHeight(), structure.getLength()));
+                for (final Entity worldEntity : targetWorld.getEntitiesWithinAABB(Entity.class, area, Structure::isRemovableEntity))
+                {
+                    worldEntities.add(worldEntity.getEntityBoundingBox());
+                }
+            }
+
+            for (final AxisAlignedBB box : worldEntities)
+            {
+                if (box.minX < pos.getX() + 1 && box.maxX > pos.getX()
+                      && box.minY < pos.getY() + 1 && box.maxY > pos.getY()
+                      && box.minZ < pos.getZ() + 1 && box.maxZ > pos.getZ())
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Checks if the structure block equals the world block.
+         *
+         * @return true if so.
+         */
+        private boolean isEqual()
+        {
+            return StructureBlock.blocksEqual(structureState, getWorldState(), entity, this::hasWorldEntity);
+        }
+    }
+
+    /**
+     * Checks if an entity is part of the structure, like item frames, so not a mob, player or item.
+     *
+     * @param entity the entity.
+     * @return true if so.
+     */
+    private static boolean isRemovableEntity(@Nullable final Entity entity)
+    {
+        return !(entity instanceof EntityLiving || entity instanceof EntityPlayer || entity instanceof EntityItem);
     }
 
     /**
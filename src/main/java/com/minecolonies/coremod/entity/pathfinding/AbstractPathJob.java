@@ -5,6 +5,7 @@ import com.minecolonies.api.util.BlockPosUtil;
 import com.minecolonies.api.util.BlockUtils;
 import com.minecolonies.api.util.CompatibilityUtils;
 import com.minecolonies.api.util.Log;
+import com.minecolonies.api.util.TickProfiler;
 import com.minecolonies.coremod.blocks.BlockConstructionTape;
 import com.minecolonies.coremod.blocks.BlockConstructionTapeCorner;
 import com.minecolonies.coremod.blocks.BlockHutField;
@@ -50,6 +51,11 @@ public abstract class AbstractPathJob implements Callable<Path>
     private static final   int      MAX_Y                 = 256;
     private static final   int      MIN_Y                 = 0;
 
+    /**
+     * Cached values of the surface types, to decode the snapshot flags.
+     */
+    static final SurfaceType[] SURFACE_TYPES = SurfaceType.values();
+
     /**
      * Additional cost of jumping and dropping - base 1.
      */
@@ -95,10 +101,21 @@ public abstract class AbstractPathJob implements Callable<Path>
     protected final  BlockPos     start;
     @NotNull
     protected final  IBlockAccess world;
+    /**
+     * The world snapshot if the job reads one, null if it reads a ChunkCache.
+     */
+    @Nullable
+    private final    WorldSnapshot snapshot;
     protected final  PathResult   result;
     private final    int          maxRange;
-    private final Queue<Node>        nodesOpen                    = new PriorityQueue<>(500);
-    private final Map<Integer, Node> nodesVisited                 = new HashMap<>();
+    /**
+     * True if the pooled engine (NodeHeap, NodeMap, NodePool) is used instead of the collections.
+     */
+    private final boolean            pooledEngine;
+    private final Queue<Node>        nodesOpen;
+    private final Map<Integer, Node> nodesVisited;
+    private final NodeHeap           openHeap;
+    private final NodeMap            visitedMap;
     //  Debug Rendering
     protected     boolean            debugDrawEnabled             = false;
     @Nullable
@@ -139,13 +156,21 @@ public abstract class AbstractPathJob implements Callable<Path>
      */
     public AbstractPathJob(final World world, @NotNull final BlockPos start, @NotNull final BlockPos end, final int range, final PathResult result)
     {
-        final int minX = Math.min(start.getX(), end.getX()) - (range / 2);
-        final int minZ = Math.min(start.getZ(), end.getZ()) - (range / 2);
-        final int maxX = Math.max(start.getX(), end.getX()) + (range / 2);
-        final int maxZ = Math.max(start.getZ(), end.getZ()) + (range / 2);
-
-        this.world = new ChunkCache(world, new BlockPos(minX, MIN_Y, minZ), new BlockPos(maxX, MAX_Y, maxZ), range);
+        this(createBlockAccess(world, start, end, range), start, range, result);
+    }
 
+    /**
+     * AbstractPathJob constructor reading an already captured world, used for the segments of a longer path.
+     *
+     * @param blockAccess the captured world.
+     * @param start       the start position from which to path from.
+     * @param range       maximum path range.
+     * @param result      path result.
+     */
+    AbstractPathJob(@NotNull final IBlockAccess blockAccess, @NotNull final BlockPos start, final int range, final PathResult result)
+    {
+        this.world = blockAccess;
+        this.snapshot = blockAccess instanceof WorldSnapshot ? (WorldSnapshot) blockAccess : null;
         this.start = new BlockPos(start);
         this.maxRange = range;
 
@@ -160,6 +185,23 @@ public abstract class AbstractPathJob implements Callable<Path>
             debugNodesNotVisited = new HashSet<>();
             debugNodesPath = new HashSet<>();
         }
+
+        //  Debug rendering keeps references to the nodes, so these can't be recycled.
+        pooledEngine = Configurations.pathfinding.pathfindingPooledEngine && !debugDrawEnabled;
+        if (pooledEngine)
+        {
+            nodesOpen = null;
+            nodesVisited = null;
+            openHeap = new NodeHeap();
+            visitedMap = new NodeMap();
+        }
+        else
+        {
+            nodesOpen = new PriorityQueue<>(500);
+            nodesVisited = new HashMap<>();
+            openHeap = null;
+            visitedMap = null;
+        }
     }
 
     private static boolean onLadderGoingUp(@NotNull final Node currentNode, @NotNull final BlockPos dPos)
@@ -335,6 +377,40 @@ public abstract class AbstractPathJob implements Callable<Path>
         return node != null && node.isClosed();
     }
 
+    /**
+     * Capture the part of the world a job may search in.
+     *
+     * @param world the world.
+     * @param start the start of the path.
+     * @param end   the end of the path.
+     * @param range maximum path range.
+     * @return a {@link WorldSnapshot} or a ChunkCache, depending on the configuration.
+     */
+    @NotNull
+    private static IBlockAccess createBlockAccess(final World world, @NotNull final BlockPos start, @NotNull final BlockPos end, final int range)
+    {
+        final int minX = Math.min(start.getX(), end.getX()) - (range / 2);
+        final int minZ = Math.min(start.getZ(), end.getZ()) - (range / 2);
+        final int maxX = Math.max(start.getX(), end.getX()) + (range / 2);
+        final int maxZ = Math.max(start.getZ(), end.getZ()) + (range / 2);
+
+        //  Measures the server thread time of the job creation, to compare both ways in the profiler.
+        final long profilerStart = TickProfiler.start();
+        final IBlockAccess blockAccess;
+        if (Configurations.pathfinding.pathfindingWorldSnapshot)
+        {
+            final int minY = Math.min(start.getY(), end.getY());
+            final int maxY = Math.max(start.getY(), end.getY());
+            blockAccess = WorldSnapshot.capture(world, new BlockPos(minX, minY, minZ), new BlockPos(maxX, maxY, maxZ));
+        }
+        else
+        {
+            blockAccess = new ChunkCache(world, new BlockPos(minX, MIN_Y, minZ), new BlockPos(maxX, MAX_Y, maxZ), range);
+        }
+        TickProfiler.stop(TickProfiler.SECTION_PATHFINDING, TickProfiler.NO_COLONY, blockAccess.getClass(), profilerStart);
+        return blockAccess;
+    }
+
     private static boolean calculateSwimming(@NotNull final IBlockAccess world, @NotNull final BlockPos pos, @Nullable final Node node)
     {
         return (node == null) ? world.getBlockState(pos.down()).getMaterial().isLiquid() : node.isSwimming();
@@ -345,6 +421,27 @@ public abstract class AbstractPathJob implements Callable<Path>
         return result;
     }
 
+    /**
+     * Getter for the maximum range of the search.
+     *
+     * @return the range in blocks.
+     */
+    public int getMaxRange()
+    {
+        return maxRange;
+    }
+
+    /**
+     * Getter for the world snapshot of the job.
+     *
+     * @return the snapshot, null if the job reads a ChunkCache.
+     */
+    @Nullable
+    WorldSnapshot getSnapshot()
+    {
+        return snapshot;
+    }
+
     /**
      * Callable method for initiating asynchronous task.
      *
@@ -352,6 +449,25 @@ public abstract class AbstractPathJob implements Callable<Path>
      */
     @Override
     public final Path call()
+    {
+        final long start = TickProfiler.start();
+        try
+        {
+            return callUnprofiled();
+        }
+        finally
+        {
+            TickProfiler.stop(TickProfiler.SECTION_PATHFINDING, TickProfiler.NO_COLONY, getClass(), start);
+        }
+    }
+
+    /**
+     * Run the search without recording it in the profiler, used for the parts of a job which is profiled itself.
+     *
+     * @return path to follow or null.
+     */
+    @Nullable
+    final Path callUnprofiled()
     {
         try
         {
@@ -361,6 +477,15 @@ public abstract class AbstractPathJob implements Callable<Path>
         {
             Log.getLogger().debug(e);
         }
+        finally
+        {
+            if (pooledEngine)
+            {
+                openHeap.clear();
+                visitedMap.clear();
+                NodePool.get().releaseAll();
+            }
+        }
 
         return null;
     }
@@ -377,14 +502,14 @@ public abstract class AbstractPathJob implements Callable<Path>
 
         double bestNodeResultScore = getNodeResultScore(bestNode);
 
-        while (!nodesOpen.isEmpty())
+        while (!isOpenEmpty())
         {
             if (Thread.currentThread().isInterrupted())
             {
                 return null;
             }
 
-            final Node currentNode = nodesOpen.poll();
+            final Node currentNode = pollOpen();
 
             totalNodesVisited++;
             currentNode.setCounterVisited(totalNodesVisited);
@@ -513,8 +638,8 @@ public abstract class AbstractPathJob implements Callable<Path>
     @NotNull
     private Node getAndSetupStartNode()
     {
-        @NotNull final Node startNode = new Node(start,
-                                                  computeHeuristic(start));
+        final double heuristic = computeHeuristic(start);
+        @NotNull final Node startNode = newNode(null, start, 0, heuristic, heuristic);
 
         if (isLadder(start))
         {
@@ -525,8 +650,8 @@ public abstract class AbstractPathJob implements Callable<Path>
             startNode.setSwimming();
         }
 
-        nodesOpen.offer(startNode);
-        nodesVisited.put(computeNodeKey(start), startNode);
+        offerOpen(startNode);
+        putVisited(computeNodeKey(start), startNode);
 
         ++totalNodesAdded;
 
@@ -671,7 +796,7 @@ public abstract class AbstractPathJob implements Callable<Path>
         //  Cheap test to perform before doing a 'y' test
         //  Has this node been visited?
         int nodeKey = computeNodeKey(pos);
-        Node node = nodesVisited.get(nodeKey);
+        Node node = getVisited(nodeKey);
 
         //  Can we traverse into this node?  Fix the y up
         final int newY = getGroundHeight(parent, pos);
@@ -690,7 +815,7 @@ public abstract class AbstractPathJob implements Callable<Path>
             //  Has this node been visited?
             pos = new BlockPos(pos.getX(), newY, pos.getZ());
             nodeKey = computeNodeKey(pos);
-            node = nodesVisited.get(nodeKey);
+            node = getVisited(nodeKey);
             if (nodeClosed(node))
             {
                 //  Early out on previously visited and closed nodes
@@ -710,15 +835,13 @@ public abstract class AbstractPathJob implements Callable<Path>
         if (node == null)
         {
             node = createNode(parent, pos, nodeKey, isSwimming, heuristic, cost, score);
+            offerOpen(node);
         }
         else if (updateCurrentNode(parent, node, heuristic, cost, score))
         {
-
             return false;
         }
 
-        nodesOpen.offer(node);
-
         //  Jump Point Search-ish optimization:
         // If this node was a (heuristic-based) improvement on our parent,
         // lets go another step in the same direction...
@@ -740,9 +863,8 @@ public abstract class AbstractPathJob implements Callable<Path>
                              final Node parent, @NotNull final BlockPos pos, final int nodeKey,
                              final boolean isSwimming, final double heuristic, final double cost, final double score)
     {
-        final Node node;
-        node = new Node(parent, pos, cost, heuristic, score);
-        nodesVisited.put(nodeKey, node);
+        final Node node = newNode(parent, pos, cost, heuristic, score);
+        putVisited(nodeKey, node);
         if (debugDrawEnabled)
         {
             debugNodesNotVisited.add(node);
@@ -770,7 +892,14 @@ public abstract class AbstractPathJob implements Callable<Path>
             return true;
         }
 
-        if (!nodesOpen.remove(node))
+        if (pooledEngine)
+        {
+            if (!openHeap.contains(node))
+            {
+                return true;
+            }
+        }
+        else if (!nodesOpen.remove(node))
         {
             return true;
         }
@@ -780,9 +909,79 @@ public abstract class AbstractPathJob implements Callable<Path>
         node.setCost(cost);
         node.setHeuristic(heuristic);
         node.setScore(score);
+
+        if (pooledEngine)
+        {
+            openHeap.decreaseKey(node);
+        }
+        else
+        {
+            nodesOpen.offer(node);
+        }
         return false;
     }
 
+    /**
+     * Create a new node, recycled from the node pool of the thread if the pooled engine is used.
+     *
+     * @param parent    parent node arrives from.
+     * @param pos       coordinate of node.
+     * @param cost      node cost.
+     * @param heuristic heuristic estimate.
+     * @param score     node total score.
+     * @return the node.
+     */
+    @NotNull
+    private Node newNode(@Nullable final Node parent, @NotNull final BlockPos pos, final double cost, final double heuristic, final double score)
+    {
+        if (pooledEngine)
+        {
+            return NodePool.get().obtain(parent, pos, cost, heuristic, score);
+        }
+        return new Node(parent, pos, cost, heuristic, score);
+    }
+
+    private boolean isOpenEmpty()
+    {
+        return pooledEngine ? openHeap.isEmpty() : nodesOpen.isEmpty();
+    }
+
+    @Nullable
+    private Node pollOpen()
+    {
+        return pooledEngine ? openHeap.poll() : nodesOpen.poll();
+    }
+
+    private void offerOpen(@NotNull final Node node)
+    {
+        if (pooledEngine)
+        {
+            openHeap.offer(node);
+        }
+        else
+        {
+            nodesOpen.offer(node);
+        }
+    }
+
+    @Nullable
+    private Node getVisited(final int nodeKey)
+    {
+        return pooledEngine ? visitedMap.get(nodeKey) : nodesVisited.get(nodeKey);
+    }
+
+    private void putVisited(final int nodeKey, @NotNull final Node node)
+    {
+        if (pooledEngine)
+        {
+            visitedMap.put(nodeKey, node);
+        }
+        else
+        {
+            nodesVisited.put(nodeKey, node);
+        }
+    }
+
     /**
      * Get the height of the ground at the given x,z coordinate, within 1 step of y.
      *
@@ -800,15 +999,13 @@ public abstract class AbstractPathJob implements Callable<Path>
         }
 
         //  Now check the block we want to move to
-        final IBlockState target = world.getBlockState(pos);
-        if (!isPassable(target))
+        if (!isPassable(pos))
         {
-            return handleTargeNotPassable(parent, pos, target);
+            return handleTargeNotPassable(parent, pos);
         }
 
         //  Do we have something to stand on in the target space?
-        final IBlockState below = world.getBlockState(pos.down());
-        final SurfaceType walkability = isWalkableSurface(below);
+        final SurfaceType walkability = getSurfaceTypeAt(pos.down());
         if (walkability == SurfaceType.WALKABLE)
         {
             //  Level path
@@ -819,7 +1016,7 @@ public abstract class AbstractPathJob implements Callable<Path>
             return -1;
         }
 
-        return handleNotStanding(parent, pos, below);
+        return handleNotStanding(parent, pos, world.getBlockState(pos.down()));
     }
 
     private int handleNotStanding(@Nullable final Node parent, @NotNull final BlockPos pos, @NotNull final IBlockState below)
@@ -831,7 +1028,7 @@ public abstract class AbstractPathJob implements Callable<Path>
             return handleInLiquid(pos, below, isSwimming);
         }
 
-        if (isLadder(below.getBlock(), pos.down()))
+        if (isLadder(pos.down()))
         {
             return pos.getY();
         }
@@ -848,9 +1045,7 @@ public abstract class AbstractPathJob implements Callable<Path>
             return -1;
         }
 
-        final BlockPos down = pos.down(2);
-        final IBlockState below = world.getBlockState(down);
-        if (isWalkableSurface(below) == SurfaceType.WALKABLE)
+        if (getSurfaceTypeAt(pos.down(2)) == SurfaceType.WALKABLE)
         {
             //  Level path
             return pos.getY() - 1;
@@ -877,11 +1072,11 @@ public abstract class AbstractPathJob implements Callable<Path>
         return -1;
     }
 
-    private int handleTargeNotPassable(@Nullable final Node parent, @NotNull final BlockPos pos, @NotNull final IBlockState target)
+    private int handleTargeNotPassable(@Nullable final Node parent, @NotNull final BlockPos pos)
     {
         final boolean canJump = parent != null && !parent.isLadder() && !parent.isSwimming();
         //  Need to try jumping up one, if we can
-        if (!canJump || isWalkableSurface(target) != SurfaceType.WALKABLE)
+        if (!canJump || getSurfaceTypeAt(pos) != SurfaceType.WALKABLE)
         {
             return -1;
         }
@@ -909,15 +1104,49 @@ public abstract class AbstractPathJob implements Callable<Path>
             return true;
         }
 
-        if (parent != null)
+        return parent != null && isLiquid(parent.pos.down()) && !isPassable(pos);
+    }
+
+    /**
+     * Checks if the block at a position is a liquid.
+     *
+     * @param pos the position.
+     * @return true if so.
+     */
+    private boolean isLiquid(@NotNull final BlockPos pos)
+    {
+        if (snapshot != null)
         {
-            final IBlockState hereState = world.getBlockState(parent.pos.down());
-            if (hereState.getMaterial().isLiquid() && !isPassable(pos))
-            {
-                return true;
-            }
+            return (snapshot.getFlags(pos) & SectionSnapshot.FLAG_LIQUID) != 0;
         }
-        return false;
+        return world.getBlockState(pos).getMaterial().isLiquid();
+    }
+
+    /**
+     * Whether the job uses the default {@link #isPassable(IBlockState)} and {@link #isWalkableSurface(IBlockState)} rules.
+     * Only then the precomputed flags of the world snapshot can be used, jobs overriding the rules return false.
+     *
+     * @return true if so.
+     */
+    protected boolean usesDefaultBlockRules()
+    {
+        return true;
+    }
+
+    /**
+     * Get the surface type of the block at a position.
+     *
+     * @param pos the position.
+     * @return the surface type.
+     */
+    @NotNull
+    private SurfaceType getSurfaceTypeAt(@NotNull final BlockPos pos)
+    {
+        if (snapshot != null && usesDefaultBlockRules())
+        {
+            return SURFACE_TYPES[(snapshot.getFlags(pos) >> SectionSnapshot.SURFACE_SHIFT) & SectionSnapshot.SURFACE_MASK];
+        }
+        return isWalkableSurface(world.getBlockState(pos));
     }
 
     /**
@@ -927,6 +1156,17 @@ public abstract class AbstractPathJob implements Callable<Path>
      * @return true if the block does not block movement.
      */
     protected boolean isPassable(@NotNull final IBlockState block)
+    {
+        return isPassableBlock(block);
+    }
+
+    /**
+     * Default rule if a block state is passable.
+     *
+     * @param block the block we are checking.
+     * @return true if the block does not block movement.
+     */
+    static boolean isPassableBlock(@NotNull final IBlockState block)
     {
         if (block.getMaterial() != Material.AIR)
         {
@@ -948,6 +1188,10 @@ public abstract class AbstractPathJob implements Callable<Path>
 
     protected boolean isPassable(final BlockPos pos)
     {
+        if (snapshot != null && usesDefaultBlockRules())
+        {
+            return (snapshot.getFlags(pos) & SectionSnapshot.FLAG_PASSABLE) != 0;
+        }
         return isPassable(world.getBlockState(pos));
     }
 
@@ -959,6 +1203,18 @@ public abstract class AbstractPathJob implements Callable<Path>
      */
     @NotNull
     protected SurfaceType isWalkableSurface(@NotNull final IBlockState blockState)
+    {
+        return getSurfaceType(blockState);
+    }
+
+    /**
+     * Default rule if a block state can be stood upon.
+     *
+     * @param blockState Block to check.
+     * @return the surface type.
+     */
+    @NotNull
+    static SurfaceType getSurfaceType(@NotNull final IBlockState blockState)
     {
         final Block block = blockState.getBlock();
         if (block instanceof BlockFence
@@ -996,6 +1252,10 @@ public abstract class AbstractPathJob implements Callable<Path>
 
     protected boolean isLadder(final BlockPos pos)
     {
+        if (snapshot != null)
+        {
+            return (snapshot.getFlags(pos) & SectionSnapshot.FLAG_LADDER) != 0;
+        }
         return isLadder(world.getBlockState(pos).getBlock(), pos);
     }
 
@@ -1022,7 +1282,7 @@ public abstract class AbstractPathJob implements Callable<Path>
     /**
      * Check if we can walk on a surface, drop into, or neither.
      */
-    private enum SurfaceType
+    enum SurfaceType
     {
         WALKABLE,
         DROPABLE,
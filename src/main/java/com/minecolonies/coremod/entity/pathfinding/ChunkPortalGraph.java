@@ -0,0 +1,701 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Abstract graph of the entrances between chunks, used to plan long paths before the detailed search.
+ * <p>
+ * Every chunk column knows the standable positions on its borders which lead into a neighbour chunk (portals)
+ * and the walking distance between them inside of the chunk.
+ * The portals of a chunk are shared between the path jobs which cover the same sections of it,
+ * as long as {@link ChunkSectionRevisions} reports the sections of the chunk and its neighbours unchanged.
+ * The walking rules are simplified (no ladders, no swimming, no drops), the route is refined by the normal search afterwards.
+ */
+public final class ChunkPortalGraph
+{
+    /**
+     * Size of a chunk.
+     */
+    private static final int CHUNK_SIZE = 16;
+
+    /**
+     * Max amount of cached chunks per dimension, the least recently used are dropped beyond.
+     */
+    private static final int MAX_CACHED_CHUNKS = 4096;
+
+    /**
+     * Bits used per part of the cache key.
+     */
+    private static final int  KEY_BITS_XZ      = 26;
+    private static final int  KEY_BITS_SECTION = 4;
+    private static final long KEY_MASK_XZ      = (1L << KEY_BITS_XZ) - 1;
+    private static final long KEY_MASK_SECTION = (1L << KEY_BITS_SECTION) - 1;
+
+    /**
+     * Max amount of portals expanded by one search.
+     */
+    private static final int MAX_EXPANDED_PORTALS = 20_000;
+
+    /**
+     * Min distance between two waypoints of a route, closer portals are left to the detailed search.
+     */
+    private static final int MIN_WAYPOINT_DISTANCE = 24;
+
+    /**
+     * Distance of a position which can't be reached.
+     */
+    private static final int UNREACHABLE = -1;
+
+    /**
+     * Index of the search node of the goal.
+     */
+    private static final int GOAL_INDEX = -1;
+
+    /**
+     * Offsets of the horizontal neighbours.
+     */
+    private static final int[] DIRECTION_X = {1, -1, 0, 0};
+    private static final int[] DIRECTION_Z = {0, 0, 1, -1};
+
+    /**
+     * Computed portals by dimension, chunk and section range, in access order.
+     */
+    private static final Map<Integer, Map<Long, ChunkPortals>> portalCache = new ConcurrentHashMap<>();
+
+    /**
+     * Statistics.
+     */
+    private static final AtomicLong chunksComputed = new AtomicLong();
+    private static final AtomicLong chunksReused   = new AtomicLong();
+    private static final AtomicLong routesPlanned  = new AtomicLong();
+    private static final AtomicLong routesFailed   = new AtomicLong();
+
+    private ChunkPortalGraph()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Plan a route over the chunk portals.
+     *
+     * @param snapshot    the snapshot to plan in.
+     * @param start       the start of the path.
+     * @param destination the destination of the path.
+     * @return the waypoints of the route, the last one being the destination, or null if no route was found.
+     */
+    @Nullable
+    static List<BlockPos> findRoute(@NotNull final WorldSnapshot snapshot, @NotNull final BlockPos start, @NotNull final BlockPos destination)
+    {
+        final BlockPos goal = findStandable(snapshot, destination);
+        if (goal == null || !isStandable(snapshot, start.getX(), start.getY(), start.getZ())
+              || ((start.getX() >> 4) == (goal.getX() >> 4) && (start.getZ() >> 4) == (goal.getZ() >> 4)))
+        {
+            return null;
+        }
+
+        final Map<Long, ChunkPortals> cache = getCache(snapshot.getDimension());
+        final Map<Long, ChunkPortals> resolved = new HashMap<>();
+        final ChunkPortals startChunk = getPortals(snapshot, cache, resolved, start.getX() >> 4, start.getZ() >> 4);
+        final ChunkPortals goalChunk = getPortals(snapshot, cache, resolved, goal.getX() >> 4, goal.getZ() >> 4);
+        final int[] fromStart = startChunk.getDistances(snapshot, start);
+        final int[] toGoal = goalChunk.getDistances(snapshot, goal);
+
+        final PriorityQueue<SearchNode> open = new PriorityQueue<>();
+        final Map<Long, Integer> bestCosts = new HashMap<>();
+        for (int i = 0; i < fromStart.length; i++)
+        {
+            if (fromStart[i] != UNREACHABLE)
+            {
+                offer(open, bestCosts, null, startChunk, i, fromStart[i], goal);
+            }
+        }
+
+        int expanded = 0;
+        int goalCost = Integer.MAX_VALUE;
+        while (!open.isEmpty() && expanded < MAX_EXPANDED_PORTALS)
+        {
+            final SearchNode node = open.poll();
+            if (node.index == GOAL_INDEX)
+            {
+                routesPlanned.incrementAndGet();
+                return createWaypoints(node, start, destination);
+            }
+
+            final long pos = node.chunk.portals[node.index];
+            if (node.cost > bestCosts.get(pos))
+            {
+                continue;
+            }
+            expanded++;
+
+            if (node.chunk == goalChunk && toGoal[node.index] != UNREACHABLE && node.cost + toGoal[node.index] < goalCost)
+            {
+                goalCost = node.cost + toGoal[node.index];
+                open.offer(new SearchNode(node, node.chunk, GOAL_INDEX, goalCost, goalCost));
+            }
+
+            final int[] distances = node.chunk.distances[node.index];
+            for (int i = 0; i < distances.length; i++)
+            {
+                if (i != node.index && distances[i] != UNREACHABLE)
+                {
+                    offer(open, bestCosts, node, node.chunk, i, node.cost + distances[i], goal);
+                }
+            }
+
+            final BlockPos across = BlockPos.fromLong(node.chunk.across[node.index]);
+            final ChunkPortals neighbour = getPortals(snapshot, cache, resolved, across.getX() >> 4, across.getZ() >> 4);
+            final Integer index = neighbour.indices.get(node.chunk.across[node.index]);
+            if (index != null)
+            {
+                offer(open, bestCosts, node, neighbour, index, node.cost + 1, goal);
+            }
+        }
+
+        routesFailed.incrementAndGet();
+        return null;
+    }
+
+    private static void offer(
+                               @NotNull final PriorityQueue<SearchNode> open,
+                               @NotNull final Map<Long, Integer> bestCosts,
+                               @Nullable final SearchNode parent,
+                               @NotNull final ChunkPortals chunk,
+                               final int index,
+                               final int cost,
+                               @NotNull final BlockPos goal)
+    {
+        final long pos = chunk.portals[index];
+        final Integer bestCost = bestCosts.get(pos);
+        if (bestCost != null && bestCost <= cost)
+        {
+            return;
+        }
+        bestCosts.put(pos, cost);
+
+        final BlockPos blockPos = BlockPos.fromLong(pos);
+        final int heuristic = Math.abs(blockPos.getX() - goal.getX()) + Math.abs(blockPos.getY() - goal.getY()) + Math.abs(blockPos.getZ() - goal.getZ());
+        open.offer(new SearchNode(parent, chunk, index, cost, cost + heuristic));
+    }
+
+    /**
+     * Turn the portals of the route into waypoints which are at least {@link #MIN_WAYPOINT_DISTANCE} apart.
+     *
+     * @param goalNode    the search node of the goal.
+     * @param start       the start of the path.
+     * @param destination the destination of the path.
+     * @return the waypoints.
+     */
+    @NotNull
+    private static List<BlockPos> createWaypoints(@NotNull final SearchNode goalNode, @NotNull final BlockPos start, @NotNull final BlockPos destination)
+    {
+        final List<BlockPos> portals = new ArrayList<>();
+        for (SearchNode node = goalNode.parent; node != null; node = node.parent)
+        {
+            portals.add(BlockPos.fromLong(node.chunk.portals[node.index]));
+        }
+        Collections.reverse(portals);
+
+        final List<BlockPos> waypoints = new ArrayList<>();
+        BlockPos last = start;
+        for (final BlockPos portal : portals)
+        {
+            if (getManhattanDistance(last, portal) >= MIN_WAYPOINT_DISTANCE && getManhattanDistance(portal, destination) >= MIN_WAYPOINT_DISTANCE)
+            {
+                waypoints.add(portal);
+                last = portal;
+            }
+        }
+        waypoints.add(destination);
+        return waypoints;
+    }
+
+    private static int getManhattanDistance(@NotNull final BlockPos from, @NotNull final BlockPos to)
+    {
+        return Math.abs(from.getX() - to.getX()) + Math.abs(from.getY() - to.getY()) + Math.abs(from.getZ() - to.getZ());
+    }
+
+    @NotNull
+    private static Map<Long, ChunkPortals> getCache(final int dimension)
+    {
+        return portalCache.computeIfAbsent(dimension, dim -> Collections.synchronizedMap(new LinkedHashMap<Long, ChunkPortals>(16, 0.75F, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, ChunkPortals> eldest)
+            {
+                return size() > MAX_CACHED_CHUNKS;
+            }
+        }));
+    }
+
+    /**
+     * Get the portals of a chunk, from the cache if its sections did not change.
+     */
+    @NotNull
+    private static ChunkPortals getPortals(
+                                            @NotNull final WorldSnapshot snapshot,
+                                            @NotNull final Map<Long, ChunkPortals> cache,
+                                            @NotNull final Map<Long, ChunkPortals> resolved,
+                                            final int chunkX,
+                                            final int chunkZ)
+    {
+        final long key = getCacheKey(chunkX, chunkZ, snapshot.getMinY() >> 4, snapshot.getMaxY() >> 4);
+        ChunkPortals portals = resolved.get(key);
+        if (portals != null)
+        {
+            return portals;
+        }
+
+        portals = cache.get(key);
+        if (portals == null || !portals.isValid(snapshot))
+        {
+            portals = ChunkPortals.compute(snapshot, chunkX, chunkZ);
+            cache.put(key, portals);
+            chunksComputed.incrementAndGet();
+        }
+        else
+        {
+            chunksReused.incrementAndGet();
+        }
+
+        resolved.put(key, portals);
+        return portals;
+    }
+
+    private static long getCacheKey(final int chunkX, final int chunkZ, final int minSection, final int maxSection)
+    {
+        return (((long) chunkX & KEY_MASK_XZ) << (KEY_BITS_XZ + 2 * KEY_BITS_SECTION))
+                 | (((long) chunkZ & KEY_MASK_XZ) << (2 * KEY_BITS_SECTION))
+                 | (((long) minSection & KEY_MASK_SECTION) << KEY_BITS_SECTION)
+                 | ((long) maxSection & KEY_MASK_SECTION);
+    }
+
+    /**
+     * Get the chunk x of the chunk or of one of its 4 neighbours, -1 being the chunk itself.
+     */
+    private static int getSourceChunkX(final int chunkX, final int direction)
+    {
+        return chunkX + (direction < 0 ? 0 : DIRECTION_X[direction]);
+    }
+
+    /**
+     * Get the chunk z of the chunk or of one of its 4 neighbours, -1 being the chunk itself.
+     */
+    private static int getSourceChunkZ(final int chunkZ, final int direction)
+    {
+        return chunkZ + (direction < 0 ? 0 : DIRECTION_Z[direction]);
+    }
+
+    /**
+     * Find a standable position at or next to a block.
+     */
+    @Nullable
+    private static BlockPos findStandable(@NotNull final WorldSnapshot snapshot, @NotNull final BlockPos pos)
+    {
+        for (int dy = 0; dy >= -1; dy--)
+        {
+            if (isStandable(snapshot, pos.getX(), pos.getY() + dy, pos.getZ()))
+            {
+                return pos.add(0, dy, 0);
+            }
+
+            for (int direction = 0; direction < DIRECTION_X.length; direction++)
+            {
+                if (isStandable(snapshot, pos.getX() + DIRECTION_X[direction], pos.getY() + dy, pos.getZ() + DIRECTION_Z[direction]))
+                {
+                    return pos.add(DIRECTION_X[direction], dy, DIRECTION_Z[direction]);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check if an entity can stand at a position: feet and head passable and a walkable block below.
+     */
+    private static boolean isStandable(@NotNull final WorldSnapshot snapshot, final int x, final int y, final int z)
+    {
+        final int feet = snapshot.getFlags(x, y, z);
+        if ((feet & SectionSnapshot.FLAG_PASSABLE) == 0 || (feet & SectionSnapshot.FLAG_LIQUID) != 0)
+        {
+            return false;
+        }
+        if ((snapshot.getFlags(x, y + 1, z) & SectionSnapshot.FLAG_PASSABLE) == 0)
+        {
+            return false;
+        }
+        final int below = snapshot.getFlags(x, y - 1, z);
+        return AbstractPathJob.SURFACE_TYPES[(below >> SectionSnapshot.SURFACE_SHIFT) & SectionSnapshot.SURFACE_MASK] == AbstractPathJob.SurfaceType.WALKABLE;
+    }
+
+    /**
+     * Check if an entity can walk between two horizontally adjacent positions, at most 1 block up or down.
+     * The check is symmetric, the graph is undirected.
+     */
+    private static boolean isConnected(
+                                        @NotNull final WorldSnapshot snapshot,
+                                        final int fromX, final int fromY, final int fromZ,
+                                        final int toX, final int toY, final int toZ)
+    {
+        if (!isStandable(snapshot, fromX, fromY, fromZ) || !isStandable(snapshot, toX, toY, toZ))
+        {
+            return false;
+        }
+        if (toY > fromY)
+        {
+            return (snapshot.getFlags(fromX, fromY + 2, fromZ) & SectionSnapshot.FLAG_PASSABLE) != 0;
+        }
+        if (toY < fromY)
+        {
+            return (snapshot.getFlags(toX, toY + 2, toZ) & SectionSnapshot.FLAG_PASSABLE) != 0;
+        }
+        return true;
+    }
+
+    /**
+     * Forget the portals of a dimension, used when the world unloads.
+     *
+     * @param dimension the dimension.
+     */
+    public static void clear(final int dimension)
+    {
+        portalCache.remove(dimension);
+    }
+
+    /**
+     * Getter for the amount of chunks whose portals were computed.
+     *
+     * @return the amount.
+     */
+    public static long getChunksComputed()
+    {
+        return chunksComputed.get();
+    }
+
+    /**
+     * Getter for the amount of chunks whose portals were reused.
+     *
+     * @return the amount.
+     */
+    public static long getChunksReused()
+    {
+        return chunksReused.get();
+    }
+
+    /**
+     * Getter for the amount of planned routes.
+     *
+     * @return the amount.
+     */
+    public static long getRoutesPlanned()
+    {
+        return routesPlanned.get();
+    }
+
+    /**
+     * Getter for the amount of routes which could not be planned.
+     *
+     * @return the amount.
+     */
+    public static long getRoutesFailed()
+    {
+        return routesFailed.get();
+    }
+
+    /**
+     * Reset the statistics.
+     */
+    public static void resetStatistics()
+    {
+        chunksComputed.set(0);
+        chunksReused.set(0);
+        routesPlanned.set(0);
+        routesFailed.set(0);
+    }
+
+    /**
+     * The portals of a chunk column and the distances between them.
+     */
+    private static final class ChunkPortals
+    {
+        private final int               chunkX;
+        private final int               chunkZ;
+        private final int               minY;
+        private final int               maxY;
+        /**
+         * Which of the chunk and its neighbours were loaded, one bit each.
+         */
+        private final int               loadedMask;
+        /**
+         * The {@link ChunkSectionRevisions} sequence the sections were captured at, the oldest one.
+         */
+        private final long              sequence;
+        /**
+         * The portals, as {@link BlockPos#toLong()}.
+         */
+        private final long[]            portals;
+        /**
+         * The position in the neighbour chunk each portal leads to.
+         */
+        private final long[]            across;
+        /**
+         * Walking distance between the portals inside of the chunk, {@link #UNREACHABLE} if not connected.
+         */
+        private final int[][]           distances;
+        private final Map<Long, Integer> indices = new HashMap<>();
+
+        private ChunkPortals(
+                              final int chunkX, final int chunkZ, final int minY, final int maxY,
+                              final int loadedMask, final long sequence, @NotNull final long[] portals, @NotNull final long[] across)
+        {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.minY = minY;
+            this.maxY = maxY;
+            this.loadedMask = loadedMask;
+            this.sequence = sequence;
+            this.portals = portals;
+            this.across = across;
+            this.distances = new int[portals.length][];
+            for (int i = portals.length - 1; i >= 0; i--)
+            {
+                indices.put(portals[i], i);
+            }
+        }
+
+        /**
+         * Compute the portals of a chunk.
+         */
+        @NotNull
+        private static ChunkPortals compute(@NotNull final WorldSnapshot snapshot, final int chunkX, final int chunkZ)
+        {
+            final List<long[]> entrances = new ArrayList<>();
+            for (int direction = 0; direction < DIRECTION_X.length; direction++)
+            {
+                final int neighbourX = chunkX + DIRECTION_X[direction];
+                final int neighbourZ = chunkZ + DIRECTION_Z[direction];
+                final boolean lowSide = DIRECTION_X[direction] > 0 || DIRECTION_Z[direction] > 0;
+                for (final long[] entrance : computeBorder(snapshot, Math.min(chunkX, neighbourX), Math.min(chunkZ, neighbourZ), DIRECTION_X[direction] != 0))
+                {
+                    entrances.add(lowSide ? entrance : new long[] {entrance[1], entrance[0]});
+                }
+            }
+
+            final long[] portals = new long[entrances.size()];
+            final long[] across = new long[entrances.size()];
+            for (int i = 0; i < portals.length; i++)
+            {
+                portals[i] = entrances.get(i)[0];
+                across[i] = entrances.get(i)[1];
+            }
+
+            //  The border scans read every section of the chunk and the borders of its neighbours, so they are all captured by now.
+            int loadedMask = 0;
+            long sequence = Long.MAX_VALUE;
+            for (int direction = -1; direction < DIRECTION_X.length; direction++)
+            {
+                final int x = getSourceChunkX(chunkX, direction);
+                final int z = getSourceChunkZ(chunkZ, direction);
+                if (!snapshot.isChunkLoaded(x, z))
+                {
+                    continue;
+                }
+                loadedMask |= 1 << (direction + 1);
+                for (int y = snapshot.getMinY(); y <= snapshot.getMaxY(); y += CHUNK_SIZE)
+                {
+                    sequence = Math.min(sequence, snapshot.getSection(x * CHUNK_SIZE, y, z * CHUNK_SIZE).getSequence());
+                }
+            }
+
+            final ChunkPortals result = new ChunkPortals(chunkX, chunkZ, snapshot.getMinY(), snapshot.getMaxY(), loadedMask, sequence, portals, across);
+            for (int i = 0; i < portals.length; i++)
+            {
+                result.distances[i] = result.getDistances(snapshot, BlockPos.fromLong(portals[i]));
+            }
+            return result;
+        }
+
+        /**
+         * Compute the entrances on the border between a chunk and its east or south neighbour.
+         * Both chunks compute the same entrances, one per run of connected border positions.
+         *
+         * @return pairs of positions, the first in the low chunk and the second in the high chunk.
+         */
+        @NotNull
+        private static List<long[]> computeBorder(@NotNull final WorldSnapshot snapshot, final int lowChunkX, final int lowChunkZ, final boolean alongX)
+        {
+            final List<long[]> entrances = new ArrayList<>();
+            final int lowX = alongX ? (lowChunkX * CHUNK_SIZE + CHUNK_SIZE - 1) : lowChunkX * CHUNK_SIZE;
+            final int lowZ = alongX ? lowChunkZ * CHUNK_SIZE : (lowChunkZ * CHUNK_SIZE + CHUNK_SIZE - 1);
+            final int stepX = alongX ? 0 : 1;
+            final int stepZ = alongX ? 1 : 0;
+            final int highX = lowX + (alongX ? 1 : 0);
+            final int highZ = lowZ + (alongX ? 0 : 1);
+
+            for (int y = snapshot.getMinY() + 1; y < snapshot.getMaxY(); y++)
+            {
+                for (int dy = -1; dy <= 1; dy++)
+                {
+                    int runStart = UNREACHABLE;
+                    for (int i = 0; i <= CHUNK_SIZE; i++)
+                    {
+                        final boolean connected = i < CHUNK_SIZE
+                                                    && isConnected(snapshot, lowX + i * stepX, y, lowZ + i * stepZ, highX + i * stepX, y + dy, highZ + i * stepZ);
+                        if (connected && runStart == UNREACHABLE)
+                        {
+                            runStart = i;
+                        }
+                        else if (!connected && runStart != UNREACHABLE)
+                        {
+                            final int middle = (runStart + i - 1) / 2;
+                            entrances.add(new long[] {
+                              new BlockPos(lowX + middle * stepX, y, lowZ + middle * stepZ).toLong(),
+                              new BlockPos(highX + middle * stepX, y + dy, highZ + middle * stepZ).toLong()});
+                            runStart = UNREACHABLE;
+                        }
+                    }
+                }
+            }
+            return entrances;
+        }
+
+        /**
+         * Check if the portals are still valid for a snapshot covering the same sections:
+         * the same chunks are loaded and none of their sections changed since the capture.
+         */
+        private boolean isValid(@NotNull final WorldSnapshot snapshot)
+        {
+            for (int direction = -1; direction < DIRECTION_X.length; direction++)
+            {
+                final int x = getSourceChunkX(chunkX, direction);
+                final int z = getSourceChunkZ(chunkZ, direction);
+                final boolean loaded = (loadedMask & (1 << (direction + 1))) != 0;
+                if (loaded != snapshot.isChunkLoaded(x, z))
+                {
+                    return false;
+                }
+                if (!loaded)
+                {
+                    continue;
+                }
+
+                for (int y = minY; y <= maxY; y += CHUNK_SIZE)
+                {
+                    final long sectionKey = ChunkSectionRevisions.getSectionKey(x * CHUNK_SIZE, y, z * CHUNK_SIZE);
+                    if (!ChunkSectionRevisions.isUnchangedSince(snapshot.getDimension(), sectionKey, sequence))
+                    {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Breadth first search inside of the chunk to get the walking distance from a position to each portal.
+         *
+         * @param snapshot the snapshot.
+         * @param origin   the position, inside of the chunk.
+         * @return the distance per portal, {@link #UNREACHABLE} if not connected.
+         */
+        @NotNull
+        private int[] getDistances(@NotNull final WorldSnapshot snapshot, @NotNull final BlockPos origin)
+        {
+            final int baseX = chunkX * CHUNK_SIZE;
+            final int baseZ = chunkZ * CHUNK_SIZE;
+            final int height = maxY - minY + 1;
+            final int[] result = new int[portals.length];
+            if (origin.getY() < minY || origin.getY() > maxY)
+            {
+                Arrays.fill(result, UNREACHABLE);
+                return result;
+            }
+
+            final int[] visited = new int[CHUNK_SIZE * CHUNK_SIZE * height];
+            Arrays.fill(visited, UNREACHABLE);
+            final int[] queue = new int[visited.length];
+
+            int head = 0;
+            int tail = 0;
+            final int originIndex = getIndex(origin.getX() - baseX, origin.getY() - minY, origin.getZ() - baseZ);
+            visited[originIndex] = 0;
+            queue[tail++] = originIndex;
+
+            while (head < tail)
+            {
+                final int index = queue[head++];
+                final int x = index % CHUNK_SIZE;
+                final int z = (index / CHUNK_SIZE) % CHUNK_SIZE;
+                final int y = index / (CHUNK_SIZE * CHUNK_SIZE);
+
+                for (int direction = 0; direction < DIRECTION_X.length; direction++)
+                {
+                    final int nextX = x + DIRECTION_X[direction];
+                    final int nextZ = z + DIRECTION_Z[direction];
+                    if (nextX < 0 || nextX >= CHUNK_SIZE || nextZ < 0 || nextZ >= CHUNK_SIZE)
+                    {
+                        continue;
+                    }
+
+                    for (int nextY = Math.max(0, y - 1); nextY <= Math.min(height - 1, y + 1); nextY++)
+                    {
+                        final int nextIndex = getIndex(nextX, nextY, nextZ);
+                        if (visited[nextIndex] == UNREACHABLE
+                              && isConnected(snapshot, baseX + x, minY + y, baseZ + z, baseX + nextX, minY + nextY, baseZ + nextZ))
+                        {
+                            visited[nextIndex] = visited[index] + 1;
+                            queue[tail++] = nextIndex;
+                        }
+                    }
+                }
+            }
+
+            for (int i = 0; i < portals.length; i++)
+            {
+                final BlockPos portal = BlockPos.fromLong(portals[i]);
+                result[i] = visited[getIndex(portal.getX() - baseX, portal.getY() - minY, portal.getZ() - baseZ)];
+            }
+            return result;
+        }
+
+        private static int getIndex(final int x, final int y, final int z)
+        {
+            return (y * CHUNK_SIZE + z) * CHUNK_SIZE + x;
+        }
+    }
+
+    /**
+     * Node of the search over the portals.
+     */
+    private static final class SearchNode implements Comparable<SearchNode>
+    {
+        @Nullable
+        private final SearchNode   parent;
+        @NotNull
+        private final ChunkPortals chunk;
+        private final int          index;
+        private final int          cost;
+        private final int          score;
+
+        private SearchNode(@Nullable final SearchNode parent, @NotNull final ChunkPortals chunk, final int index, final int cost, final int score)
+        {
+            this.parent = parent;
+            this.chunk = chunk;
+            this.index = index;
+            this.cost = cost;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(@NotNull final SearchNode other)
+        {
+            return Integer.compare(score, other.score);
+        }
+    }
+}
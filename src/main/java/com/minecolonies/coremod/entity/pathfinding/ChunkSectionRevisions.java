@@ -0,0 +1,167 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks when each 16x16x16 chunk section of the loaded worlds changed last.
+ * Every block change increases a global sequence number and stores it for the section of the block,
+ * data derived from the world at sequence S is still valid for a section if the section did not change after S.
+ * <p>
+ * The amount of tracked sections per dimension is bounded, the oldest revisions are dropped and replaced by a floor:
+ * a section which is not tracked counts as changed at the floor, so data older than it is never taken for valid.
+ */
+public final class ChunkSectionRevisions
+{
+    /**
+     * Bits used per coordinate of the section key.
+     */
+    private static final int SECTION_SHIFT = 4;
+    private static final int KEY_BITS_XZ   = 26;
+    private static final int KEY_BITS_Y    = 12;
+    private static final long KEY_MASK_XZ  = (1L << KEY_BITS_XZ) - 1;
+    private static final long KEY_MASK_Y   = (1L << KEY_BITS_Y) - 1;
+
+    /**
+     * Max amount of tracked sections per dimension, pruning keeps at most half of them.
+     */
+    private static final int MAX_SECTIONS = 1 << 16;
+
+    /**
+     * The global change sequence.
+     */
+    private static final AtomicLong sequence = new AtomicLong(0);
+
+    /**
+     * Last change sequence of each section, by dimension.
+     */
+    private static final Map<Integer, Revisions> lastChanges = new ConcurrentHashMap<>();
+
+    private ChunkSectionRevisions()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Compute the key of the section containing a block.
+     *
+     * @param x the block x.
+     * @param y the block y.
+     * @param z the block z.
+     * @return the section key.
+     */
+    public static long getSectionKey(final int x, final int y, final int z)
+    {
+        return (((long) (x >> SECTION_SHIFT) & KEY_MASK_XZ) << (KEY_BITS_XZ + KEY_BITS_Y))
+                 | (((long) (z >> SECTION_SHIFT) & KEY_MASK_XZ) << KEY_BITS_Y)
+                 | ((long) (y >> SECTION_SHIFT) & KEY_MASK_Y);
+    }
+
+    /**
+     * Compute the key of the section containing a block.
+     *
+     * @param pos the block.
+     * @return the section key.
+     */
+    public static long getSectionKey(@NotNull final BlockPos pos)
+    {
+        return getSectionKey(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * Get the current sequence number, to be remembered by data derived from the world now.
+     *
+     * @return the sequence.
+     */
+    public static long getSequence()
+    {
+        return sequence.get();
+    }
+
+    /**
+     * Notify that a block changed.
+     *
+     * @param world the world of the block.
+     * @param pos   the position of the block.
+     */
+    public static void markChanged(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        final Revisions revisions = lastChanges.computeIfAbsent(world.provider.getDimension(), dim -> new Revisions());
+        revisions.sections.put(getSectionKey(pos), sequence.incrementAndGet());
+        if (revisions.sections.size() > MAX_SECTIONS)
+        {
+            revisions.prune(sequence.get() - MAX_SECTIONS / 2);
+        }
+    }
+
+    /**
+     * Get the sequence number of the last change of a section.
+     *
+     * @param dimension  the dimension.
+     * @param sectionKey the section key.
+     * @return the sequence, 0 if it never changed, the floor if it is not tracked anymore.
+     */
+    public static long getLastChange(final int dimension, final long sectionKey)
+    {
+        final Revisions revisions = lastChanges.get(dimension);
+        if (revisions == null)
+        {
+            return 0;
+        }
+        final Long lastChange = revisions.sections.get(sectionKey);
+        return lastChange == null ? revisions.floor : lastChange;
+    }
+
+    /**
+     * Check if a section did not change after a certain sequence.
+     *
+     * @param dimension  the dimension.
+     * @param sectionKey the section key.
+     * @param since      the sequence.
+     * @return true if unchanged.
+     */
+    public static boolean isUnchangedSince(final int dimension, final long sectionKey, final long since)
+    {
+        return getLastChange(dimension, sectionKey) <= since;
+    }
+
+    /**
+     * Forget all revisions of a dimension, used when the world unloads.
+     *
+     * @param dimension the dimension.
+     */
+    public static void clear(final int dimension)
+    {
+        lastChanges.remove(dimension);
+    }
+
+    /**
+     * The revisions of the sections of one dimension.
+     */
+    private static final class Revisions
+    {
+        private final Map<Long, Long> sections = new ConcurrentHashMap<>();
+        private volatile long         floor    = 0;
+
+        /**
+         * Drop the revisions up to a sequence.
+         * The floor is raised first, so a concurrent reader never takes a dropped section for unchanged.
+         *
+         * @param cutoff the sequence.
+         */
+        private synchronized void prune(final long cutoff)
+        {
+            if (cutoff <= floor)
+            {
+                return;
+            }
+            floor = cutoff;
+            sections.values().removeIf(lastChange -> lastChange <= cutoff);
+        }
+    }
+}
@@ -20,12 +20,17 @@ public class Node implements Comparable<Node>
      * The position of the node.
      */
     @NotNull
-    public final BlockPos pos;
+    public BlockPos pos;
 
     /**
      * The hash of the node.
      */
-    private final int hash;
+    private int hash;
+
+    /**
+     * Index of the node in the {@link NodeHeap}, -1 if not queued.
+     */
+    private int heapIndex = -1;
 
     /**
      * The parent of the node (Node preceding this node).
@@ -102,6 +107,20 @@ public class Node implements Comparable<Node>
      * @param score     node total score.
      */
     public Node(@Nullable final Node parent, @NotNull final BlockPos pos, final double cost, final double heuristic, final double score)
+    {
+        reset(parent, pos, cost, heuristic, score);
+    }
+
+    /**
+     * Reinitialize a recycled node, as if it was freshly constructed.
+     *
+     * @param parent    parent node arrives from.
+     * @param pos       coordinate of node.
+     * @param cost      node cost.
+     * @param heuristic heuristic estimate.
+     * @param score     node total score.
+     */
+    void reset(@Nullable final Node parent, @NotNull final BlockPos pos, final double cost, final double heuristic, final double score)
     {
         this.parent = parent;
         this.pos = pos;
@@ -110,6 +129,12 @@ public class Node implements Comparable<Node>
         this.heuristic = heuristic;
         this.score = score;
         this.hash = pos.getX() ^ ((pos.getZ() << HASH_A) | (pos.getZ() >> HASH_B)) ^ (pos.getY() << HASH_C);
+        this.heapIndex = -1;
+        this.counterAdded = 0;
+        this.counterVisited = 0;
+        this.closed = false;
+        this.ladder = false;
+        this.swimming = false;
     }
 
     @Override
@@ -333,4 +358,24 @@ public class Node implements Comparable<Node>
     {
         this.counterAdded = counterAdded;
     }
+
+    /**
+     * Getter of the index of the node in the open heap.
+     *
+     * @return the index or -1 if not queued.
+     */
+    int getHeapIndex()
+    {
+        return heapIndex;
+    }
+
+    /**
+     * Sets the index of the node in the open heap.
+     *
+     * @param heapIndex the index or -1 if removed.
+     */
+    void setHeapIndex(final int heapIndex)
+    {
+        this.heapIndex = heapIndex;
+    }
 }
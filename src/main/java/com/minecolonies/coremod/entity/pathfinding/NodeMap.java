@@ -0,0 +1,147 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Open addressing hash map from primitive int node keys to nodes.
+ * Avoids boxing the keys and allocating an entry per node like a {@link java.util.HashMap} would.
+ */
+public class NodeMap
+{
+    /**
+     * Initial capacity, must be a power of two.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Grow the table when it is filled more than 1/2.
+     */
+    private static final int LOAD_FACTOR_SHIFT = 1;
+
+    /**
+     * Multiplier used to scramble the keys (golden ratio).
+     */
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    /**
+     * The keys of the table.
+     */
+    private int[] keys;
+
+    /**
+     * The values of the table, null marks a free slot.
+     */
+    private Node[] values;
+
+    /**
+     * Amount of stored nodes.
+     */
+    private int size = 0;
+
+    /**
+     * Create an empty map with default capacity.
+     */
+    public NodeMap()
+    {
+        keys = new int[DEFAULT_CAPACITY];
+        values = new Node[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Get the node stored for a key.
+     *
+     * @param key the node key.
+     * @return the node or null.
+     */
+    @Nullable
+    public Node get(final int key)
+    {
+        final int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (values[index] != null)
+        {
+            if (keys[index] == key)
+            {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Store a node for a key, replacing an existing mapping.
+     *
+     * @param key  the node key.
+     * @param node the node.
+     */
+    public void put(final int key, @NotNull final Node node)
+    {
+        if ((size + 1) > (keys.length >> LOAD_FACTOR_SHIFT))
+        {
+            grow();
+        }
+
+        final int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (values[index] != null)
+        {
+            if (keys[index] == key)
+            {
+                values[index] = node;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = node;
+        size++;
+    }
+
+    /**
+     * Getter for the amount of stored nodes.
+     *
+     * @return the size.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Remove all mappings, keeping the capacity.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = null;
+        }
+        size = 0;
+    }
+
+    private void grow()
+    {
+        final int[] oldKeys = keys;
+        final Node[] oldValues = values;
+        keys = new int[oldKeys.length << 1];
+        values = new Node[oldValues.length << 1];
+        size = 0;
+
+        for (int i = 0; i < oldValues.length; i++)
+        {
+            if (oldValues[i] != null)
+            {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int mix(final int key)
+    {
+        final int hash = key * HASH_MULTIPLIER;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,128 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per thread arena of recycled nodes.
+ * A path job obtains all its nodes from the arena of its worker thread and releases them at once when it is done,
+ * the next job on the same thread then reuses the same node objects.
+ */
+public final class NodePool
+{
+    /**
+     * Nodes kept beyond this amount are dropped on release, to not hold on to memory of exceptional searches.
+     */
+    private static final int MAX_RETAINED_NODES = 50_000;
+
+    /**
+     * The arena of the current thread.
+     */
+    private static final ThreadLocal<NodePool> POOLS = ThreadLocal.withInitial(NodePool::new);
+
+    /**
+     * The nodes of the arena.
+     */
+    private final List<Node> nodes = new ArrayList<>();
+
+    /**
+     * Index of the next free node.
+     */
+    private int used = 0;
+
+    /**
+     * Amount of nodes which had to be allocated (statistics).
+     */
+    private long allocated = 0;
+
+    /**
+     * Amount of nodes which were recycled (statistics).
+     */
+    private long recycled = 0;
+
+    private NodePool()
+    {
+        //Use NodePool.get().
+    }
+
+    /**
+     * Get the arena of the current thread.
+     *
+     * @return the pool.
+     */
+    @NotNull
+    public static NodePool get()
+    {
+        return POOLS.get();
+    }
+
+    /**
+     * Obtain a node from the arena.
+     *
+     * @param parent    parent node arrives from.
+     * @param pos       coordinate of node.
+     * @param cost      node cost.
+     * @param heuristic heuristic estimate.
+     * @param score     node total score.
+     * @return an initialized node.
+     */
+    @NotNull
+    public Node obtain(@Nullable final Node parent, @NotNull final BlockPos pos, final double cost, final double heuristic, final double score)
+    {
+        if (used < nodes.size())
+        {
+            final Node node = nodes.get(used++);
+            node.reset(parent, pos, cost, heuristic, score);
+            recycled++;
+            return node;
+        }
+
+        final Node node = new Node(parent, pos, cost, heuristic, score);
+        nodes.add(node);
+        used++;
+        allocated++;
+        return node;
+    }
+
+    /**
+     * Release all nodes handed out since the last release.
+     * Nodes must not be used anymore afterwards.
+     */
+    public void releaseAll()
+    {
+        for (int i = 0; i < used; i++)
+        {
+            nodes.get(i).parent = null;
+        }
+
+        if (nodes.size() > MAX_RETAINED_NODES)
+        {
+            nodes.subList(MAX_RETAINED_NODES, nodes.size()).clear();
+        }
+        used = 0;
+    }
+
+    /**
+     * Getter for the amount of nodes allocated by this arena.
+     *
+     * @return the amount.
+     */
+    public long getAllocated()
+    {
+        return allocated;
+    }
+
+    /**
+     * Getter for the amount of nodes recycled by this arena.
+     *
+     * @return the amount.
+     */
+    public long getRecycled()
+    {
+        return recycled;
+    }
+}
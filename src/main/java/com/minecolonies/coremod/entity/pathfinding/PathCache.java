@@ -0,0 +1,260 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.pathfinding.Path;
+import net.minecraft.pathfinding.PathPoint;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Colony scoped cache of computed paths.
+ * Entries are invalidated as soon as one of the chunk sections the path crosses changed, see {@link ChunkSectionRevisions}.
+ */
+public class PathCache
+{
+    /**
+     * Max amount of cached paths per colony.
+     */
+    private static final int MAX_ENTRIES = 256;
+
+    /**
+     * The cached paths, in access order.
+     */
+    private final Map<Key, Entry> entries = new LinkedHashMap<Key, Entry>(MAX_ENTRIES, 0.75F, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, Entry> eldest)
+        {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Statistics.
+     */
+    private long hits          = 0;
+    private long misses        = 0;
+    private long invalidations = 0;
+
+    /**
+     * Create the key of a path job.
+     *
+     * @param job         the job.
+     * @param destination the destination of the job.
+     * @return the key.
+     */
+    @NotNull
+    public static Key createKey(@NotNull final AbstractPathJob job, @NotNull final BlockPos destination)
+    {
+        return createKey(job.start, destination, job.getClass(), job.isAllowedSwimming(), job.isLadder(job.start));
+    }
+
+    /**
+     * Create the key of a path job before creating the job, so a cache hit doesn't capture the world.
+     *
+     * @param start         the start of the job.
+     * @param destination   the destination of the job.
+     * @param jobType       the class of the job.
+     * @param allowSwimming if the job may swim.
+     * @param startOnLadder if the start is a ladder.
+     * @return the key.
+     */
+    @NotNull
+    public static Key createKey(
+                                 @NotNull final BlockPos start,
+                                 @NotNull final BlockPos destination,
+                                 @NotNull final Class<?> jobType,
+                                 final boolean allowSwimming,
+                                 final boolean startOnLadder)
+    {
+        return new Key(start, destination, jobType, allowSwimming, startOnLadder);
+    }
+
+    /**
+     * Get a path from the cache.
+     *
+     * @param dimension the dimension the path is in.
+     * @param key       the key of the path.
+     * @return a fresh path, or null if there is no valid entry.
+     */
+    @Nullable
+    public Path get(final int dimension, @NotNull final Key key)
+    {
+        final Entry entry = entries.get(key);
+        if (entry == null)
+        {
+            misses++;
+            return null;
+        }
+
+        for (final long sectionKey : entry.sections)
+        {
+            if (!ChunkSectionRevisions.isUnchangedSince(dimension, sectionKey, entry.sequence))
+            {
+                entries.remove(key);
+                invalidations++;
+                misses++;
+                return null;
+            }
+        }
+
+        hits++;
+        return new Path(entry.points.clone());
+    }
+
+    /**
+     * Store a computed path.
+     *
+     * @param key      the key of the path.
+     * @param path     the path, only the points are kept.
+     * @param sequence the {@link ChunkSectionRevisions} sequence at the time the path job was created.
+     */
+    public void put(@NotNull final Key key, @NotNull final Path path, final long sequence)
+    {
+        final int length = path.getCurrentPathLength();
+        if (length == 0)
+        {
+            return;
+        }
+
+        final PathPoint[] points = new PathPoint[length];
+        final Set<Long> sections = new HashSet<>();
+        for (int i = 0; i < length; i++)
+        {
+            final PathPoint point = path.getPathPointFromIndex(i);
+            points[i] = point;
+            //  The block below (walked on) and the head block may be in the neighbour section.
+            sections.add(ChunkSectionRevisions.getSectionKey(point.xCoord, point.yCoord - 1, point.zCoord));
+            sections.add(ChunkSectionRevisions.getSectionKey(point.xCoord, point.yCoord, point.zCoord));
+            sections.add(ChunkSectionRevisions.getSectionKey(point.xCoord, point.yCoord + 1, point.zCoord));
+        }
+
+        final long[] sectionKeys = new long[sections.size()];
+        int i = 0;
+        for (final long section : sections)
+        {
+            sectionKeys[i++] = section;
+        }
+
+        entries.put(key, new Entry(points, sectionKeys, sequence));
+    }
+
+    /**
+     * Remove all cached paths.
+     */
+    public void clear()
+    {
+        entries.clear();
+    }
+
+    /**
+     * Getter for the amount of cache hits.
+     *
+     * @return the amount.
+     */
+    public long getHits()
+    {
+        return hits;
+    }
+
+    /**
+     * Getter for the amount of cache misses.
+     *
+     * @return the amount.
+     */
+    public long getMisses()
+    {
+        return misses;
+    }
+
+    /**
+     * Getter for the amount of invalidated paths.
+     *
+     * @return the amount.
+     */
+    public long getInvalidations()
+    {
+        return invalidations;
+    }
+
+    /**
+     * Getter for the amount of cached paths.
+     *
+     * @return the amount.
+     */
+    public int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Key of a cached path.
+     */
+    public static final class Key
+    {
+        private final BlockPos start;
+        private final BlockPos destination;
+        private final Class<?> jobType;
+        private final boolean  allowSwimming;
+        private final boolean  startOnLadder;
+
+        private Key(
+                     @NotNull final BlockPos start,
+                     @NotNull final BlockPos destination,
+                     @NotNull final Class<?> jobType,
+                     final boolean allowSwimming,
+                     final boolean startOnLadder)
+        {
+            this.start = start;
+            this.destination = destination;
+            this.jobType = jobType;
+            this.allowSwimming = allowSwimming;
+            this.startOnLadder = startOnLadder;
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+
+            final Key key = (Key) o;
+            return allowSwimming == key.allowSwimming
+                     && startOnLadder == key.startOnLadder
+                     && start.equals(key.start)
+                     && destination.equals(key.destination)
+                     && jobType.equals(key.jobType);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(start, destination, jobType, allowSwimming, startOnLadder);
+        }
+    }
+
+    /**
+     * A cached path with the sections it depends on.
+     */
+    private static final class Entry
+    {
+        private final PathPoint[] points;
+        private final long[]      sections;
+        private final long        sequence;
+
+        private Entry(@NotNull final PathPoint[] points, @NotNull final long[] sections, final long sequence)
+        {
+            this.points = points;
+            this.sections = sections;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -117,6 +117,12 @@ public class PathJobFindTree extends AbstractPathJob
         return 0;
     }
 
+    @Override
+    protected boolean usesDefaultBlockRules()
+    {
+        return false;
+    }
+
     @Override
     protected boolean isPassable(@NotNull final IBlockState block)
     {
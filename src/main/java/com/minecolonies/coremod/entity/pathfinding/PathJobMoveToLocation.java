@@ -1,13 +1,18 @@
 package com.minecolonies.coremod.entity.pathfinding;
 
 import com.minecolonies.api.configuration.Configurations;
+import com.minecolonies.api.util.BlockPosUtil;
 import com.minecolonies.api.util.Log;
 import net.minecraft.pathfinding.Path;
+import net.minecraft.pathfinding.PathPoint;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Job that handles moving to a location.
  */
@@ -17,10 +22,18 @@ public class PathJobMoveToLocation extends AbstractPathJob
     // 1^2 + 1^2 + 1^2 + (epsilon of 0.1F)
     private static final float  DESTINATION_SLACK_ADJACENT = 3.1F;
     private static final double TIE_BREAKER                = 1.001D;
+    /**
+     * Search range of the segments of a hierarchical path.
+     */
+    private static final int    SEGMENT_RANGE              = 64;
     @NotNull
     private final BlockPos destination;
     // 0 = exact match
     private float destinationSlack = DESTINATION_SLACK_NONE;
+    /**
+     * True if long paths of this job may be planned over the chunk portals first.
+     */
+    private final boolean hierarchical;
 
     /**
      * Prepares the PathJob for the path finding system.
@@ -35,6 +48,23 @@ public class PathJobMoveToLocation extends AbstractPathJob
         super(world, start, end, range);
 
         this.destination = new BlockPos(end);
+        this.hierarchical = true;
+    }
+
+    /**
+     * Prepares a segment of a hierarchical path, reading the snapshot of the parent job.
+     *
+     * @param snapshot the snapshot of the parent job.
+     * @param start    starting location.
+     * @param end      target location.
+     * @param range    max search range.
+     */
+    private PathJobMoveToLocation(@NotNull final WorldSnapshot snapshot, @NotNull final BlockPos start, @NotNull final BlockPos end, final int range)
+    {
+        super(snapshot, start, range, new PathResult());
+
+        this.destination = new BlockPos(end);
+        this.hierarchical = false;
     }
 
     /**
@@ -58,9 +88,65 @@ public class PathJobMoveToLocation extends AbstractPathJob
             destinationSlack = DESTINATION_SLACK_ADJACENT;
         }
 
+        final Path hierarchicalPath = searchHierarchical();
+        if (hierarchicalPath != null)
+        {
+            return hierarchicalPath;
+        }
+
         return super.search();
     }
 
+    /**
+     * Plan a long path over the chunk portals, then search the segments between the waypoints.
+     *
+     * @return the path, or null if the path is short or couldn't be planned, the normal search is used then.
+     */
+    @Nullable
+    private Path searchHierarchical()
+    {
+        final WorldSnapshot snapshot = getSnapshot();
+        final int minDistance = Configurations.pathfinding.pathfindingHierarchicalMinDistance;
+        if (!hierarchical || snapshot == null || !Configurations.pathfinding.pathfindingHierarchical
+              || BlockPosUtil.getDistanceSquared(start, destination) < minDistance * minDistance)
+        {
+            return null;
+        }
+
+        final List<BlockPos> waypoints = ChunkPortalGraph.findRoute(snapshot, start, destination);
+        if (waypoints == null)
+        {
+            return null;
+        }
+
+        final List<PathPoint> points = new ArrayList<>();
+        BlockPos segmentStart = start;
+        for (final BlockPos waypoint : waypoints)
+        {
+            if (Thread.currentThread().isInterrupted())
+            {
+                return null;
+            }
+
+            final PathJobMoveToLocation segment = new PathJobMoveToLocation(snapshot, segmentStart, waypoint, SEGMENT_RANGE);
+            //  The time of the segments is part of the time of this job.
+            final Path path = segment.callUnprofiled();
+            if (path == null || !segment.getResult().getPathReachesDestination())
+            {
+                return null;
+            }
+
+            for (int i = 0; i < path.getCurrentPathLength(); i++)
+            {
+                points.add(path.getPathPointFromIndex(i));
+            }
+            segmentStart = waypoint;
+        }
+
+        result.setPathReachesDestination(true);
+        return new Path(points.toArray(new PathPoint[points.size()]));
+    }
+
     @Override
     protected double computeHeuristic(@NotNull final BlockPos pos)
     {
@@ -0,0 +1,27 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+/**
+ * Priority classes of path jobs, in the order they are computed.
+ */
+public enum PathJobPriority
+{
+    /**
+     * Guards fighting and entities with an attack target.
+     */
+    COMBAT,
+
+    /**
+     * Short paths and paths close to a player, where delays are visible.
+     */
+    NEAR,
+
+    /**
+     * Regular work paths.
+     */
+    WORK,
+
+    /**
+     * Idle wandering, computed when nothing else is waiting.
+     */
+    IDLE
+}
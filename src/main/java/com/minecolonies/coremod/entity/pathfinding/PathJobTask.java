@@ -0,0 +1,140 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.pathfinding.Path;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A queued path job, ordered by priority class, then by estimated length, then by submission order.
+ */
+public class PathJobTask extends FutureTask<Path> implements Comparable<PathJobTask>
+{
+    /**
+     * Submission order, used as tie breaker.
+     */
+    private static final AtomicLong submissionCounter = new AtomicLong();
+
+    /**
+     * The job to compute.
+     */
+    private final AbstractPathJob job;
+
+    /**
+     * The priority class.
+     */
+    private final PathJobPriority priority;
+
+    /**
+     * The id of the entity owning the job, -1 if none.
+     */
+    private final int ownerId;
+
+    /**
+     * Estimated length of the path, shorter paths are computed first.
+     */
+    private final long estimatedLength;
+
+    /**
+     * Submission order.
+     */
+    private final long order;
+
+    /**
+     * Time of submission, in nanoseconds.
+     */
+    private final long submitTime;
+
+    /**
+     * Create a task for a job.
+     *
+     * @param job             the job.
+     * @param priority        the priority class.
+     * @param ownerId         the id of the entity owning the job, or -1.
+     * @param estimatedLength the estimated length.
+     */
+    public PathJobTask(@NotNull final AbstractPathJob job, @NotNull final PathJobPriority priority, final int ownerId, final long estimatedLength)
+    {
+        super(job);
+        this.job = job;
+        this.priority = priority;
+        this.ownerId = ownerId;
+        this.estimatedLength = estimatedLength;
+        this.order = submissionCounter.incrementAndGet();
+        this.submitTime = System.nanoTime();
+    }
+
+    @Override
+    public void run()
+    {
+        if (isDone())
+        {
+            return;
+        }
+
+        final long startTime = System.nanoTime();
+        super.run();
+        PathfindingStatistics.recordJob(job.getClass(), priority, startTime - submitTime, System.nanoTime() - startTime);
+    }
+
+    @Override
+    protected void done()
+    {
+        Pathfinding.onTaskDone(this);
+    }
+
+    /**
+     * Complete the task without computing it, waiting futures receive no path.
+     */
+    public void discard()
+    {
+        set(null);
+    }
+
+    @Override
+    public int compareTo(@NotNull final PathJobTask other)
+    {
+        if (priority != other.priority)
+        {
+            return priority.compareTo(other.priority);
+        }
+
+        if (estimatedLength != other.estimatedLength)
+        {
+            return estimatedLength < other.estimatedLength ? -1 : 1;
+        }
+
+        return Long.compare(order, other.order);
+    }
+
+    /**
+     * Getter for the priority class.
+     *
+     * @return the priority.
+     */
+    public PathJobPriority getPriority()
+    {
+        return priority;
+    }
+
+    /**
+     * Getter for the id of the owning entity.
+     *
+     * @return the id or -1.
+     */
+    public int getOwnerId()
+    {
+        return ownerId;
+    }
+
+    /**
+     * Getter for the job.
+     *
+     * @return the job.
+     */
+    public AbstractPathJob getJob()
+    {
+        return job;
+    }
+}
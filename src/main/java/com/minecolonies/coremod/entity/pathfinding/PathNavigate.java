@@ -6,6 +6,8 @@ import com.minecolonies.api.util.CompatibilityUtils;
 import com.minecolonies.api.util.Log;
 import com.minecolonies.coremod.entity.EntityCitizen;
 import com.minecolonies.coremod.entity.ai.item.handling.ItemStorage;
+import com.minecolonies.coremod.entity.ai.mobs.barbarians.AbstractEntityBarbarian;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.pathfinding.*;
@@ -29,6 +31,16 @@ public class PathNavigate extends PathNavigateGround
 {
     private static final double ON_PATH_SPEED_MULTIPLIER    = 1.3D;
 
+    /**
+     * Paths shorter than this (squared) are prioritized.
+     */
+    private static final long   SHORT_PATH_SQ_LENGTH        = 16 * 16;
+
+    /**
+     * Paths of entities this close to a player are prioritized.
+     */
+    private static final double NEAR_PLAYER_RANGE           = 32D;
+
     //  Parent class private members
     private final EntityLiving entity;
 
@@ -43,6 +55,13 @@ public class PathNavigate extends PathNavigateGround
     @Nullable
     private PathResult   pathResult;
 
+    /**
+     * Cache key and revision sequence of the running job, if its result should be cached.
+     */
+    @Nullable
+    private PathCache.Key pendingCacheKey;
+    private long          pendingCacheSequence;
+
     /**
      * Instantiates the navigation of an entity.
      *
@@ -153,12 +172,77 @@ public class PathNavigate extends PathNavigateGround
             return pathResult;
         }
 
+        final World entityWorld = CompatibilityUtils.getWorld(entity);
         @NotNull final BlockPos start = AbstractPathJob.prepareStart(entity);
         @NotNull final BlockPos dest = new BlockPos(newX, newY, newZ);
 
-        return setPathJob(
-          new PathJobMoveToLocation(CompatibilityUtils.getWorld(entity), start, dest, (int) getPathSearchRange()),
-          dest, speed);
+        final PathCache cache = getPathCache();
+        if (cache == null)
+        {
+            return setPathJob(new PathJobMoveToLocation(entityWorld, start, dest, (int) getPathSearchRange()), dest, speed);
+        }
+
+        //  The job is only created on a miss, it captures the world around the path.
+        final IBlockState startState = entityWorld.getBlockState(start);
+        final PathCache.Key key = PathCache.createKey(start, dest, PathJobMoveToLocation.class, true,
+          startState.getBlock().isLadder(startState, entityWorld, start, null));
+        final Path cachedPath = cache.get(entityWorld.provider.getDimension(), key);
+        if (cachedPath != null)
+        {
+            return setCachedPath(cachedPath, dest, speed);
+        }
+
+        final long sequence = ChunkSectionRevisions.getSequence();
+        final PathResult result = setPathJob(new PathJobMoveToLocation(entityWorld, start, dest, (int) getPathSearchRange()), dest, speed);
+        pendingCacheKey = key;
+        pendingCacheSequence = sequence;
+        return result;
+    }
+
+    /**
+     * Get the path cache of the colony of the entity.
+     * Barbarians of a horde use the cache of the raided colony, so they share their path to its center.
+     *
+     * @return the cache or null if the entity has none.
+     */
+    @Nullable
+    private PathCache getPathCache()
+    {
+        if (entity instanceof EntityCitizen && ((EntityCitizen) entity).getColony() != null)
+        {
+            return ((EntityCitizen) entity).getColony().getPathCache();
+        }
+        if (entity instanceof AbstractEntityBarbarian && ((AbstractEntityBarbarian) entity).getHorde() != null)
+        {
+            return ((AbstractEntityBarbarian) entity).getHorde().getColony().getPathCache();
+        }
+        return null;
+    }
+
+    /**
+     * Follow a path from the cache instead of computing it.
+     *
+     * @param path  the cached path.
+     * @param dest  the destination.
+     * @param speed the walking speed.
+     * @return the result, already following.
+     */
+    @NotNull
+    private PathResult setCachedPath(@NotNull final Path path, final BlockPos dest, final double speed)
+    {
+        clearPathEntity();
+
+        this.destination = dest;
+        this.originalDestination = dest;
+        this.walkSpeed = speed;
+
+        setPath(path, speed);
+
+        pathResult = new PathResult();
+        pathResult.setPathReachesDestination(true);
+        pathResult.setPathLength(path.getCurrentPathLength());
+        pathResult.setStatus(PathResult.Status.IN_PROGRESS_FOLLOWING);
+        return pathResult;
     }
 
     @Nullable
@@ -173,11 +257,39 @@ public class PathNavigate extends PathNavigateGround
         this.originalDestination = dest;
         this.walkSpeed = speed;
 
-        future = Pathfinding.enqueue(job);
+        final long estimatedLength = dest == null ? ((long) job.getMaxRange() * job.getMaxRange()) : BlockPosUtil.getDistanceSquared(job.start, dest);
+        future = Pathfinding.enqueue(job, getJobPriority(estimatedLength), entity.getEntityId(), estimatedLength);
         pathResult = job.getResult();
         return pathResult;
     }
 
+    /**
+     * Compute the priority class of a new job of the entity.
+     *
+     * @param estimatedLength the estimated (square) length of the path.
+     * @return the priority.
+     */
+    @NotNull
+    private PathJobPriority getJobPriority(final long estimatedLength)
+    {
+        if (entity.getAttackTarget() != null)
+        {
+            return PathJobPriority.COMBAT;
+        }
+
+        if (estimatedLength <= SHORT_PATH_SQ_LENGTH || world.getClosestPlayerToEntity(entity, NEAR_PLAYER_RANGE) != null)
+        {
+            return PathJobPriority.NEAR;
+        }
+
+        if (entity instanceof EntityCitizen && ((EntityCitizen) entity).getColonyJob() == null)
+        {
+            return PathJobPriority.IDLE;
+        }
+
+        return PathJobPriority.WORK;
+    }
+
     @Override
     public boolean setPath(@NotNull final Path path, final double speed)
     {
@@ -218,9 +330,20 @@ public class PathNavigate extends PathNavigateGround
                 if (future.get() == null)
                 {
                     future = null;
+                    pendingCacheKey = null;
                     return;
                 }
 
+                if (pendingCacheKey != null && pathResult.getPathReachesDestination())
+                {
+                    final PathCache cache = getPathCache();
+                    if (cache != null)
+                    {
+                        cache.put(pendingCacheKey, future.get(), pendingCacheSequence);
+                    }
+                }
+                pendingCacheKey = null;
+
                 setPath(future.get(), walkSpeed);
 
                 pathResult.setPathLength(getPath().getCurrentPathLength());
@@ -379,6 +502,7 @@ public class PathNavigate extends PathNavigateGround
             future.cancel(true);
             future = null;
         }
+        pendingCacheKey = null;
 
         if (pathResult != null)
         {
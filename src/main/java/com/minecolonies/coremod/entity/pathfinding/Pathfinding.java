@@ -17,6 +17,7 @@ import org.jetbrains.annotations.NotNull;
 import org.lwjgl.opengl.GL11;
 
 import java.util.ConcurrentModificationException;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.*;
 
@@ -25,12 +26,20 @@ import java.util.concurrent.*;
  */
 public final class Pathfinding
 {
-    private static final BlockingQueue<Runnable> jobQueue = new LinkedBlockingDeque<>();
+    private static final BlockingQueue<Runnable> jobQueue = new PriorityBlockingQueue<>();
     private static final ThreadPoolExecutor executor;
     static
     {
-        executor = new ThreadPoolExecutor(1, Configurations.pathfinding.pathfindingMaxThreadCount, 10, TimeUnit.SECONDS, jobQueue);
+        final int threads = Math.max(1, Configurations.pathfinding.pathfindingMaxThreadCount);
+        executor = new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS, jobQueue);
+        executor.allowCoreThreadTimeOut(true);
     }
+
+    /**
+     * The queued task of each entity, a newer job of the same entity replaces it.
+     */
+    private static final Map<Integer, PathJobTask> tasksByOwner = new ConcurrentHashMap<>();
+
     private Pathfinding()
     {
         //Hides default constructor.
@@ -44,7 +53,103 @@ public final class Pathfinding
      */
     public static Future<Path> enqueue(@NotNull final AbstractPathJob job)
     {
-        return executor.submit(job);
+        return enqueue(job, PathJobPriority.WORK, -1, 0);
+    }
+
+    /**
+     * Add a job of an entity to the queue for processing.
+     * A job of the same entity which did not start yet is discarded.
+     * If the queue is full, the worst queued job is discarded, or the new job if it is the worst.
+     *
+     * @param job             PathJob.
+     * @param priority        the priority class of the job.
+     * @param ownerId         the entity id of the owner, or -1 for no coalescing.
+     * @param estimatedLength estimated length of the path, shorter paths are computed first.
+     * @return a Future containing the Path, or no path if the job was discarded.
+     */
+    public static Future<Path> enqueue(@NotNull final AbstractPathJob job, @NotNull final PathJobPriority priority, final int ownerId, final long estimatedLength)
+    {
+        final PathJobTask task = new PathJobTask(job, priority, ownerId, estimatedLength);
+
+        if (ownerId >= 0)
+        {
+            final PathJobTask previous = tasksByOwner.put(ownerId, task);
+            if (previous != null && !previous.isDone() && executor.remove(previous))
+            {
+                previous.discard();
+                PathfindingStatistics.recordCoalesced();
+            }
+        }
+
+        if (jobQueue.size() >= Configurations.pathfinding.pathfindingMaxQueuedJobs && !makeRoomFor(task))
+        {
+            task.discard();
+            PathfindingStatistics.recordRejected();
+            return task;
+        }
+
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Discard the worst queued job, if it is worse than the new task.
+     *
+     * @param task the task which should be queued.
+     * @return true if there is room now.
+     */
+    private static boolean makeRoomFor(@NotNull final PathJobTask task)
+    {
+        PathJobTask worst = null;
+        for (final Runnable runnable : jobQueue)
+        {
+            if (runnable instanceof PathJobTask && (worst == null || ((PathJobTask) runnable).compareTo(worst) > 0))
+            {
+                worst = (PathJobTask) runnable;
+            }
+        }
+
+        if (worst == null || worst.compareTo(task) <= 0 || !executor.remove(worst))
+        {
+            return false;
+        }
+
+        worst.discard();
+        PathfindingStatistics.recordRejected();
+        return true;
+    }
+
+    /**
+     * Called when a task completed in any way, forgets it as the queued task of its owner.
+     *
+     * @param task the task.
+     */
+    static void onTaskDone(@NotNull final PathJobTask task)
+    {
+        if (task.getOwnerId() >= 0)
+        {
+            tasksByOwner.remove(task.getOwnerId(), task);
+        }
+    }
+
+    /**
+     * Getter for the amount of queued jobs.
+     *
+     * @return the queue depth.
+     */
+    public static int getQueueDepth()
+    {
+        return jobQueue.size();
+    }
+
+    /**
+     * Getter for the amount of jobs being computed right now.
+     *
+     * @return the amount.
+     */
+    public static int getActiveJobs()
+    {
+        return executor.getActiveCount();
     }
 
     /**
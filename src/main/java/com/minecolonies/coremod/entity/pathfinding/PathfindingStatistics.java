@@ -0,0 +1,151 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the pathfinding scheduler, collected per job class.
+ */
+public final class PathfindingStatistics
+{
+    /**
+     * Statistics per job class and priority.
+     */
+    private static final Map<String, JobStatistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Jobs which were replaced by a newer job of the same entity.
+     */
+    private static final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Jobs which were dropped because the queue was full.
+     */
+    private static final AtomicLong rejected = new AtomicLong();
+
+    private PathfindingStatistics()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Record a computed job.
+     *
+     * @param jobClass     the class of the job.
+     * @param priority     the priority class of the job.
+     * @param waitNanos    time the job waited in the queue.
+     * @param computeNanos time it took to compute the job.
+     */
+    public static void recordJob(@NotNull final Class<?> jobClass, @NotNull final PathJobPriority priority, final long waitNanos, final long computeNanos)
+    {
+        statistics.computeIfAbsent(jobClass.getSimpleName() + "/" + priority, JobStatistics::new).record(waitNanos, computeNanos);
+    }
+
+    /**
+     * Count a job replaced by a newer job of the same entity.
+     */
+    public static void recordCoalesced()
+    {
+        coalesced.incrementAndGet();
+    }
+
+    /**
+     * Count a job dropped because the queue was full.
+     */
+    public static void recordRejected()
+    {
+        rejected.incrementAndGet();
+    }
+
+    /**
+     * Getter for the amount of coalesced jobs.
+     *
+     * @return the amount.
+     */
+    public static long getCoalesced()
+    {
+        return coalesced.get();
+    }
+
+    /**
+     * Getter for the amount of rejected jobs.
+     *
+     * @return the amount.
+     */
+    public static long getRejected()
+    {
+        return rejected.get();
+    }
+
+    /**
+     * Get a human readable line per job class.
+     *
+     * @return the lines.
+     */
+    @NotNull
+    public static List<String> getReport()
+    {
+        final List<String> lines = new ArrayList<>();
+        for (final JobStatistics stats : statistics.values())
+        {
+            lines.add(stats.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Reset all counters.
+     */
+    public static void reset()
+    {
+        statistics.clear();
+        coalesced.set(0);
+        rejected.set(0);
+    }
+
+    /**
+     * Counters of one job class.
+     */
+    private static final class JobStatistics
+    {
+        private final String     name;
+        private final AtomicLong count        = new AtomicLong();
+        private final AtomicLong waitTotal    = new AtomicLong();
+        private final AtomicLong waitMax      = new AtomicLong();
+        private final AtomicLong computeTotal = new AtomicLong();
+        private final AtomicLong computeMax   = new AtomicLong();
+
+        private JobStatistics(final String name)
+        {
+            this.name = name;
+        }
+
+        private void record(final long waitNanos, final long computeNanos)
+        {
+            count.incrementAndGet();
+            waitTotal.addAndGet(waitNanos);
+            computeTotal.addAndGet(computeNanos);
+            waitMax.accumulateAndGet(waitNanos, Math::max);
+            computeMax.accumulateAndGet(computeNanos, Math::max);
+        }
+
+        @Override
+        public String toString()
+        {
+            final long jobs = Math.max(1, count.get());
+            return String.format("%s: %d jobs, wait avg %dms max %dms, compute avg %dms max %dms",
+              name,
+              count.get(),
+              TimeUnit.NANOSECONDS.toMillis(waitTotal.get() / jobs),
+              TimeUnit.NANOSECONDS.toMillis(waitMax.get()),
+              TimeUnit.NANOSECONDS.toMillis(computeTotal.get() / jobs),
+              TimeUnit.NANOSECONDS.toMillis(computeMax.get()));
+        }
+    }
+}
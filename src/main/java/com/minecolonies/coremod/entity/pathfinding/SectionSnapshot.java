@@ -0,0 +1,183 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable copy of a 16x16x16 chunk section for the path jobs.
+ * Holds the block states and, per block, the packed pathfinding flags so the jobs don't have to look up materials.
+ */
+public final class SectionSnapshot
+{
+    /**
+     * Size of a section in each direction.
+     */
+    public static final int SECTION_SIZE = 16;
+
+    /**
+     * Pathfinding flag bits.
+     */
+    static final int FLAG_PASSABLE = 1;
+    static final int FLAG_LIQUID   = 1 << 1;
+    static final int FLAG_WATER    = 1 << 2;
+    static final int FLAG_LADDER   = 1 << 3;
+    static final int SURFACE_SHIFT = 4;
+    static final int SURFACE_MASK  = 3;
+
+    /**
+     * Flags of an air block.
+     */
+    private static final byte AIR_FLAGS = computeFlags(Blocks.AIR.getDefaultState(), false);
+
+    /**
+     * Shared snapshot of an empty section.
+     */
+    static final SectionSnapshot EMPTY = new SectionSnapshot(null, null, Long.MAX_VALUE);
+
+    /**
+     * The states of the section (index y << 8 | z << 4 | x), null if empty.
+     */
+    @Nullable
+    private final IBlockState[] states;
+
+    /**
+     * The flags of the section, same indices.
+     */
+    @Nullable
+    private final byte[] flags;
+
+    /**
+     * The {@link ChunkSectionRevisions} sequence at the time of the capture.
+     */
+    private final long sequence;
+
+    private SectionSnapshot(@Nullable final IBlockState[] states, @Nullable final byte[] flags, final long sequence)
+    {
+        this.states = states;
+        this.flags = flags;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Capture a section of a chunk.
+     * Called by the path jobs, which read the live chunk like a ChunkCache does.
+     *
+     * @param world    the world of the chunk.
+     * @param chunk    the chunk.
+     * @param sectionY the section index.
+     * @param sequence the current revision sequence.
+     * @return the snapshot.
+     */
+    @NotNull
+    static SectionSnapshot capture(@NotNull final World world, @NotNull final Chunk chunk, final int sectionY, final long sequence)
+    {
+        final ExtendedBlockStorage storage = chunk.getBlockStorageArray()[sectionY];
+        if (storage == Chunk.NULL_BLOCK_STORAGE || storage.isEmpty())
+        {
+            return new SectionSnapshot(null, null, sequence);
+        }
+
+        final IBlockState[] states = new IBlockState[SECTION_SIZE * SECTION_SIZE * SECTION_SIZE];
+        final byte[] flags = new byte[states.length];
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        final int baseX = chunk.xPosition * SECTION_SIZE;
+        final int baseY = sectionY * SECTION_SIZE;
+        final int baseZ = chunk.zPosition * SECTION_SIZE;
+
+        int index = 0;
+        for (int y = 0; y < SECTION_SIZE; y++)
+        {
+            for (int z = 0; z < SECTION_SIZE; z++)
+            {
+                for (int x = 0; x < SECTION_SIZE; x++)
+                {
+                    final IBlockState state = storage.get(x, y, z);
+                    states[index] = state;
+                    pos.setPos(baseX + x, baseY + y, baseZ + z);
+                    flags[index] = computeFlags(state, state.getBlock().isLadder(state, world, pos, null));
+                    index++;
+                }
+            }
+        }
+
+        return new SectionSnapshot(states, flags, sequence);
+    }
+
+    /**
+     * Compute the packed flags of a block state.
+     *
+     * @param state  the state.
+     * @param ladder if the block is a ladder.
+     * @return the flags.
+     */
+    private static byte computeFlags(@NotNull final IBlockState state, final boolean ladder)
+    {
+        int result = AbstractPathJob.getSurfaceType(state).ordinal() << SURFACE_SHIFT;
+        if (AbstractPathJob.isPassableBlock(state))
+        {
+            result |= FLAG_PASSABLE;
+        }
+        if (state.getMaterial().isLiquid())
+        {
+            result |= FLAG_LIQUID;
+        }
+        if (state.getMaterial() == Material.WATER)
+        {
+            result |= FLAG_WATER;
+        }
+        if (ladder)
+        {
+            result |= FLAG_LADDER;
+        }
+        return (byte) result;
+    }
+
+    private static int getIndex(final int x, final int y, final int z)
+    {
+        return ((y & (SECTION_SIZE - 1)) << 8) | ((z & (SECTION_SIZE - 1)) << 4) | (x & (SECTION_SIZE - 1));
+    }
+
+    /**
+     * Get the state of a block of the section.
+     *
+     * @param x world x.
+     * @param y world y.
+     * @param z world z.
+     * @return the state.
+     */
+    @NotNull
+    IBlockState getBlockState(final int x, final int y, final int z)
+    {
+        return states == null ? Blocks.AIR.getDefaultState() : states[getIndex(x, y, z)];
+    }
+
+    /**
+     * Get the flags of a block of the section.
+     *
+     * @param x world x.
+     * @param y world y.
+     * @param z world z.
+     * @return the flags.
+     */
+    int getFlags(final int x, final int y, final int z)
+    {
+        return flags == null ? AIR_FLAGS : flags[getIndex(x, y, z)];
+    }
+
+    /**
+     * Getter for the sequence of the capture.
+     *
+     * @return the sequence.
+     */
+    long getSequence()
+    {
+        return sequence;
+    }
+}
@@ -0,0 +1,357 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import com.minecolonies.api.configuration.Configurations;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Biomes;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.Chunk;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snapshot of a part of a world for the pathfinding threads.
+ * The server thread only records the loaded chunks, like a ChunkCache does.
+ * Each section is captured into an immutable {@link SectionSnapshot} on first access by the path job,
+ * or taken from a cache shared between jobs as long as the section did not change.
+ */
+public final class WorldSnapshot implements IBlockAccess
+{
+    /**
+     * Sections captured above and below the start and end of a path.
+     */
+    private static final int VERTICAL_SECTION_PADDING = 2;
+
+    /**
+     * Height of the world, in sections.
+     */
+    private static final int WORLD_SECTIONS = 16;
+
+    /**
+     * Shared captured sections by dimension, in access order.
+     */
+    private static final Map<Integer, Map<Long, SectionSnapshot>> sectionCache = new ConcurrentHashMap<>();
+
+    /**
+     * Statistics of the section cache.
+     */
+    private static final AtomicLong sectionsReused   = new AtomicLong(0);
+    private static final AtomicLong sectionsCaptured = new AtomicLong(0);
+
+    private final World             world;
+    private final int               minChunkX;
+    private final int               minChunkZ;
+    private final int               sizeX;
+    private final int               sizeZ;
+    private final int               minSection;
+    private final int               sizeY;
+    private final Chunk[]           chunks;
+    private final SectionSnapshot[] sections;
+    private final WorldType         worldType;
+    private final int               dimension;
+
+    private WorldSnapshot(
+                           @NotNull final World world, final int minChunkX, final int minChunkZ, final int sizeX, final int sizeZ,
+                           final int minSection, final int sizeY)
+    {
+        this.world = world;
+        this.dimension = world.provider.getDimension();
+        this.minChunkX = minChunkX;
+        this.minChunkZ = minChunkZ;
+        this.sizeX = sizeX;
+        this.sizeZ = sizeZ;
+        this.minSection = minSection;
+        this.sizeY = sizeY;
+        this.chunks = new Chunk[sizeX * sizeZ];
+        this.sections = new SectionSnapshot[sizeX * sizeZ * sizeY];
+        this.worldType = world.getWorldType();
+    }
+
+    /**
+     * Prepare the snapshot of the area between two corners, has to be called on the server thread.
+     * Only loaded chunks are part of the snapshot, missing chunks read as air.
+     * The sections are captured later, when the job reads them.
+     *
+     * @param world the world.
+     * @param from  the first corner.
+     * @param to    the second corner.
+     * @return the snapshot.
+     */
+    @NotNull
+    public static WorldSnapshot capture(@NotNull final World world, @NotNull final BlockPos from, @NotNull final BlockPos to)
+    {
+        final int minChunkX = Math.min(from.getX(), to.getX()) >> 4;
+        final int minChunkZ = Math.min(from.getZ(), to.getZ()) >> 4;
+        final int maxChunkX = Math.max(from.getX(), to.getX()) >> 4;
+        final int maxChunkZ = Math.max(from.getZ(), to.getZ()) >> 4;
+        final int minSection = Math.max(0, (Math.min(from.getY(), to.getY()) >> 4) - VERTICAL_SECTION_PADDING);
+        final int maxSection = Math.min(WORLD_SECTIONS - 1, (Math.max(from.getY(), to.getY()) >> 4) + VERTICAL_SECTION_PADDING);
+
+        final WorldSnapshot snapshot = new WorldSnapshot(world, minChunkX, minChunkZ,
+          maxChunkX - minChunkX + 1, maxChunkZ - minChunkZ + 1,
+          minSection, maxSection - minSection + 1);
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++)
+        {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++)
+            {
+                snapshot.chunks[(chunkZ - minChunkZ) * snapshot.sizeX + (chunkX - minChunkX)] = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+            }
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Get a section from the shared cache if it did not change since, capture it otherwise.
+     *
+     * @param chunk   the chunk of the section.
+     * @param section the section index.
+     * @return the section.
+     */
+    @NotNull
+    private SectionSnapshot loadSection(@NotNull final Chunk chunk, final int section)
+    {
+        final long key = ChunkSectionRevisions.getSectionKey(chunk.xPosition << 4, section << 4, chunk.zPosition << 4);
+        final Map<Long, SectionSnapshot> cache = getCache(dimension);
+        final SectionSnapshot cached = cache.get(key);
+        if (cached != null && ChunkSectionRevisions.isUnchangedSince(dimension, key, cached.getSequence()))
+        {
+            sectionsReused.incrementAndGet();
+            return cached;
+        }
+
+        //  The sequence is taken before reading, so changes during the capture invalidate it.
+        final long sequence = ChunkSectionRevisions.getSequence();
+        final SectionSnapshot captured = SectionSnapshot.capture(world, chunk, section, sequence);
+        cache.put(key, captured);
+        sectionsCaptured.incrementAndGet();
+        return captured;
+    }
+
+    @NotNull
+    private static Map<Long, SectionSnapshot> getCache(final int dimension)
+    {
+        return sectionCache.computeIfAbsent(dimension, dim -> Collections.synchronizedMap(new LinkedHashMap<Long, SectionSnapshot>(16, 0.75F, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, SectionSnapshot> eldest)
+            {
+                return size() > Configurations.pathfinding.pathfindingSnapshotCacheSize;
+            }
+        }));
+    }
+
+    /**
+     * Forget the captured sections of a dimension, used when the world unloads.
+     *
+     * @param dimension the dimension.
+     */
+    public static void clear(final int dimension)
+    {
+        sectionCache.remove(dimension);
+    }
+
+    /**
+     * Getter for the amount of sections reused from the cache.
+     *
+     * @return the amount.
+     */
+    public static long getSectionsReused()
+    {
+        return sectionsReused.get();
+    }
+
+    /**
+     * Getter for the amount of sections captured.
+     *
+     * @return the amount.
+     */
+    public static long getSectionsCaptured()
+    {
+        return sectionsCaptured.get();
+    }
+
+    private int getIndex(final int chunkX, final int section, final int chunkZ)
+    {
+        return ((section - minSection) * sizeZ + (chunkZ - minChunkZ)) * sizeX + (chunkX - minChunkX);
+    }
+
+    /**
+     * Get the captured section containing a block, captures it on first access.
+     *
+     * @param x the block x.
+     * @param y the block y.
+     * @param z the block z.
+     * @return the section, {@link SectionSnapshot#EMPTY} if outside of the snapshot.
+     */
+    @NotNull
+    SectionSnapshot getSection(final int x, final int y, final int z)
+    {
+        final int chunkX = x >> 4;
+        final int chunkZ = z >> 4;
+        final int section = y >> 4;
+        if (chunkX < minChunkX || chunkX >= minChunkX + sizeX
+              || chunkZ < minChunkZ || chunkZ >= minChunkZ + sizeZ
+              || section < minSection || section >= minSection + sizeY)
+        {
+            return SectionSnapshot.EMPTY;
+        }
+
+        final int index = getIndex(chunkX, section, chunkZ);
+        SectionSnapshot snapshot = sections[index];
+        if (snapshot == null)
+        {
+            final Chunk chunk = chunks[(chunkZ - minChunkZ) * sizeX + (chunkX - minChunkX)];
+            snapshot = chunk == null ? SectionSnapshot.EMPTY : loadSection(chunk, section);
+            sections[index] = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Get the packed pathfinding flags of a block, see {@link SectionSnapshot}.
+     *
+     * @param pos the position.
+     * @return the flags.
+     */
+    int getFlags(@NotNull final BlockPos pos)
+    {
+        return getFlags(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * Get the packed pathfinding flags of a block, see {@link SectionSnapshot}.
+     *
+     * @param x the block x.
+     * @param y the block y.
+     * @param z the block z.
+     * @return the flags.
+     */
+    int getFlags(final int x, final int y, final int z)
+    {
+        return getSection(x, y, z).getFlags(x, y, z);
+    }
+
+    /**
+     * Checks if a block is inside of the captured area.
+     *
+     * @param x the block x.
+     * @param z the block z.
+     * @return true if so.
+     */
+    boolean containsColumn(final int x, final int z)
+    {
+        final int chunkX = x >> 4;
+        final int chunkZ = z >> 4;
+        return chunkX >= minChunkX && chunkX < minChunkX + sizeX && chunkZ >= minChunkZ && chunkZ < minChunkZ + sizeZ;
+    }
+
+    /**
+     * Checks if a chunk is loaded and part of the snapshot.
+     *
+     * @param chunkX the chunk x.
+     * @param chunkZ the chunk z.
+     * @return true if so.
+     */
+    boolean isChunkLoaded(final int chunkX, final int chunkZ)
+    {
+        return chunkX >= minChunkX && chunkX < minChunkX + sizeX && chunkZ >= minChunkZ && chunkZ < minChunkZ + sizeZ
+                 && chunks[(chunkZ - minChunkZ) * sizeX + (chunkX - minChunkX)] != null;
+    }
+
+    /**
+     * Getter for the lowest captured y.
+     *
+     * @return the y.
+     */
+    int getMinY()
+    {
+        return minSection << 4;
+    }
+
+    /**
+     * Getter for the highest captured y.
+     *
+     * @return the y.
+     */
+    int getMaxY()
+    {
+        return ((minSection + sizeY) << 4) - 1;
+    }
+
+    /**
+     * Getter for the dimension of the snapshot.
+     *
+     * @return the dimension id.
+     */
+    int getDimension()
+    {
+        return dimension;
+    }
+
+    @NotNull
+    @Override
+    public IBlockState getBlockState(@NotNull final BlockPos pos)
+    {
+        return getSection(pos.getX(), pos.getY(), pos.getZ()).getBlockState(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    @Nullable
+    @Override
+    public TileEntity getTileEntity(@NotNull final BlockPos pos)
+    {
+        //  Tile entities are live objects and can't be read off-thread.
+        return null;
+    }
+
+    @Override
+    public int getCombinedLight(@NotNull final BlockPos pos, final int lightValue)
+    {
+        return 0;
+    }
+
+    @Override
+    public boolean isAirBlock(@NotNull final BlockPos pos)
+    {
+        final IBlockState state = getBlockState(pos);
+        return state.getBlock().isAir(state, this, pos);
+    }
+
+    @NotNull
+    @Override
+    public Biome getBiome(@NotNull final BlockPos pos)
+    {
+        return Biomes.PLAINS;
+    }
+
+    @Override
+    public int getStrongPower(@NotNull final BlockPos pos, @NotNull final EnumFacing direction)
+    {
+        return 0;
+    }
+
+    @NotNull
+    @Override
+    public WorldType getWorldType()
+    {
+        return worldType;
+    }
+
+    @Override
+    public boolean isSideSolid(@NotNull final BlockPos pos, @NotNull final EnumFacing side, final boolean defaultValue)
+    {
+        return getBlockState(pos).isSideSolid(this, pos, side);
+    }
+}
@@ -3,6 +3,7 @@ package com.minecolonies.coremod.event;
 import com.minecolonies.api.util.constant.Constants;
 import com.minecolonies.coremod.MineColonies;
 import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.colony.ColonySubscriptionTracker;
 import com.minecolonies.coremod.network.messages.ColonyStylesMessage;
 import com.minecolonies.coremod.network.messages.ServerUUIDMessage;
 import net.minecraft.entity.player.EntityPlayerMP;
@@ -72,6 +73,20 @@ public class FMLEventHandler
         }
     }
 
+    /**
+     * Called when a player logs out, unsubscribes the player from all colonies.
+     *
+     * @param event {@link net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedOutEvent}
+     */
+    @SubscribeEvent
+    public void onPlayerLogout(@NotNull final PlayerEvent.PlayerLoggedOutEvent event)
+    {
+        if (event.player instanceof EntityPlayerMP)
+        {
+            ColonySubscriptionTracker.onPlayerLogout((EntityPlayerMP) event.player);
+        }
+    }
+
     /**
      * Called when the config is changed, used to synch between file and game.
      * @param event the on config changed event.
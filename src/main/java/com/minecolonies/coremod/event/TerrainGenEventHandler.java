@@ -0,0 +1,37 @@
+package com.minecolonies.coremod.event;
+
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyManager;
+import net.minecraft.world.World;
+import net.minecraftforge.event.terraingen.SaplingGrowTreeEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Event handler used to catch the events posted on the terrain gen bus.
+ */
+public class TerrainGenEventHandler
+{
+    /**
+     * Event when a sapling grows into a tree.
+     * Adds the tree to the tree index of the colony.
+     *
+     * @param event {@link SaplingGrowTreeEvent}
+     */
+    @SubscribeEvent
+    public void onSaplingGrowTree(@NotNull final SaplingGrowTreeEvent event)
+    {
+        final World world = event.getWorld();
+        if (world.isRemote)
+        {
+            return;
+        }
+
+        @Nullable final Colony colony = ColonyManager.getColony(world, event.getPos());
+        if (colony != null)
+        {
+            colony.getTreeIndex().addTree(event.getPos());
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.minecolonies.coremod.network;
+
+import com.minecolonies.api.util.BlockPosUtil;
+import com.minecolonies.api.util.Log;
+import com.minecolonies.coremod.MineColonies;
+import com.minecolonies.coremod.colony.CitizenData;
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
+import com.minecolonies.coremod.network.messages.ColonyViewBatchMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Batches the citizen and building view updates of all colonies for a player into one packet per tick.
+ * Every view is encoded once per tick into a record, which is shared by all players receiving it.
+ * Colonies only queue the records which changed since they were last sent to their subscribers.
+ */
+public final class ColonyViewSync
+{
+    /**
+     * Types of the records.
+     */
+    private static final byte RECORD_CITIZEN  = 0;
+    private static final byte RECORD_BUILDING = 1;
+
+    /**
+     * Records are split over several messages above this size.
+     */
+    private static final int MAX_BATCH_BYTES = 512 * 1024;
+
+    /**
+     * Records queued for each player this tick, in order.
+     */
+    private static final Map<EntityPlayerMP, List<byte[]>> queued = new LinkedHashMap<>();
+
+    /**
+     * Statistics, bytes by colony.
+     */
+    private static final Map<Integer, Counter> colonyBytes = new TreeMap<>();
+    private static long ticks             = 0;
+    private static long messagesSent      = 0;
+    private static long bytesSent         = 0;
+    private static long bytesUncompressed = 0;
+
+    private ColonyViewSync()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Encode the view of a citizen into a record.
+     *
+     * @param colony  the colony of the citizen.
+     * @param citizen the citizen.
+     * @return the record.
+     */
+    @NotNull
+    public static byte[] encodeCitizen(@NotNull final Colony colony, @NotNull final CitizenData citizen)
+    {
+        final ByteBuf buf = Unpooled.buffer();
+        writeCitizenHeader(buf, colony.getID(), citizen.getId());
+        final int lengthIndex = buf.writerIndex();
+        buf.writeInt(0);
+        citizen.serializeViewNetworkData(buf);
+        return finishRecord(buf, lengthIndex);
+    }
+
+    /**
+     * Encode the view of a building into a record.
+     *
+     * @param building the building.
+     * @return the record.
+     */
+    @NotNull
+    public static byte[] encodeBuilding(@NotNull final AbstractBuilding building)
+    {
+        final ByteBuf buf = Unpooled.buffer();
+        writeBuildingHeader(buf, building.getColony().getID(), building.getID());
+        final int lengthIndex = buf.writerIndex();
+        buf.writeInt(0);
+        building.serializeToView(buf);
+        return finishRecord(buf, lengthIndex);
+    }
+
+    private static void writeCitizenHeader(@NotNull final ByteBuf buf, final int colonyId, final int citizenId)
+    {
+        buf.writeByte(RECORD_CITIZEN);
+        buf.writeInt(colonyId);
+        buf.writeInt(citizenId);
+    }
+
+    private static void writeBuildingHeader(@NotNull final ByteBuf buf, final int colonyId, @NotNull final BlockPos buildingId)
+    {
+        buf.writeByte(RECORD_BUILDING);
+        buf.writeInt(colonyId);
+        BlockPosUtil.writeToByteBuf(buf, buildingId);
+    }
+
+    @NotNull
+    private static byte[] finishRecord(@NotNull final ByteBuf buf, final int lengthIndex)
+    {
+        buf.setInt(lengthIndex, buf.writerIndex() - lengthIndex - Integer.BYTES);
+        return toArray(buf);
+    }
+
+    /**
+     * Queue a record to be sent to a player at the end of the tick.
+     *
+     * @param colonyId the colony the record belongs to.
+     * @param player   the player.
+     * @param record   the record, see {@link #encodeCitizen(Colony, CitizenData)} and {@link #encodeBuilding(AbstractBuilding)}.
+     */
+    public static void queue(final int colonyId, @NotNull final EntityPlayerMP player, @NotNull final byte[] record)
+    {
+        queued.computeIfAbsent(player, p -> new ArrayList<>()).add(record);
+        colonyBytes.computeIfAbsent(colonyId, id -> new Counter()).current += record.length;
+    }
+
+    /**
+     * Drop the queued records of a removed citizen.
+     * Removals are sent right away, a record sent after them would bring the citizen back on the client.
+     *
+     * @param colonyId  the colony of the citizen.
+     * @param citizenId the id of the citizen.
+     */
+    public static void unqueueCitizen(final int colonyId, final int citizenId)
+    {
+        final ByteBuf header = Unpooled.buffer();
+        writeCitizenHeader(header, colonyId, citizenId);
+        unqueue(colonyId, toArray(header));
+    }
+
+    /**
+     * Drop the queued records of a removed building.
+     * Removals are sent right away, a record sent after them would bring the building back on the client.
+     *
+     * @param colonyId   the colony of the building.
+     * @param buildingId the id of the building.
+     */
+    public static void unqueueBuilding(final int colonyId, @NotNull final BlockPos buildingId)
+    {
+        final ByteBuf header = Unpooled.buffer();
+        writeBuildingHeader(header, colonyId, buildingId);
+        unqueue(colonyId, toArray(header));
+    }
+
+    private static void unqueue(final int colonyId, @NotNull final byte[] header)
+    {
+        for (final List<byte[]> records : queued.values())
+        {
+            final Iterator<byte[]> iterator = records.iterator();
+            while (iterator.hasNext())
+            {
+                final byte[] record = iterator.next();
+                if (startsWith(record, header))
+                {
+                    iterator.remove();
+                    colonyBytes.get(colonyId).current -= record.length;
+                }
+            }
+        }
+    }
+
+    private static boolean startsWith(@NotNull final byte[] record, @NotNull final byte[] header)
+    {
+        if (record.length < header.length)
+        {
+            return false;
+        }
+        for (int i = 0; i < header.length; i++)
+        {
+            if (record[i] != header[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @NotNull
+    private static byte[] toArray(@NotNull final ByteBuf buf)
+    {
+        final byte[] array = new byte[buf.readableBytes()];
+        buf.readBytes(array);
+        return array;
+    }
+
+    /**
+     * Send the queued records, called once at the end of each server tick.
+     */
+    public static void flush()
+    {
+        for (final Map.Entry<EntityPlayerMP, List<byte[]>> entry : queued.entrySet())
+        {
+            final List<byte[]> batch = new ArrayList<>();
+            int batchBytes = 0;
+            for (final byte[] record : entry.getValue())
+            {
+                if (!batch.isEmpty() && batchBytes + record.length > MAX_BATCH_BYTES)
+                {
+                    send(entry.getKey(), batch, batchBytes);
+                    batch.clear();
+                    batchBytes = 0;
+                }
+                batch.add(record);
+                batchBytes += record.length;
+            }
+            send(entry.getKey(), batch, batchBytes);
+        }
+        queued.clear();
+
+        ticks++;
+        for (final Counter counter : colonyBytes.values())
+        {
+            counter.total += counter.current;
+            counter.peak = Math.max(counter.peak, counter.current);
+            counter.current = 0;
+        }
+    }
+
+    private static void send(@NotNull final EntityPlayerMP player, @NotNull final List<byte[]> records, final int length)
+    {
+        final ColonyViewBatchMessage message = new ColonyViewBatchMessage(records, length);
+        MineColonies.getNetwork().sendTo(message, player);
+
+        messagesSent++;
+        bytesSent += message.getSize();
+        bytesUncompressed += length;
+    }
+
+    /**
+     * Apply the records of a batch to the colony views, on the client.
+     *
+     * @param buf the uncompressed records.
+     */
+    public static void handleBatch(@NotNull final ByteBuf buf)
+    {
+        while (buf.isReadable())
+        {
+            final byte type = buf.readByte();
+            final int colonyId = buf.readInt();
+            if (type == RECORD_CITIZEN)
+            {
+                final int citizenId = buf.readInt();
+                ColonyManager.handleColonyViewCitizensMessage(colonyId, citizenId, readPayload(buf));
+            }
+            else if (type == RECORD_BUILDING)
+            {
+                final BlockPos buildingId = BlockPosUtil.readFromByteBuf(buf);
+                ColonyManager.handleColonyBuildingViewMessage(colonyId, buildingId, readPayload(buf));
+            }
+            else
+            {
+                Log.getLogger().error(String.format("Unknown colony view record type %d", type));
+                return;
+            }
+        }
+    }
+
+    @NotNull
+    private static ByteBuf readPayload(@NotNull final ByteBuf buf)
+    {
+        final int length = buf.readInt();
+        final ByteBuf payload = buf.slice(buf.readerIndex(), length);
+        buf.skipBytes(length);
+        return payload;
+    }
+
+    /**
+     * Reset the statistics.
+     */
+    public static void resetStatistics()
+    {
+        colonyBytes.clear();
+        ticks = 0;
+        messagesSent = 0;
+        bytesSent = 0;
+        bytesUncompressed = 0;
+    }
+
+    /**
+     * Get human readable lines of the statistics.
+     *
+     * @return the lines.
+     */
+    @NotNull
+    public static List<String> getReport()
+    {
+        final List<String> lines = new ArrayList<>();
+        lines.add(String.format("§2Ticks: §f%d §2Messages: §f%d §2Bytes sent: §f%d §2uncompressed: §f%d", ticks, messagesSent, bytesSent, bytesUncompressed));
+        for (final Map.Entry<Integer, Counter> entry : colonyBytes.entrySet())
+        {
+            lines.add(String.format("§2Colony §f%d§2: avg §f%d §2bytes/tick, peak §f%d",
+              entry.getKey(), entry.getValue().total / Math.max(1, ticks), entry.getValue().peak));
+        }
+        return lines;
+    }
+
+    /**
+     * Bytes queued by a colony.
+     */
+    private static final class Counter
+    {
+        private long current;
+        private long total;
+        private long peak;
+    }
+}
@@ -0,0 +1,164 @@
+package com.minecolonies.coremod.network.messages;
+
+import com.minecolonies.api.util.Log;
+import com.minecolonies.coremod.network.ColonyViewSync;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Adds or updates several citizen and building views of any colonies on the client, see {@link ColonyViewSync}.
+ * Batches above a small size are deflated.
+ */
+public class ColonyViewBatchMessage implements IMessage, IMessageHandler<ColonyViewBatchMessage, IMessage>
+{
+    /**
+     * Batches smaller than this are sent uncompressed.
+     */
+    private static final int COMPRESSION_THRESHOLD = 256;
+
+    /**
+     * Max accepted size of an inflated batch.
+     */
+    private static final int MAX_INFLATED_BYTES = 16 * 1024 * 1024;
+
+    private int     length;
+    private boolean compressed;
+    private byte[]  data;
+    private ByteBuf records;
+
+    /**
+     * Empty constructor used when registering the message.
+     */
+    public ColonyViewBatchMessage()
+    {
+        super();
+    }
+
+    /**
+     * Creates a batch of records.
+     *
+     * @param records the encoded records.
+     * @param length  the total length of the records.
+     */
+    public ColonyViewBatchMessage(@NotNull final List<byte[]> records, final int length)
+    {
+        this.length = length;
+        final byte[] raw = new byte[length];
+        int offset = 0;
+        for (final byte[] record : records)
+        {
+            System.arraycopy(record, 0, raw, offset, record.length);
+            offset += record.length;
+        }
+
+        if (length < COMPRESSION_THRESHOLD)
+        {
+            this.data = raw;
+            return;
+        }
+
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        deflater.setInput(raw);
+        deflater.finish();
+        final ByteBuf out = Unpooled.buffer(length / 2 + 16);
+        final byte[] chunk = new byte[4096];
+        while (!deflater.finished())
+        {
+            out.writeBytes(chunk, 0, deflater.deflate(chunk));
+        }
+        deflater.end();
+
+        this.compressed = out.readableBytes() < length;
+        this.data = compressed ? toArray(out) : raw;
+    }
+
+    @NotNull
+    private static byte[] toArray(@NotNull final ByteBuf buf)
+    {
+        final byte[] array = new byte[buf.readableBytes()];
+        buf.readBytes(array);
+        return array;
+    }
+
+    /**
+     * Getter for the size of the message on the wire.
+     *
+     * @return the amount of bytes.
+     */
+    public int getSize()
+    {
+        return data.length + Integer.BYTES * 2 + 1;
+    }
+
+    @Override
+    public void fromBytes(@NotNull final ByteBuf buf)
+    {
+        compressed = buf.readBoolean();
+        length = buf.readInt();
+        data = new byte[buf.readInt()];
+        buf.readBytes(data);
+
+        if (!compressed)
+        {
+            records = Unpooled.wrappedBuffer(data);
+            return;
+        }
+
+        if (length > MAX_INFLATED_BYTES)
+        {
+            Log.getLogger().error(String.format("Colony view batch too large: %d bytes", length));
+            records = Unpooled.EMPTY_BUFFER;
+            return;
+        }
+
+        final Inflater inflater = new Inflater();
+        try
+        {
+            final byte[] raw = new byte[length];
+            inflater.setInput(data);
+            if (inflater.inflate(raw) != length || !inflater.finished())
+            {
+                Log.getLogger().error(String.format("Truncated colony view batch, expected %d bytes", length));
+                records = Unpooled.EMPTY_BUFFER;
+                return;
+            }
+            records = Unpooled.wrappedBuffer(raw);
+        }
+        catch (final DataFormatException e)
+        {
+            Log.getLogger().error("Corrupt colony view batch", e);
+            records = Unpooled.EMPTY_BUFFER;
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public void toBytes(@NotNull final ByteBuf buf)
+    {
+        buf.writeBoolean(compressed);
+        buf.writeInt(length);
+        buf.writeInt(data.length);
+        buf.writeBytes(data);
+    }
+
+    @Nullable
+    @Override
+    public IMessage onMessage(@NotNull final ColonyViewBatchMessage message, final MessageContext ctx)
+    {
+        ColonyViewSync.handleBatch(message.records);
+        return null;
+    }
+}
@@ -7,6 +7,7 @@ import com.minecolonies.api.util.ItemStackUtils;
 import com.minecolonies.api.util.LanguageHandler;
 import com.minecolonies.coremod.blocks.AbstractBlockHut;
 import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyManager;
 import com.minecolonies.coremod.colony.jobs.JobGuard;
 import com.minecolonies.coremod.colony.permissions.Permissions;
 import com.minecolonies.coremod.entity.EntityCitizen;
@@ -39,22 +40,11 @@ import java.util.stream.Collectors;
 
 /**
  * This class handles all permission checks on events and cancels them if needed.
+ * A single instance is registered for all colonies, the colonies of an event are looked up in the spatial index of the {@link ColonyManager}.
  */
 public class ColonyPermissionEventHandler
 {
 
-    private final Colony colony;
-
-    /**
-     * Create this EventHandler.
-     *
-     * @param colony the colony to check on.
-     */
-    public ColonyPermissionEventHandler(final Colony colony)
-    {
-        this.colony = colony;
-    }
-
     /**
      * BlockEvent.PlaceEvent handler.
      *
@@ -71,7 +61,7 @@ public class ColonyPermissionEventHandler
     }
 
     /**
-     * This method returns TRUE if this event should be denied.
+     * This method returns TRUE if this event should be denied by any of the colonies at the position.
      *
      * @param worldIn    the world to check in
      * @param posIn      the block to check
@@ -85,29 +75,16 @@ public class ColonyPermissionEventHandler
     {
         @NotNull final EntityPlayer player = EntityUtils.getPlayerOfFakePlayer(playerIn, worldIn);
 
-        if (colony.isCoordInColony(worldIn, posIn))
+        for (final Colony colony : ColonyManager.getColoniesAt(worldIn, posIn))
         {
-            if (!colony.getPermissions().isColonyMember(player))
+            if (!colony.getPermissions().isColonyMember(player) || !colony.getPermissions().hasPermission(player, action))
             {
                 return true;
             }
-
-            if (blockState.getBlock() instanceof AbstractBlockHut
-                  && colony.getPermissions().hasPermission(player, action))
-            {
-                return false;
-            }
-
-            if (colony.getPermissions().hasPermission(player, action))
-            {
-                return false;
-            }
-
-            return true;
         }
 
         /*
-         * - We are not inside the colony
+         * - We are not inside a colony
          * - We are in but not denied
          */
         return false;
@@ -158,8 +135,8 @@ public class ColonyPermissionEventHandler
         }
 
         final World eventWorld = event.getWorld();
-        final Predicate<BlockPos> getBlocksInColony = pos -> colony.isCoordInColony(eventWorld, pos);
-        final Predicate<Entity> getEntitiesInColony = entity -> colony.isCoordInColony(entity.getEntityWorld(), entity.getPosition());
+        final Predicate<BlockPos> getBlocksInColony = pos -> !ColonyManager.getColoniesAt(eventWorld, pos).isEmpty();
+        final Predicate<Entity> getEntitiesInColony = entity -> !ColonyManager.getColoniesAt(entity.getEntityWorld(), entity.getPosition()).isEmpty();
         // if block is in colony -> remove from list
         final List<BlockPos> blocksToRemove = event.getAffectedBlocks().stream()
                                                 .filter(getBlocksInColony)
@@ -183,7 +160,7 @@ public class ColonyPermissionEventHandler
     {
         if (Configurations.gameplay.enableColonyProtection
               && Configurations.gameplay.turnOffExplosionsInColonies
-              && colony.isCoordInColony(event.getWorld(), new BlockPos(event.getExplosion().getPosition())))
+              && !ColonyManager.getColoniesAt(event.getWorld(), new BlockPos(event.getExplosion().getPosition())).isEmpty())
         {
             cancelEvent(event, null);
         }
@@ -203,77 +180,99 @@ public class ColonyPermissionEventHandler
     @SubscribeEvent
     public void on(final PlayerInteractEvent event)
     {
-        if (colony.isCoordInColony(event.getWorld(), event.getPos())
-              && !(event instanceof PlayerInteractEvent.EntityInteract || event instanceof PlayerInteractEvent.EntityInteractSpecific))
+        if (event instanceof PlayerInteractEvent.EntityInteract || event instanceof PlayerInteractEvent.EntityInteractSpecific)
         {
-            final Block block = event.getWorld().getBlockState(event.getPos()).getBlock();
-            // Huts
-            if (block instanceof AbstractBlockHut
-                  && !colony.getPermissions().hasPermission(event.getEntityPlayer(), Action.ACCESS_HUTS))
+            return;
+        }
+
+        for (final Colony colony : ColonyManager.getColoniesAt(event.getWorld(), event.getPos()))
+        {
+            if (checkInteractDenied(colony, event))
             {
-                cancelEvent(event, event.getEntityPlayer());
                 return;
             }
+        }
+    }
 
-            final Permissions perms = colony.getPermissions();
+    /**
+     * Check the PlayerInteractEvent for one colony and cancel it if needed.
+     *
+     * @param colony the colony at the position of the event.
+     * @param event  PlayerInteractEvent
+     * @return true if the event was canceled.
+     */
+    private boolean checkInteractDenied(@NotNull final Colony colony, @NotNull final PlayerInteractEvent event)
+    {
+        final Block block = event.getWorld().getBlockState(event.getPos()).getBlock();
+        // Huts
+        if (block instanceof AbstractBlockHut
+              && !colony.getPermissions().hasPermission(event.getEntityPlayer(), Action.ACCESS_HUTS))
+        {
+            cancelEvent(event, event.getEntityPlayer());
+            return true;
+        }
+
+        final Permissions perms = colony.getPermissions();
 
-            if (isFreeToInteractWith(block, event.getPos())
-                  && perms.hasPermission(event.getEntityPlayer(), Action.ACCESS_FREE_BLOCKS))
+        if (isFreeToInteractWith(colony, block, event.getPos())
+              && perms.hasPermission(event.getEntityPlayer(), Action.ACCESS_FREE_BLOCKS))
+        {
+            return false;
+        }
+
+        if (Configurations.gameplay.enableColonyProtection)
+        {
+            if (!perms.hasPermission(event.getEntityPlayer(), Action.RIGHTCLICK_BLOCK) && block != null && block != Blocks.AIR)
             {
-                return;
+                cancelEvent(event, event.getEntityPlayer());
+                return true;
             }
 
-            if (Configurations.gameplay.enableColonyProtection)
+            if (block instanceof BlockContainer && !perms.hasPermission(event.getEntityPlayer(),
+              Action.OPEN_CONTAINER))
             {
-                if (!perms.hasPermission(event.getEntityPlayer(), Action.RIGHTCLICK_BLOCK) && block != null && block != Blocks.AIR)
-                {
-                    cancelEvent(event, event.getEntityPlayer());
-                    return;
-                }
-
-                if (block instanceof BlockContainer && !perms.hasPermission(event.getEntityPlayer(),
-                  Action.OPEN_CONTAINER))
-                {
-                    cancelEvent(event, event.getEntityPlayer());
-                    return;
-                }
+                cancelEvent(event, event.getEntityPlayer());
+                return true;
+            }
 
-                if (event.getWorld().getTileEntity(event.getPos()) != null && !perms.hasPermission(event.getEntityPlayer(), Action.RIGHTCLICK_ENTITY))
-                {
-                    cancelEvent(event, event.getEntityPlayer());
-                    return;
-                }
+            if (event.getWorld().getTileEntity(event.getPos()) != null && !perms.hasPermission(event.getEntityPlayer(), Action.RIGHTCLICK_ENTITY))
+            {
+                cancelEvent(event, event.getEntityPlayer());
+                return true;
+            }
 
-                final ItemStack stack = event.getItemStack();
-                if(ItemStackUtils.isEmpty(stack) || stack.getItem() instanceof ItemFood)
-                {
-                    return;
-                }
+            final ItemStack stack = event.getItemStack();
+            if(ItemStackUtils.isEmpty(stack) || stack.getItem() instanceof ItemFood)
+            {
+                return false;
+            }
 
-                if (stack.getItem() instanceof ItemPotion && !perms.hasPermission(event.getEntityPlayer(),
-                  Action.THROW_POTION))
-                {
-                    cancelEvent(event, event.getEntityPlayer());
-                    return;
-                }
+            if (stack.getItem() instanceof ItemPotion && !perms.hasPermission(event.getEntityPlayer(),
+              Action.THROW_POTION))
+            {
+                cancelEvent(event, event.getEntityPlayer());
+                return true;
+            }
 
-                if (stack.getItem() instanceof ItemScanTool
-                      && !perms.hasPermission(event.getEntityPlayer(), Action.USE_SCAN_TOOL))
-                {
-                    cancelEvent(event, event.getEntityPlayer());
-                    return;
-                }
+            if (stack.getItem() instanceof ItemScanTool
+                  && !perms.hasPermission(event.getEntityPlayer(), Action.USE_SCAN_TOOL))
+            {
+                cancelEvent(event, event.getEntityPlayer());
+                return true;
             }
         }
+        return false;
     }
 
     /**
      * Check in the config if that block can be interacted with freely.
      *
-     * @param block the block to check.
+     * @param colony the colony to check on.
+     * @param block  the block to check.
+     * @param pos    the position to check.
      * @return true if so.
      */
-    private boolean isFreeToInteractWith(@Nullable final Block block, final BlockPos pos)
+    private static boolean isFreeToInteractWith(@NotNull final Colony colony, @Nullable final Block block, final BlockPos pos)
     {
         return (block != null && colony.getFreeBlocks().stream().anyMatch(b -> b.equals(block))) || colony.getFreePositions().stream().anyMatch(position -> position.equals(pos));
     }
@@ -291,13 +290,7 @@ public class ColonyPermissionEventHandler
     @SubscribeEvent
     public void on(final PlayerInteractEvent.EntityInteract event)
     {
-        if (isFreeToInteractWith(null, event.getPos())
-              && colony.getPermissions().hasPermission(event.getEntityPlayer(), Action.ACCESS_FREE_BLOCKS))
-        {
-            return;
-        }
-
-        checkEventCancelation(Action.RIGHTCLICK_ENTITY, event.getEntityPlayer(), event.getWorld(), event);
+        checkEntityInteractCancelation(event);
     }
 
     /**
@@ -308,15 +301,22 @@ public class ColonyPermissionEventHandler
      * @param world    the world.
      * @param event    the event.
      */
-    private void checkEventCancelation(final Action action, @NotNull final EntityPlayer playerIn, @NotNull final World world, @NotNull final Event event)
+    private static void checkEventCancelation(final Action action, @NotNull final EntityPlayer playerIn, @NotNull final World world, @NotNull final Event event)
     {
+        if (!Configurations.gameplay.enableColonyProtection)
+        {
+            return;
+        }
+
         @NotNull final EntityPlayer player = EntityUtils.getPlayerOfFakePlayer(playerIn, world);
 
-        if (Configurations.gameplay.enableColonyProtection
-              && colony.isCoordInColony(player.getEntityWorld(), player.getPosition())
-              && !colony.getPermissions().hasPermission(player, action))
+        for (final Colony colony : ColonyManager.getColoniesAt(player.getEntityWorld(), player.getPosition()))
         {
-            cancelEvent(event, player);
+            if (!colony.getPermissions().hasPermission(player, action))
+            {
+                cancelEvent(event, player);
+                return;
+            }
         }
     }
 
@@ -333,12 +333,32 @@ public class ColonyPermissionEventHandler
     @SubscribeEvent
     public void on(final PlayerInteractEvent.EntityInteractSpecific event)
     {
-        if (isFreeToInteractWith(null, event.getPos())
-              && colony.getPermissions().hasPermission(event.getEntityPlayer(), Action.ACCESS_FREE_BLOCKS))
+        checkEntityInteractCancelation(event);
+    }
+
+    /**
+     * Check if an entity interaction should be canceled, unless the position is free to interact with.
+     *
+     * @param event the event.
+     */
+    private static void checkEntityInteractCancelation(@NotNull final PlayerInteractEvent event)
+    {
+        @NotNull final EntityPlayer player = EntityUtils.getPlayerOfFakePlayer(event.getEntityPlayer(), event.getWorld());
+
+        for (final Colony colony : ColonyManager.getColoniesAt(player.getEntityWorld(), player.getPosition()))
         {
-            return;
+            if (isFreeToInteractWith(colony, null, event.getPos())
+                  && colony.getPermissions().hasPermission(event.getEntityPlayer(), Action.ACCESS_FREE_BLOCKS))
+            {
+                continue;
+            }
+
+            if (Configurations.gameplay.enableColonyProtection && !colony.getPermissions().hasPermission(player, Action.RIGHTCLICK_ENTITY))
+            {
+                cancelEvent(event, player);
+                return;
+            }
         }
-        checkEventCancelation(Action.RIGHTCLICK_ENTITY, event.getEntityPlayer(), event.getWorld(), event);
     }
 
     /**
@@ -425,8 +445,12 @@ public class ColonyPermissionEventHandler
 
         @NotNull final EntityPlayer player = EntityUtils.getPlayerOfFakePlayer(event.getEntityPlayer(), event.getEntityPlayer().getEntityWorld());
 
-        if (Configurations.gameplay.enableColonyProtection
-              && colony.isCoordInColony(player.getEntityWorld(), player.getPosition()))
+        if (!Configurations.gameplay.enableColonyProtection)
+        {
+            return;
+        }
+
+        for (final Colony colony : ColonyManager.getColoniesAt(player.getEntityWorld(), player.getPosition()))
         {
             final Permissions perms = colony.getPermissions();
             if (event.getTarget() instanceof EntityCitizen)
@@ -434,12 +458,12 @@ public class ColonyPermissionEventHandler
                 final EntityCitizen citizen = (EntityCitizen) event.getTarget();
                 if (citizen.getColonyJob() instanceof JobGuard && perms.hasPermission(event.getEntityPlayer(), Action.GUARDS_ATTACK))
                 {
-                    return;
+                    continue;
                 }
 
                 if (perms.hasPermission(event.getEntityPlayer(), Action.ATTACK_CITIZEN))
                 {
-                    return;
+                    continue;
                 }
 
                 cancelEvent(event, player);
@@ -449,6 +473,7 @@ public class ColonyPermissionEventHandler
             if (!(event.getTarget() instanceof  EntityMob) && !perms.hasPermission(event.getEntityPlayer(), Action.ATTACK_ENTITY))
             {
                 cancelEvent(event, player);
+                return;
             }
         }
     }
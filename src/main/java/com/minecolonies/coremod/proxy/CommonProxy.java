@@ -11,7 +11,9 @@ import com.minecolonies.coremod.entity.ai.mobs.barbarians.EntityChiefBarbarian;
 import com.minecolonies.coremod.entity.ai.mobs.util.BarbarianSpawnUtils;
 import com.minecolonies.coremod.event.EventHandler;
 import com.minecolonies.coremod.event.FMLEventHandler;
+import com.minecolonies.coremod.event.TerrainGenEventHandler;
 import com.minecolonies.coremod.inventory.GuiHandler;
+import com.minecolonies.coremod.permissions.ColonyPermissionEventHandler;
 import com.minecolonies.coremod.sounds.ModSoundEvents;
 import com.minecolonies.coremod.tileentities.*;
 import net.minecraft.nbt.NBTTagCompound;
@@ -91,6 +93,8 @@ public class CommonProxy implements IProxy
     {
         MinecraftForge.EVENT_BUS.register(new EventHandler());
         MinecraftForge.EVENT_BUS.register(new FMLEventHandler());
+        MinecraftForge.EVENT_BUS.register(new ColonyPermissionEventHandler());
+        MinecraftForge.TERRAIN_GEN_BUS.register(new TerrainGenEventHandler());
     }
 
     /*
@@ -0,0 +1,26 @@
+package com.minecolonies.coremod.tileentities;
+
+import com.minecolonies.coremod.entity.ai.item.handling.ItemStorage;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Listener notified when the content of a {@link TileEntityRack} changes.
+ */
+public interface IRackContentListener
+{
+    /**
+     * Called when the amount of one item type in the rack changed.
+     *
+     * @param rack    the rack.
+     * @param storage the item type.
+     * @param amount  the new amount, 0 if the rack doesn't hold the type anymore.
+     */
+    void onRackContentChanged(@NotNull TileEntityRack rack, @NotNull ItemStorage storage, int amount);
+
+    /**
+     * Called when the whole content of the rack has been scanned again, see {@link TileEntityRack#getContent()}.
+     *
+     * @param rack the rack.
+     */
+    void onRackContentReset(@NotNull TileEntityRack rack);
+}
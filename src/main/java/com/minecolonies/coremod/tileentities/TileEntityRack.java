@@ -23,8 +23,7 @@ import net.minecraftforge.items.ItemStackHandler;
 import net.minecraftforge.items.wrapper.CombinedInvWrapper;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.function.Predicate;
 
 /**
@@ -94,18 +93,41 @@ public class TileEntityRack extends TileEntity
      */
     private final Map<ItemStorage, Integer> content = new HashMap<>();
 
+    /**
+     * The item type and amount of each slot when last tracked, to update the content by the difference.
+     */
+    private ItemStorage[] slotTypes   = new ItemStorage[DEFAULT_SIZE];
+    private int[]         slotAmounts = new int[DEFAULT_SIZE];
+
+    /**
+     * Listeners notified of content changes, held weakly so unloaded listeners don't leak.
+     */
+    private final Set<IRackContentListener> listeners = Collections.newSetFromMap(new WeakHashMap<>());
+
     /**
      * The inventory of the tileEntity.
      */
-    private IItemHandlerModifiable inventory = new ItemStackHandler(DEFAULT_SIZE)
+    private IItemHandlerModifiable inventory = createInventory(DEFAULT_SIZE);
+
+    /**
+     * Create an inventory which tracks the changes of its slots.
+     *
+     * @param slots the amount of slots.
+     * @return the inventory.
+     */
+    @NotNull
+    private IItemHandlerModifiable createInventory(final int slots)
     {
-        @Override
-        protected void onContentsChanged(final int slot)
+        return new ItemStackHandler(slots)
         {
-            updateItemStorage();
-            super.onContentsChanged(slot);
-        }
-    };
+            @Override
+            protected void onContentsChanged(final int slot)
+            {
+                onSlotChanged(slot);
+                super.onContentsChanged(slot);
+            }
+        };
+    }
 
     /**
      * Check if a certain itemstack is present in the inventory.
@@ -200,10 +222,13 @@ public class TileEntityRack extends TileEntity
 
     /**
      * Scans through the whole storage and updates it.
+     * Only needed when stacks were modified without notifying the inventory, slot changes are tracked otherwise.
      */
     public void updateItemStorage()
     {
         content.clear();
+        slotTypes = new ItemStorage[inventory.getSlots()];
+        slotAmounts = new int[inventory.getSlots()];
         for (int slot = 0; slot < inventory.getSlots(); slot++)
         {
             final ItemStack stack = inventory.getStackInSlot(slot);
@@ -214,18 +239,131 @@ public class TileEntityRack extends TileEntity
             }
 
             final ItemStorage storage = new ItemStorage(stack.copy());
-            int amount = ItemStackUtils.getSize(stack);
-            if (content.containsKey(storage))
+            final int amount = ItemStackUtils.getSize(stack);
+            slotTypes[slot] = storage;
+            slotAmounts[slot] = amount;
+            content.merge(storage, amount, Integer::sum);
+        }
+
+        for (final IRackContentListener listener : new ArrayList<>(listeners))
+        {
+            listener.onRackContentReset(this);
+        }
+        updateBlockState();
+        markDirty();
+    }
+
+    /**
+     * Update the content by the change of one slot.
+     * The block state is only updated when the rack became empty or stopped being empty.
+     *
+     * @param slot the changed slot.
+     */
+    private void onSlotChanged(final int slot)
+    {
+        if (slot >= slotTypes.length)
+        {
+            updateItemStorage();
+            return;
+        }
+
+        final boolean wasEmpty = content.isEmpty();
+        final ItemStorage oldType = slotTypes[slot];
+        final int oldAmount = slotAmounts[slot];
+        final ItemStack stack = inventory.getStackInSlot(slot);
+        final int newAmount = ItemStackUtils.getSize(stack);
+
+        if (ItemStackUtils.isEmpty(stack))
+        {
+            slotTypes[slot] = null;
+            slotAmounts[slot] = 0;
+            if (oldType != null)
             {
-                amount += content.remove(storage);
+                changeAmount(oldType, -oldAmount);
             }
-            content.put(storage, amount);
+        }
+        else if (oldType != null && oldType.getItem() == stack.getItem() && oldType.getDamageValue() == stack.getItemDamage())
+        {
+            slotAmounts[slot] = newAmount;
+            if (newAmount != oldAmount)
+            {
+                changeAmount(oldType, newAmount - oldAmount);
+            }
+        }
+        else
+        {
+            if (oldType != null)
+            {
+                changeAmount(oldType, -oldAmount);
+            }
+            final ItemStorage newType = new ItemStorage(stack.copy());
+            slotTypes[slot] = newType;
+            slotAmounts[slot] = newAmount;
+            changeAmount(newType, newAmount);
         }
 
-        updateBlockState();
+        if (wasEmpty != content.isEmpty())
+        {
+            updateBlockState();
+        }
         markDirty();
     }
 
+    /**
+     * Change the amount of an item type in the content and notify the listeners.
+     *
+     * @param storage the item type.
+     * @param delta   the change of the amount.
+     */
+    private void changeAmount(@NotNull final ItemStorage storage, final int delta)
+    {
+        final int amount = content.getOrDefault(storage, 0) + delta;
+        if (amount > 0)
+        {
+            content.put(storage, amount);
+        }
+        else
+        {
+            content.remove(storage);
+        }
+
+        for (final IRackContentListener listener : new ArrayList<>(listeners))
+        {
+            listener.onRackContentChanged(this, storage, Math.max(0, amount));
+        }
+    }
+
+    /**
+     * Get the amount of each item type in the rack.
+     *
+     * @return an unmodifiable view of the content.
+     */
+    @NotNull
+    public Map<ItemStorage, Integer> getContent()
+    {
+        return Collections.unmodifiableMap(content);
+    }
+
+    /**
+     * Notify a listener of the content changes of this rack, until it is removed or garbage collected.
+     *
+     * @param listener the listener.
+     */
+    public void addListener(@NotNull final IRackContentListener listener)
+    {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stop notifying a listener.
+     *
+     * @param listener the listener.
+     */
+    public void removeListener(@NotNull final IRackContentListener listener)
+    {
+        listeners.remove(listener);
+    }
+
     /**
      * Update the blockState of the rack.
      * Switch between connected, single, full and empty texture.
@@ -279,15 +417,7 @@ public class TileEntityRack extends TileEntity
     public void upgradeItemStorage()
     {
         ++size;
-        final IItemHandlerModifiable tempInventory = new ItemStackHandler(DEFAULT_SIZE + size * SLOT_PER_LINE)
-        {
-            @Override
-            protected void onContentsChanged(final int slot)
-            {
-                updateItemStorage();
-                super.onContentsChanged(slot);
-            }
-        };
+        final IItemHandlerModifiable tempInventory = createInventory(DEFAULT_SIZE + size * SLOT_PER_LINE);
 
         for (int slot = 0; slot < inventory.getSlots(); slot++)
         {
@@ -295,6 +425,7 @@ public class TileEntityRack extends TileEntity
         }
 
         inventory = tempInventory;
+        updateItemStorage();
         final IBlockState state = world.getBlockState(pos);
         world.notifyBlockUpdate(pos, state, state, 0x03);
     }
@@ -403,15 +534,7 @@ public class TileEntityRack extends TileEntity
             size = compound.getInteger(TAG_SIZE);
             if (size > 0)
             {
-                inventory = new ItemStackHandler(DEFAULT_SIZE + size * SLOT_PER_LINE)
-                {
-                    @Override
-                    protected void onContentsChanged(final int slot)
-                    {
-                        updateItemStorage();
-                        super.onContentsChanged(slot);
-                    }
-                };
+                inventory = createInventory(DEFAULT_SIZE + size * SLOT_PER_LINE);
             }
         }
 
@@ -535,15 +658,7 @@ public class TileEntityRack extends TileEntity
             size = compound.getInteger(TAG_SIZE);
             if (size > 0)
             {
-                inventory = new ItemStackHandler(DEFAULT_SIZE + size * SLOT_PER_LINE)
-                {
-                    @Override
-                    protected void onContentsChanged(final int slot)
-                    {
-                        updateItemStorage();
-                        super.onContentsChanged(slot);
-                    }
-                };
+                inventory = createInventory(DEFAULT_SIZE + size * SLOT_PER_LINE);
             }
         }
         neighbor = BlockPosUtil.readFromNBT(compound, TAG_NEIGHBOR);
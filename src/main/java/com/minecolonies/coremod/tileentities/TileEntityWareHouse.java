@@ -11,6 +11,7 @@ import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
 import com.minecolonies.coremod.colony.buildings.BuildingDeliveryman;
 import com.minecolonies.coremod.colony.buildings.BuildingHome;
 import com.minecolonies.coremod.colony.buildings.BuildingWareHouse;
+import com.minecolonies.coremod.entity.ai.item.handling.ItemStorage;
 import com.minecolonies.coremod.inventory.InventoryCitizen;
 import net.minecraft.item.ItemFood;
 import net.minecraft.item.ItemStack;
@@ -23,9 +24,7 @@ import net.minecraftforge.items.wrapper.InvWrapper;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Predicate;
@@ -35,7 +34,7 @@ import static com.minecolonies.api.util.constant.TranslationConstants.COM_MINECO
 /**
  * Class which handles the tileEntity of our colonyBuildings.
  */
-public class TileEntityWareHouse extends TileEntityColonyBuilding
+public class TileEntityWareHouse extends TileEntityColonyBuilding implements IRackContentListener
 {
     /**
      * Queue which contains the currentTasks to be executed by the deliveryman.
@@ -49,15 +48,63 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
     private static final int WAIT_TICKS = 5;
 
     /**
-     * Index of last controlled building.
+     * Priorities of the demands, lower ones are served first.
      */
-    private int index = 1;
+    private static final int PRIORITY_FOOD  = 0;
+    private static final int PRIORITY_TOOL  = 1;
+    private static final int PRIORITY_ITEMS = 2;
+
+    /**
+     * The buildings waiting for a delivery, by priority and then in the order they published their needs.
+     */
+    private final Queue<Demand>                 demandQueue = new PriorityQueue<>();
+    private final Map<AbstractBuilding, Demand> demands     = new HashMap<>();
+
+    /**
+     * Counter giving the demands their order.
+     */
+    private long demandSequence = 0;
+
+    /**
+     * If demands were added since they were last matched.
+     */
+    private boolean demandsChanged = false;
+
+    /**
+     * Version of the item index when the demands were last matched.
+     */
+    private int matchedIndexVersion = -1;
+
+    /**
+     * If the needs of the buildings loaded before this warehouse have been collected.
+     */
+    private boolean demandsCollected = false;
 
     /**
      * Ticks past since the last check.
      */
     private int ticksPassed = 0;
 
+    /**
+     * Index of the items in the hut and its containers.
+     */
+    private final WarehouseItemIndex itemIndex = new WarehouseItemIndex();
+
+    /**
+     * If the containers of the building have been indexed yet.
+     */
+    private boolean indexed = false;
+
+    /**
+     * If the content of the hut chest changed since it was indexed.
+     */
+    private boolean hutChanged = true;
+
+    /**
+     * Index of the next container to scan again, chests can't notify the warehouse of changes.
+     */
+    private int rescanIndex = 0;
+
     /**
      * Empty standard constructor.
      */
@@ -86,32 +133,109 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
         ticksPassed = 0;
 
         final AbstractBuilding wareHouseBuilding = getBuilding();
+        if (wareHouseBuilding != null && !getWorld().isRemote)
+        {
+            refreshIndex(wareHouseBuilding);
+        }
+
         if (getColony() != null
                 && wareHouseBuilding instanceof BuildingWareHouse
                 && !((BuildingWareHouse) wareHouseBuilding).getRegisteredDeliverymen().isEmpty())
         {
-            final Map<BlockPos, AbstractBuilding> buildingMap = getColony().getBuildings();
+            if (!demandsCollected)
+            {
+                collectDemands();
+            }
+            matchDemands();
+        }
+    }
+
+    /**
+     * Add a building waiting for a delivery, called by the buildings when their needs grow.
+     *
+     * @param building the building.
+     */
+    public void addDemand(@NotNull final AbstractBuilding building)
+    {
+        final int priority = getPriority(building);
+        final Demand existing = demands.get(building);
+        if (existing != null)
+        {
+            if (existing.priority <= priority)
+            {
+                return;
+            }
+            demandQueue.remove(existing);
+        }
+
+        final Demand demand = new Demand(building, priority, existing == null ? demandSequence++ : existing.sequence);
+        demands.put(building, demand);
+        demandQueue.add(demand);
+        demandsChanged = true;
+    }
+
+    /**
+     * Get the priority of the needs of a building.
+     *
+     * @param building the building.
+     * @return the priority, lower is more urgent.
+     */
+    private static int getPriority(@NotNull final AbstractBuilding building)
+    {
+        if (building instanceof BuildingHome && ((BuildingHome) building).isFoodNeeded())
+        {
+            return PRIORITY_FOOD;
+        }
+        return building.getNeedsTool() == ToolType.NONE ? PRIORITY_ITEMS : PRIORITY_TOOL;
+    }
 
-            if (buildingMap.size() < this.index)
+    /**
+     * Collect the needs published before this warehouse was loaded.
+     */
+    private void collectDemands()
+    {
+        for (final AbstractBuilding building : getColony().getBuildings().values())
+        {
+            if (building != getBuilding() && building.needsAnything())
             {
-                this.index = 1;
+                addDemand(building);
             }
+        }
+        demandsCollected = true;
+    }
 
-            int i = 1;
-            for (@NotNull final Map.Entry<BlockPos, AbstractBuilding> buildingEntry : buildingMap.entrySet())
+    /**
+     * Turn the demands which can be served from the warehouse into tasks for the deliverymen, most urgent first.
+     * Only runs when demands were added or the content of the warehouse changed.
+     */
+    private void matchDemands()
+    {
+        final int indexVersion = getItemIndex().getVersion();
+        if (!demandsChanged && indexVersion == matchedIndexVersion)
+        {
+            return;
+        }
+        demandsChanged = false;
+        matchedIndexVersion = indexVersion;
+
+        final List<Demand> waiting = new ArrayList<>();
+        while (!demandQueue.isEmpty())
+        {
+            final Demand demand = demandQueue.poll();
+            final AbstractBuilding building = demand.building;
+            if (getColony().getBuilding(building.getLocation()) != building
+                    || taskSet.contains(building)
+                    || !building.needsAnything()
+                    || checkInWareHouse(building, true))
             {
-                if (i == index)
-                {
-                    if (!taskSet.contains(buildingEntry.getValue())
-                            && buildingEntry.getValue().needsAnything())
-                    {
-                        checkInWareHouse(buildingEntry.getValue(), true);
-                    }
-                    this.index++;
-                }
-                i++;
+                demands.remove(building);
+            }
+            else
+            {
+                waiting.add(demand);
             }
         }
+        demandQueue.addAll(waiting);
     }
 
     public boolean checkInWareHouse(final BuildingHome buildingEntry, final boolean addToList)
@@ -222,6 +346,143 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
         return buildingEntry instanceof BuildingHome && checkInWareHouse((BuildingHome) buildingEntry, addToList);
     }
 
+    @Override
+    public void markDirty()
+    {
+        super.markDirty();
+        hutChanged = true;
+    }
+
+    /**
+     * Get the item index, indexing the containers and the hut first if needed.
+     *
+     * @return the index.
+     */
+    @NotNull
+    private WarehouseItemIndex getItemIndex()
+    {
+        if (!indexed)
+        {
+            @Nullable final AbstractBuilding building = getBuilding();
+            if (building != null)
+            {
+                syncContainers(building);
+                indexed = true;
+            }
+        }
+
+        if (hutChanged)
+        {
+            itemIndex.update(getPos(), this);
+            hutChanged = false;
+        }
+        return itemIndex;
+    }
+
+    /**
+     * Index added containers, remove removed containers and scan one container again.
+     *
+     * @param building the building of the warehouse.
+     */
+    private void refreshIndex(@NotNull final AbstractBuilding building)
+    {
+        syncContainers(building);
+        indexed = true;
+
+        final List<BlockPos> containers = itemIndex.getContainers();
+        if (containers.isEmpty())
+        {
+            return;
+        }
+
+        rescanIndex = (rescanIndex + 1) % containers.size();
+        final BlockPos pos = containers.get(rescanIndex);
+        if (!pos.equals(getPos()) && getWorld().isBlockLoaded(pos))
+        {
+            updateIndex(pos);
+        }
+    }
+
+    /**
+     * Update the index to match the containers of the building.
+     *
+     * @param building the building of the warehouse.
+     */
+    private void syncContainers(@NotNull final AbstractBuilding building)
+    {
+        final Set<BlockPos> containers = new HashSet<>(building.getAdditionalCountainers());
+        for (final BlockPos pos : itemIndex.getContainers())
+        {
+            if (!pos.equals(getPos()) && !containers.contains(pos))
+            {
+                itemIndex.remove(pos);
+            }
+        }
+
+        for (final BlockPos pos : containers)
+        {
+            if (!itemIndex.isIndexed(pos))
+            {
+                updateIndex(pos);
+            }
+        }
+    }
+
+    /**
+     * Scan a container of the warehouse and update the index, call after changing its content.
+     *
+     * @param pos the position of the container.
+     */
+    public void updateIndex(@NotNull final BlockPos pos)
+    {
+        if (pos.equals(getPos()))
+        {
+            hutChanged = true;
+            return;
+        }
+
+        @Nullable final TileEntity entity = getWorld().getTileEntity(pos);
+        if (entity instanceof TileEntityRack)
+        {
+            ((TileEntityRack) entity).addListener(this);
+            itemIndex.update(pos, ((TileEntityRack) entity).getContent());
+        }
+        else if (entity instanceof TileEntityChest)
+        {
+            itemIndex.update(pos, (TileEntityChest) entity);
+        }
+        else
+        {
+            itemIndex.remove(pos);
+        }
+    }
+
+    @Override
+    public void onRackContentChanged(@NotNull final TileEntityRack rack, @NotNull final ItemStorage storage, final int amount)
+    {
+        if (isInvalid())
+        {
+            rack.removeListener(this);
+        }
+        else if (itemIndex.isIndexed(rack.getPos()))
+        {
+            itemIndex.update(rack.getPos(), storage, amount);
+        }
+    }
+
+    @Override
+    public void onRackContentReset(@NotNull final TileEntityRack rack)
+    {
+        if (isInvalid())
+        {
+            rack.removeListener(this);
+        }
+        else if (itemIndex.isIndexed(rack.getPos()))
+        {
+            itemIndex.update(rack.getPos(), rack.getContent());
+        }
+    }
+
     /**
      * Check if a building is being delivery by on of the warehouses deliverymen.
      *
@@ -250,6 +511,29 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
         return false;
     }
 
+    /**
+     * A building waiting for a delivery.
+     */
+    private static final class Demand implements Comparable<Demand>
+    {
+        private final AbstractBuilding building;
+        private final int              priority;
+        private final long             sequence;
+
+        private Demand(@NotNull final AbstractBuilding building, final int priority, final long sequence)
+        {
+            this.building = building;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(@NotNull final Demand other)
+        {
+            return priority == other.priority ? Long.compare(sequence, other.sequence) : Integer.compare(priority, other.priority);
+        }
+    }
+
     /**
      * Check all chests in the worker hut for a required item.
      *
@@ -258,37 +542,19 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
      */
     public boolean isInHut(@Nullable final ItemStack is)
     {
-        return !ItemStackUtils.isEmpty(is) && isInHut(stack -> !ItemStackUtils.isEmpty(stack) && is.isItemEqual(stack));
+        return !ItemStackUtils.isEmpty(is) && getItemIndex().getPosition(is, null) != null;
     }
 
     /**
      * Check all chests in the worker hut for a required item.
+     * The predicate is tested against one stack per item type.
      *
      * @param itemStackSelectionPredicate the type of item requested (amount is ignored).
      * @return true if a stack of that type was found
      */
     private boolean isInHut(@NotNull final Predicate<ItemStack> itemStackSelectionPredicate)
     {
-        @Nullable final AbstractBuilding building = getBuilding();
-        if (building != null)
-        {
-            if (isInTileEntity(building.getTileEntity(), itemStackSelectionPredicate))
-            {
-                return true;
-            }
-
-            for (final BlockPos pos : building.getAdditionalCountainers())
-            {
-                @Nullable final TileEntity entity = getWorld().getTileEntity(pos);
-                if ((entity instanceof TileEntityRack && ((TileEntityRack) entity).hasItemStack(itemStackSelectionPredicate))
-                        || (entity instanceof TileEntityChest && isInTileEntity((TileEntityChest) entity, itemStackSelectionPredicate)))
-                {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        return getItemIndex().getPosition(itemStackSelectionPredicate, null) != null;
     }
 
     /**
@@ -300,11 +566,12 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
     @Nullable
     public BlockPos getPositionOfChestWithItemStack(@NotNull final ItemStack is)
     {
-        return getPositionOfChestWithItemStack(stack -> !ItemStackUtils.isEmpty(stack) && is.isItemEqual(stack));
+        return ItemStackUtils.isEmpty(is) ? null : getItemIndex().getPosition(is, getPos());
     }
 
     /**
      * Check for a certain item and return the position of the chest containing it.
+     * The predicate is tested against one stack per item type, so it must only depend on the item and the damage value.
      *
      * @param itemStackSelectionPredicate the stack to search for.
      * @return the position or null.
@@ -312,26 +579,7 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
     @Nullable
     public BlockPos getPositionOfChestWithItemStack(@NotNull final Predicate<ItemStack> itemStackSelectionPredicate)
     {
-        @Nullable final AbstractBuilding building = getBuilding();
-
-        if (building != null)
-        {
-            if (isInTileEntity(building.getTileEntity(), itemStackSelectionPredicate))
-            {
-                return building.getLocation();
-            }
-
-            for (final BlockPos pos : building.getAdditionalCountainers())
-            {
-                final TileEntity entity = getWorld().getTileEntity(pos);
-                if ((entity instanceof TileEntityRack && ((TileEntityRack) entity).hasItemStack(itemStackSelectionPredicate))
-                        || (entity instanceof TileEntityChest && isInTileEntity((TileEntityChest) entity, itemStackSelectionPredicate)))
-                {
-                    return pos;
-                }
-            }
-        }
-        return null;
+        return getItemIndex().getPosition(itemStackSelectionPredicate, getPos());
     }
 
     /**
@@ -444,6 +692,10 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
                 return;
             }
             InventoryUtils.transferItemStackIntoNextFreeSlotInProvider(new InvWrapper(inventoryCitizen), i, chest);
+            if (chest instanceof TileEntityChest && chest != this)
+            {
+                updateIndex(chest.getPos());
+            }
         }
     }
 
@@ -0,0 +1,273 @@
+package com.minecolonies.coremod.tileentities;
+
+import com.minecolonies.api.util.ItemStackUtils;
+import com.minecolonies.coremod.entity.ai.item.handling.ItemStorage;
+import net.minecraft.inventory.IInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Index of the items in the containers of a warehouse.
+ * Maps each item type (item and damage value, like {@link ItemStack#isItemEqual(ItemStack)}) to the containers holding it,
+ * so lookups don't have to go through every slot of every container.
+ * Containers which can report single changes, like racks, update the amount of one item type, others are replaced as a whole.
+ */
+public class WarehouseItemIndex
+{
+    /**
+     * The containers holding each item type, with the amount they hold.
+     */
+    private final Map<ItemStorage, Map<BlockPos, Integer>> positions = new HashMap<>();
+
+    /**
+     * The indexed content of each container.
+     */
+    private final Map<BlockPos, Map<ItemStorage, Integer>> containers = new LinkedHashMap<>();
+
+    /**
+     * Changed whenever the index changes, rescans finding the same content leave it alone.
+     */
+    private int version = 0;
+
+    /**
+     * Replace the indexed content of a container.
+     *
+     * @param pos     the position of the container.
+     * @param content the amount of each item type in it.
+     */
+    public void update(@NotNull final BlockPos pos, @NotNull final Map<ItemStorage, Integer> content)
+    {
+        if (content.equals(containers.get(pos)))
+        {
+            return;
+        }
+
+        remove(pos);
+        version++;
+        final Map<ItemStorage, Integer> copy = new HashMap<>(content);
+        containers.put(pos, copy);
+        for (final Map.Entry<ItemStorage, Integer> entry : copy.entrySet())
+        {
+            positions.computeIfAbsent(entry.getKey(), storage -> new LinkedHashMap<>()).put(pos, entry.getValue());
+        }
+    }
+
+    /**
+     * Set the amount of one item type in an indexed container.
+     *
+     * @param pos     the position of the container.
+     * @param storage the item type.
+     * @param amount  the new amount, 0 if the container doesn't hold the type anymore.
+     */
+    public void update(@NotNull final BlockPos pos, @NotNull final ItemStorage storage, final int amount)
+    {
+        final Map<ItemStorage, Integer> content = containers.get(pos);
+        if (content == null || content.getOrDefault(storage, 0) == Math.max(amount, 0))
+        {
+            return;
+        }
+
+        version++;
+        if (amount > 0)
+        {
+            content.put(storage, amount);
+            positions.computeIfAbsent(storage, key -> new LinkedHashMap<>()).put(pos, amount);
+            return;
+        }
+
+        content.remove(storage);
+        final Map<BlockPos, Integer> holders = positions.get(storage);
+        if (holders != null)
+        {
+            holders.remove(pos);
+            if (holders.isEmpty())
+            {
+                positions.remove(storage);
+            }
+        }
+    }
+
+    /**
+     * Replace the indexed content of a container by the content of an inventory.
+     *
+     * @param pos       the position of the container.
+     * @param inventory the inventory.
+     */
+    public void update(@NotNull final BlockPos pos, @NotNull final IInventory inventory)
+    {
+        update(pos, getContent(inventory));
+    }
+
+    /**
+     * Count the amount of each item type in an inventory.
+     *
+     * @param inventory the inventory.
+     * @return the amounts.
+     */
+    @NotNull
+    public static Map<ItemStorage, Integer> getContent(@NotNull final IInventory inventory)
+    {
+        final Map<ItemStorage, Integer> content = new HashMap<>();
+        for (int slot = 0; slot < inventory.getSizeInventory(); slot++)
+        {
+            final ItemStack stack = inventory.getStackInSlot(slot);
+            if (!ItemStackUtils.isEmpty(stack))
+            {
+                content.merge(new ItemStorage(stack.copy()), ItemStackUtils.getSize(stack), Integer::sum);
+            }
+        }
+        return content;
+    }
+
+    /**
+     * Remove a container from the index.
+     *
+     * @param pos the position of the container.
+     */
+    public void remove(@NotNull final BlockPos pos)
+    {
+        final Map<ItemStorage, Integer> content = containers.remove(pos);
+        if (content == null)
+        {
+            return;
+        }
+        version++;
+
+        for (final ItemStorage storage : content.keySet())
+        {
+            final Map<BlockPos, Integer> holders = positions.get(storage);
+            if (holders != null)
+            {
+                holders.remove(pos);
+                if (holders.isEmpty())
+                {
+                    positions.remove(storage);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove all containers from the index.
+     */
+    public void clear()
+    {
+        if (containers.isEmpty())
+        {
+            return;
+        }
+        positions.clear();
+        containers.clear();
+        version++;
+    }
+
+    /**
+     * Get the version of the index, to find out if it changed since it was last used.
+     *
+     * @return the version.
+     */
+    public int getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * Checks if a container is indexed.
+     *
+     * @param pos the position of the container.
+     * @return true if so.
+     */
+    public boolean isIndexed(@NotNull final BlockPos pos)
+    {
+        return containers.containsKey(pos);
+    }
+
+    /**
+     * Get the positions of all indexed containers, in the order they were first indexed.
+     *
+     * @return a copy of the positions.
+     */
+    @NotNull
+    public List<BlockPos> getContainers()
+    {
+        return new ArrayList<>(containers.keySet());
+    }
+
+    /**
+     * Get the amount of an item type in all containers.
+     *
+     * @param stack the item type, the amount is ignored.
+     * @return the amount.
+     */
+    public int getCount(@NotNull final ItemStack stack)
+    {
+        final Map<BlockPos, Integer> holders = positions.get(new ItemStorage(stack));
+        if (holders == null)
+        {
+            return 0;
+        }
+
+        int count = 0;
+        for (final int amount : holders.values())
+        {
+            count += amount;
+        }
+        return count;
+    }
+
+    /**
+     * Get a container holding an item type.
+     *
+     * @param stack     the item type, the amount is ignored.
+     * @param preferred the container to return if it holds the item type.
+     * @return the position of the container or null.
+     */
+    @Nullable
+    public BlockPos getPosition(@NotNull final ItemStack stack, @Nullable final BlockPos preferred)
+    {
+        final Map<BlockPos, Integer> holders = positions.get(new ItemStorage(stack));
+        if (holders == null)
+        {
+            return null;
+        }
+        if (preferred != null && holders.containsKey(preferred))
+        {
+            return preferred;
+        }
+        return holders.keySet().iterator().next();
+    }
+
+    /**
+     * Get a container holding an item type matching a predicate.
+     * Tests one stack per item type, so the predicate must only depend on the item and the damage value.
+     *
+     * @param itemStackSelectionPredicate the predicate.
+     * @param preferred                   the container to return if it holds a matching item type.
+     * @return the position of the container or null.
+     */
+    @Nullable
+    public BlockPos getPosition(@NotNull final Predicate<ItemStack> itemStackSelectionPredicate, @Nullable final BlockPos preferred)
+    {
+        BlockPos found = null;
+        for (final Map.Entry<ItemStorage, Map<BlockPos, Integer>> entry : positions.entrySet())
+        {
+            if (itemStackSelectionPredicate.test(entry.getKey().getItemStack()))
+            {
+                if (preferred != null && entry.getValue().containsKey(preferred))
+                {
+                    return preferred;
+                }
+                if (found == null)
+                {
+                    found = entry.getValue().keySet().iterator().next();
+                }
+            }
+        }
+        return found;
+    }
+}
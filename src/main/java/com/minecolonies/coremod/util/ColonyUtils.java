@@ -3,15 +3,12 @@ package com.minecolonies.coremod.util;
 import com.minecolonies.api.util.CompatibilityUtils;
 import com.minecolonies.coremod.colony.CitizenData;
 import com.minecolonies.coremod.entity.EntityCitizen;
-import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.util.Mirror;
 import net.minecraft.util.Tuple;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Set;
-
 /**
  * Contains colony specific utility.
  */
@@ -30,25 +27,6 @@ public class ColonyUtils
         return entity != null && CompatibilityUtils.getWorld(entity).getEntityByID(entity.getEntityId()) != entity;
     }
 
-    /**
-     * Checks if the colony has new subscribers.
-     *
-     * @param oldSubscribers old subscribers.
-     * @param subscribers    all subscribers.
-     * @return true if so.
-     */
-    public static boolean hasNewSubscribers(@NotNull final Set<EntityPlayerMP> oldSubscribers, @NotNull final Set<EntityPlayerMP> subscribers)
-    {
-        for (final EntityPlayerMP player : subscribers)
-        {
-            if (!oldSubscribers.contains(player))
-            {
-                return true;
-            }
-        }
-        return false;
-    }
-
     /**
      * Calculated the corner of a building.
      * @param pos the central position.
@@ -453,6 +453,17 @@ public final class StructureWrapper
         return this.progressPos.add(getOffsetPosition());
     }
 
+    /**
+     * Set a position to the world position of progressPos, without creating a new position.
+     *
+     * @param origin the min world position, see {@link #getOffsetPosition()}.
+     * @param pos    the position to set.
+     */
+    public void getBlockPosition(@NotNull final BlockPos origin, @NotNull final BlockPos.MutableBlockPos pos)
+    {
+        pos.setPos(this.progressPos.getX() + origin.getX(), this.progressPos.getY() + origin.getY(), this.progressPos.getZ() + origin.getZ());
+    }
+
     /**
      * @return Min world position for the structure.
      */
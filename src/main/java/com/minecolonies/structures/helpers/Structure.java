@@ -87,11 +87,6 @@ public class Structure
      */
     private static final int BUFFER_SIZE = 1024;
 
-    /**
-     * Required Datafixer
-     */
-    private final DataFixer fixer;
-
     /**
      * List of models.
      */
@@ -110,6 +105,12 @@ public class Structure
     private PlacementSettings settings;
     private String            md5;
 
+    /**
+     * The shared cache entry of the template, null if the template is not cached.
+     */
+    @Nullable
+    private StructureCache.Entry cacheEntry;
+
     /**
      * Constuctor of Structure, tries to create a new structure.
      *
@@ -125,7 +126,20 @@ public class Structure
             this.settings = settings;
             this.mc = Minecraft.getMinecraft();
         }
-        this.fixer = DataFixesManager.createFixer();
+
+        //Schematics with a known md5 are shared, the others are read each time.
+        final String cacheMd5 = Structures.hasMD5(structureName) ? Structures.getMD5(structureName) : null;
+        if (cacheMd5 != null)
+        {
+            final StructureCache.Entry entry = StructureCache.get(structureName, cacheMd5);
+            if (entry != null)
+            {
+                this.cacheEntry = entry;
+                this.template = entry.getTemplate();
+                this.md5 = entry.getMd5();
+                return;
+            }
+        }
 
         InputStream inputStream = null;
         try
@@ -155,7 +169,11 @@ public class Structure
             try
             {
                 this.md5 = Structure.calculateMD5(Structure.getStream(correctStructureName));
-                this.template = readTemplateFromStream(inputStream, fixer);
+                this.template = readTemplateFromStream(inputStream, DataFixesManager.createFixer());
+                if (cacheMd5 != null && this.template != null)
+                {
+                    this.cacheEntry = StructureCache.put(structureName, cacheMd5, this.template);
+                }
             }
             catch (final IOException e)
             {
@@ -181,7 +199,6 @@ public class Structure
             this.settings = settings;
             this.mc = Minecraft.getMinecraft();
         }
-        this.fixer = DataFixesManager.createFixer();
     }
 
     /**
@@ -481,6 +498,17 @@ public class Structure
         return template == null;
     }
 
+    /**
+     * Getter for the shared cache entry of the template.
+     *
+     * @return the entry or null if the template is not cached.
+     */
+    @Nullable
+    public StructureCache.Entry getCacheEntry()
+    {
+        return cacheEntry;
+    }
+
     public Template.BlockInfo[] getBlockInfo()
     {
         Template.BlockInfo[] blockList = new Template.BlockInfo[template.blocks.size()];
@@ -0,0 +1,258 @@
+package com.minecolonies.structures.helpers;
+
+import com.minecolonies.api.configuration.Configurations;
+import com.minecolonies.api.util.constant.Suppression;
+import net.minecraft.util.Mirror;
+import net.minecraft.util.Rotation;
+import net.minecraft.world.gen.structure.template.Template;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Shares the parsed templates of the schematics, keyed by name and md5, so they are read and fixed only once.
+ * The entries are evicted least recently used first when their estimated memory exceeds the configured size.
+ * Evicted entries are kept weakly, so they are found again as long as a structure still uses them.
+ * Used by the server and the client thread.
+ */
+public final class StructureCache
+{
+    /**
+     * Estimated memory of a block of a template and of a cell of the block arrays of a variant, in bytes.
+     */
+    private static final int BLOCK_BYTES = 64;
+    private static final int CELL_BYTES  = 8;
+
+    /**
+     * Bytes per kilobyte, the cache size is configured in kilobytes.
+     */
+    private static final long KILOBYTE = 1024L;
+
+    /**
+     * The entries by key, the least recently used first.
+     */
+    private static final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75F, true);
+
+    /**
+     * The evicted entries by key.
+     */
+    private static final Map<String, WeakReference<Entry>> evicted = new HashMap<>();
+
+    /**
+     * Estimated memory of all entries, in bytes.
+     */
+    private static long size = 0;
+
+    /**
+     * Statistics.
+     */
+    private static long hits      = 0;
+    private static long misses    = 0;
+    private static long evictions = 0;
+
+    private StructureCache()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Get the entry of a schematic.
+     *
+     * @param name the name of the schematic.
+     * @param md5  the md5 of the schematic.
+     * @return the entry or null if not cached.
+     */
+    @Nullable
+    public static synchronized Entry get(@NotNull final String name, @NotNull final String md5)
+    {
+        final String key = getKey(name, md5);
+        Entry entry = entries.get(key);
+        if (entry == null)
+        {
+            final WeakReference<Entry> reference = evicted.remove(key);
+            entry = reference == null ? null : reference.get();
+            if (entry != null)
+            {
+                add(key, entry);
+            }
+        }
+
+        if (entry == null)
+        {
+            misses++;
+        }
+        else
+        {
+            hits++;
+        }
+        return entry;
+    }
+
+    /**
+     * Cache the template of a schematic.
+     *
+     * @param name     the name of the schematic.
+     * @param md5      the md5 of the schematic.
+     * @param template the parsed template, must not be changed afterwards.
+     * @return the entry.
+     */
+    @NotNull
+    public static synchronized Entry put(@NotNull final String name, @NotNull final String md5, @NotNull final Template template)
+    {
+        final String key = getKey(name, md5);
+        final Entry old = entries.remove(key);
+        if (old != null)
+        {
+            size -= old.size;
+            old.cached = false;
+        }
+
+        final Entry entry = new Entry(template, md5);
+        add(key, entry);
+        return entry;
+    }
+
+    /**
+     * Forget all entries and statistics.
+     */
+    public static synchronized void clear()
+    {
+        entries.clear();
+        evicted.clear();
+        size = 0;
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /**
+     * Get a human readable line of the statistics.
+     *
+     * @return the line.
+     */
+    @NotNull
+    public static synchronized String getReport()
+    {
+        return String.format("§2Schematic cache: §f%d §2entries, §f%dkB§2, §f%d §2hits, §f%d §2misses, §f%d §2evictions",
+          entries.size(), size / KILOBYTE, hits, misses, evictions);
+    }
+
+    private static String getKey(@NotNull final String name, @NotNull final String md5)
+    {
+        return name + '/' + md5;
+    }
+
+    private static void add(@NotNull final String key, @NotNull final Entry entry)
+    {
+        entries.put(key, entry);
+        entry.cached = true;
+        size += entry.size;
+        evict();
+    }
+
+    /**
+     * Evict the least recently used entries until the cache fits into the configured size, the last used entry is always kept.
+     */
+    private static void evict()
+    {
+        final long maxSize = Configurations.gameplay.schematicCacheSize * KILOBYTE;
+        final Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (size > maxSize && entries.size() > 1)
+        {
+            final Map.Entry<String, Entry> eldest = iterator.next();
+            iterator.remove();
+            size -= eldest.getValue().size;
+            eldest.getValue().cached = false;
+            evicted.put(eldest.getKey(), new WeakReference<>(eldest.getValue()));
+            evictions++;
+        }
+        evicted.values().removeIf(reference -> reference.get() == null);
+    }
+
+    /**
+     * A cached schematic, with the rotated and mirrored variants of its blocks which were used so far.
+     */
+    public static final class Entry
+    {
+        private final Template             template;
+        private final String               md5;
+        private final Map<Integer, Object> variants = new HashMap<>();
+        private       long                 size;
+        private       boolean              cached;
+
+        private Entry(@NotNull final Template template, @NotNull final String md5)
+        {
+            this.template = template;
+            this.md5 = md5;
+            this.size = (long) template.blocks.size() * BLOCK_BYTES;
+        }
+
+        /**
+         * Getter for the template, must not be changed.
+         *
+         * @return the template.
+         */
+        @NotNull
+        public Template getTemplate()
+        {
+            return template;
+        }
+
+        /**
+         * Getter for the md5 of the schematic.
+         *
+         * @return the md5.
+         */
+        @NotNull
+        public String getMd5()
+        {
+            return md5;
+        }
+
+        /**
+         * Get a variant of the blocks, it is created once and then shared, so it must not be changed.
+         *
+         * @param rotation the rotation, null for the blocks as read.
+         * @param mirror   the mirror.
+         * @param volume   the amount of cells of the variant, for the memory estimate.
+         * @param creator  creates the variant.
+         * @param <T>      the type of the variant.
+         * @return the variant.
+         */
+        @NotNull
+        @SuppressWarnings(Suppression.UNCHECKED)
+        public <T> T getVariant(@Nullable final Rotation rotation, @NotNull final Mirror mirror, final long volume, @NotNull final Supplier<T> creator)
+        {
+            final int key = rotation == null ? -1 : (rotation.ordinal() * Mirror.values().length + mirror.ordinal());
+            synchronized (StructureCache.class)
+            {
+                final Object variant = variants.get(key);
+                if (variant != null)
+                {
+                    return (T) variant;
+                }
+            }
+
+            final T variant = creator.get();
+            synchronized (StructureCache.class)
+            {
+                final Object existing = variants.putIfAbsent(key, variant);
+                if (existing != null)
+                {
+                    return (T) existing;
+                }
+
+                size += volume * CELL_BYTES;
+                if (cached)
+                {
+                    StructureCache.size += volume * CELL_BYTES;
+                    evict();
+                }
+            }
+            return variant;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Proxy class translating the structures method to something we can use.
@@ -40,31 +41,17 @@ public class StructureProxy
             return;
         }
         final BlockPos size = structure.getSize(Rotation.NONE);
+        setLayout(getLayout(null, Mirror.NONE, size, () -> createLayout(size)));
 
-        this.width = size.getX();
-        this.height = size.getY();
-        this.length = size.getZ();
-
-        this.blocks = new Template.BlockInfo[width][height][length];
-        this.entities = new Template.EntityInfo[width][height][length];
-
-        for (final Template.BlockInfo info : structure.getBlockInfo())
+        if (!structure.getTileEntities().isEmpty())
         {
-            final BlockPos tempPos = info.pos;
-            blocks[tempPos.getX()][tempPos.getY()][tempPos.getZ()] = info;
-            entities[tempPos.getX()][tempPos.getY()][tempPos.getZ()] = null;
-
-            if (info.blockState.getBlock() instanceof AbstractBlockHut)
+            this.entities = new Template.EntityInfo[width][height][length];
+            for (final Template.EntityInfo info : structure.getTileEntities())
             {
-                offset = info.pos;
+                final BlockPos tempPos = info.blockPos;
+                entities[tempPos.getX()][tempPos.getY()][tempPos.getZ()] = info;
             }
         }
-
-        for (final Template.EntityInfo info : structure.getTileEntities())
-        {
-            final BlockPos tempPos = info.blockPos;
-            entities[tempPos.getX()][tempPos.getY()][tempPos.getZ()] = info;
-        }
     }
 
     /**
@@ -162,7 +149,7 @@ public class StructureProxy
     @Nullable
     public Template.EntityInfo getEntityinfo(@NotNull final BlockPos pos)
     {
-        if (entities[pos.getX()][pos.getY()].length == 0)
+        if (entities == null || entities[pos.getX()][pos.getY()].length == 0)
         {
             return null;
         }
@@ -224,22 +211,101 @@ public class StructureProxy
             default:
                 rotation = Rotation.NONE;
         }
-        structure.setPlacementSettings(new PlacementSettings().setRotation(rotation).setMirror(mirror));
+        final PlacementSettings settings = new PlacementSettings().setRotation(rotation).setMirror(mirror);
+        structure.setPlacementSettings(settings);
 
         final BlockPos size = structure.getSize(rotation);
+        final Layout layout = getLayout(rotation, mirror, size, () -> createLayout(settings, size, times));
+        setLayout(layout);
 
-        this.width = size.getX();
-        this.height = size.getY();
-        this.length = size.getZ();
+        this.entities = null;
+        if (structure.getTileEntities().isEmpty())
+        {
+            return;
+        }
 
-        this.blocks = new Template.BlockInfo[width][height][length];
         this.entities = new Template.EntityInfo[width][height][length];
+        for (final Template.EntityInfo info : structure.getTileEntities())
+        {
+            final Template.EntityInfo newInfo = structure.transformEntityInfoWithSettings(info, world, rotatePos.subtract(offset).add(layout.min), settings);
+            //289 74 157 - 289.9 76.5, 157.5
+            final BlockPos tempPos = Template.transformedBlockPos(settings, info.blockPos).add(layout.min);
+            this.entities[tempPos.getX()][tempPos.getY()][tempPos.getZ()] = newInfo;
+        }
+    }
+
+    /**
+     * Get a layout of the blocks, shared with the other proxies of the same schematic if it is cached.
+     *
+     * @param rotation the rotation, null for the blocks as read.
+     * @param mirror   the mirror.
+     * @param size     the size of the layout.
+     * @param creator  creates the layout.
+     * @return the layout.
+     */
+    @NotNull
+    private Layout getLayout(@Nullable final Rotation rotation, @NotNull final Mirror mirror, @NotNull final BlockPos size, @NotNull final Supplier<Layout> creator)
+    {
+        final StructureCache.Entry entry = structure.getCacheEntry();
+        if (entry == null)
+        {
+            return creator.get();
+        }
+        return entry.getVariant(rotation, mirror, (long) size.getX() * size.getY() * size.getZ(), creator);
+    }
+
+    private void setLayout(@NotNull final Layout layout)
+    {
+        this.blocks = layout.blocks;
+        this.width = layout.size.getX();
+        this.height = layout.size.getY();
+        this.length = layout.size.getZ();
+        this.offset = layout.offset;
+    }
+
+    /**
+     * Create the layout of the blocks as read.
+     *
+     * @param size the size of the structure.
+     * @return the layout.
+     */
+    @NotNull
+    private Layout createLayout(@NotNull final BlockPos size)
+    {
+        final Template.BlockInfo[][][] layoutBlocks = new Template.BlockInfo[size.getX()][size.getY()][size.getZ()];
+        BlockPos hutPos = null;
+
+        for (final Template.BlockInfo info : structure.getBlockInfo())
+        {
+            final BlockPos tempPos = info.pos;
+            layoutBlocks[tempPos.getX()][tempPos.getY()][tempPos.getZ()] = info;
+
+            if (info.blockState.getBlock() instanceof AbstractBlockHut)
+            {
+                hutPos = info.pos;
+            }
+        }
+        return new Layout(layoutBlocks, size, BlockPos.ORIGIN, hutPos);
+    }
+
+    /**
+     * Create the layout of the rotated and mirrored blocks.
+     *
+     * @param settings the rotation and mirror.
+     * @param size     the size of the rotated structure.
+     * @param times    times the structure is rotated.
+     * @return the layout.
+     */
+    @NotNull
+    private Layout createLayout(@NotNull final PlacementSettings settings, @NotNull final BlockPos size, final int times)
+    {
+        final Template.BlockInfo[] blockInfos = structure.getBlockInfoWithSettings(settings);
 
         int minX = 0;
         int minY = 0;
         int minZ = 0;
 
-        for (final Template.BlockInfo info : structure.getBlockInfoWithSettings(new PlacementSettings().setRotation(rotation).setMirror(mirror)))
+        for (final Template.BlockInfo info : blockInfos)
         {
             final BlockPos tempPos = info.pos;
             final int x = tempPos.getX();
@@ -264,64 +330,69 @@ public class StructureProxy
         minX = Math.abs(minX);
         minY = Math.abs(minY);
         minZ = Math.abs(minZ);
-        boolean foundHut = false;
-        final PlacementSettings settings = new PlacementSettings().setRotation(rotation).setMirror(mirror);
+        BlockPos hutOffset = null;
 
-        for (final Template.BlockInfo info : structure.getBlockInfoWithSettings(settings))
+        final Template.BlockInfo[][][] layoutBlocks = new Template.BlockInfo[size.getX()][size.getY()][size.getZ()];
+        for (final Template.BlockInfo info : blockInfos)
         {
             final BlockPos tempPos = info.pos;
             final int x = tempPos.getX() + minX;
             final int y = tempPos.getY() + minY;
             final int z = tempPos.getZ() + minZ;
 
-            this.blocks[x][y][z] = info;
-            this.entities[x][y][z] = null;
+            layoutBlocks[x][y][z] = info;
 
             if (info.blockState.getBlock() instanceof AbstractBlockHut)
             {
-                foundHut = true;
-                offset = info.pos.add(minX, minY, minZ);
+                hutOffset = info.pos.add(minX, minY, minZ);
             }
         }
 
-        updateOffSetIfDecoration(foundHut, size, times, minX, minY, minZ);
+        final BlockPos layoutOffset = hutOffset == null ? getDecorationOffset(size, times, minX, minY, minZ) : hutOffset;
+        return new Layout(layoutBlocks, size, new BlockPos(minX, minY, minZ), layoutOffset);
+    }
 
-        for (final Template.EntityInfo info : structure.getTileEntities())
+    /**
+     * Calculates the offset of a decoration, its center.
+     *
+     * @return the offset.
+     */
+    @NotNull
+    private static BlockPos getDecorationOffset(final BlockPos size, final int rotation, final int minX, final int minY, final int minZ)
+    {
+        BlockPos tempSize = size;
+        if (rotation == 1)
         {
-            final Template.EntityInfo newInfo = structure.transformEntityInfoWithSettings(info, world, rotatePos.subtract(offset).add(new BlockPos(minX, minY, minZ)), settings);
-            //289 74 157 - 289.9 76.5, 157.5
-            final BlockPos tempPos = Template.transformedBlockPos(settings, info.blockPos);
-            final int x = tempPos.getX() + minX;
-            final int y = tempPos.getY() + minY;
-            final int z = tempPos.getZ() + minZ;
-            this.entities[x][y][z] = newInfo;
+            tempSize = new BlockPos(-size.getX(), size.getY(), size.getZ());
         }
+        if (rotation == 2)
+        {
+            tempSize = new BlockPos(-size.getX(), size.getY(), -size.getZ());
+        }
+        if (rotation == 3)
+        {
+            tempSize = new BlockPos(size.getX(), size.getY(), -size.getZ());
+        }
+
+        return new BlockPos(tempSize.getX() / 2, 0, tempSize.getZ() / 2).add(minX, minY, minZ);
     }
 
     /**
-     * Updates the offset if the structure is a decoration.
-     *
-     * @param foundHut if false update.
+     * The blocks of the structure in one rotation and mirror, must not be changed as proxies share it.
      */
-    private void updateOffSetIfDecoration(final boolean foundHut, final BlockPos size, final int rotation, final int minX, final int minY, final int minZ)
+    private static final class Layout
     {
-        if (!foundHut)
-        {
-            BlockPos tempSize = size;
-            if (rotation == 1)
-            {
-                tempSize = new BlockPos(-size.getX(), size.getY(), size.getZ());
-            }
-            if (rotation == 2)
-            {
-                tempSize = new BlockPos(-size.getX(), size.getY(), -size.getZ());
-            }
-            if (rotation == 3)
-            {
-                tempSize = new BlockPos(size.getX(), size.getY(), -size.getZ());
-            }
+        private final Template.BlockInfo[][][] blocks;
+        private final BlockPos                 size;
+        private final BlockPos                 min;
+        private final BlockPos                 offset;
 
-            offset = new BlockPos(tempSize.getX() / 2, 0, tempSize.getZ() / 2).add(minX, minY, minZ);
+        private Layout(@NotNull final Template.BlockInfo[][][] blocks, @NotNull final BlockPos size, @NotNull final BlockPos min, @Nullable final BlockPos offset)
+        {
+            this.blocks = blocks;
+            this.size = size;
+            this.min = min;
+            this.offset = offset;
         }
     }
 }
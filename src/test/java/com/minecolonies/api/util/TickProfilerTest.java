@@ -0,0 +1,66 @@
+package com.minecolonies.api.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests around {@link TickProfiler}.
+ */
+public class TickProfilerTest
+{
+    @After
+    public void tearDown()
+    {
+        TickProfiler.setEnabled(false);
+        TickProfiler.reset();
+    }
+
+    @Test
+    public void testBucketStartMatchesBucket()
+    {
+        for (long value = 0; value < 100_000; value++)
+        {
+            final int bucket = TickProfiler.Histogram.getBucket(value);
+            final long bucketStart = TickProfiler.Histogram.getBucketStart(bucket);
+            assertTrue(bucketStart <= value);
+            assertEquals(bucket, TickProfiler.Histogram.getBucket(bucketStart));
+            assertTrue(value - bucketStart <= value / 8);
+        }
+        assertEquals(TickProfiler.Histogram.getBucket(Long.MAX_VALUE), TickProfiler.Histogram.getBucket(TickProfiler.Histogram.getBucketStart(TickProfiler.Histogram.getBucket(Long.MAX_VALUE))));
+    }
+
+    @Test
+    public void testPercentiles()
+    {
+        final TickProfiler.Histogram histogram = new TickProfiler.Histogram();
+        for (int i = 1; i <= 1000; i++)
+        {
+            histogram.record(i * 1000L);
+        }
+
+        final long p50 = histogram.getPercentile(0.5D);
+        final long p99 = histogram.getPercentile(0.99D);
+        assertTrue(p50 > 500_000 * 7 / 8 && p50 <= 500_000);
+        assertTrue(p99 > 990_000 * 7 / 8 && p99 <= 990_000);
+        assertTrue(histogram.getPercentile(1D) <= 1_000_000);
+    }
+
+    @Test
+    public void testDisabledRecordsNothing()
+    {
+        TickProfiler.stop(TickProfiler.SECTION_AI, 1, Object.class, TickProfiler.start());
+        assertTrue(TickProfiler.getEntries().isEmpty());
+
+        TickProfiler.setEnabled(true);
+        TickProfiler.stop(TickProfiler.SECTION_AI, 1, Object.class, TickProfiler.start());
+        final List<TickProfiler.Entry> entries = TickProfiler.getEntries();
+        assertEquals(1, entries.size());
+        assertEquals(1, entries.get(0).count);
+        assertEquals("Object", entries.get(0).type);
+    }
+}
@@ -0,0 +1,142 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.api.configuration.Configurations;
+import com.minecolonies.api.util.BlockPosUtil;
+import net.minecraft.util.math.BlockPos;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests around {@link ColonySpatialIndex}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ColonySpatialIndexTest
+{
+    private static final int DIMENSION = 0;
+    private static final int RANGE     = 100;
+
+    @Mock
+    private Colony colony1;
+
+    @Mock
+    private Colony colony2;
+
+    private ColonySpatialIndex<Colony> index;
+
+    private int originalRange;
+
+    @Before
+    public void setup()
+    {
+        originalRange = Configurations.gameplay.workingRangeTownHall;
+        Configurations.gameplay.workingRangeTownHall = RANGE;
+        index = new ColonySpatialIndex<>();
+
+        when(colony1.getCenter()).thenReturn(new BlockPos(0, 64, 0));
+        when(colony2.getCenter()).thenReturn(new BlockPos(1000, 64, -1000));
+        stubDistance(colony1);
+        stubDistance(colony2);
+    }
+
+    private static void stubDistance(final Colony colony)
+    {
+        when(colony.getDistanceSquared(any(BlockPos.class)))
+          .thenAnswer(invocation -> BlockPosUtil.getDistanceSquared2D(colony.getCenter(), (BlockPos) invocation.getArguments()[0]));
+    }
+
+    @After
+    public void tearDown()
+    {
+        Configurations.gameplay.workingRangeTownHall = originalRange;
+    }
+
+    @Test
+    public void testCandidatesInRange()
+    {
+        index.add(DIMENSION, colony1);
+        index.add(DIMENSION, colony2);
+
+        assertTrue(index.getCandidates(DIMENSION, new BlockPos(50, 10, -50)).contains(colony1));
+        assertFalse(index.getCandidates(DIMENSION, new BlockPos(50, 10, -50)).contains(colony2));
+        assertTrue(index.getCandidates(DIMENSION, new BlockPos(1000 - RANGE, 10, -1000)).contains(colony2));
+    }
+
+    @Test
+    public void testNoCandidatesOutOfRange()
+    {
+        index.add(DIMENSION, colony1);
+
+        assertTrue(index.getCandidates(DIMENSION, new BlockPos(500, 10, 500)).isEmpty());
+        assertTrue(index.getCandidates(DIMENSION + 1, new BlockPos(0, 10, 0)).isEmpty());
+    }
+
+    @Test
+    public void testRemove()
+    {
+        index.add(DIMENSION, colony1);
+        index.remove(DIMENSION, colony1);
+
+        assertTrue(index.getCandidates(DIMENSION, new BlockPos(0, 10, 0)).isEmpty());
+    }
+
+    @Test
+    public void testRangeChangeRebuildsCells()
+    {
+        index.add(DIMENSION, colony1);
+        assertTrue(index.getCandidates(DIMENSION, new BlockPos(3 * RANGE, 10, 0)).isEmpty());
+
+        Configurations.gameplay.workingRangeTownHall = 4 * RANGE;
+        assertTrue(index.getCandidates(DIMENSION, new BlockPos(3 * RANGE, 10, 0)).contains(colony1));
+    }
+
+    @Test
+    public void testClosest()
+    {
+        index.add(DIMENSION, colony1);
+        index.add(DIMENSION, colony2);
+
+        assertEquals(colony1, index.getClosest(DIMENSION, new BlockPos(400, 10, -400)));
+        assertEquals(colony2, index.getClosest(DIMENSION, new BlockPos(600, 10, -600)));
+        assertEquals(colony2, index.getClosest(DIMENSION, new BlockPos(5000, 10, -5000)));
+        assertNull(index.getClosest(DIMENSION + 1, new BlockPos(0, 10, 0)));
+    }
+
+    @Test
+    public void testClosestMatchesLinearScan()
+    {
+        final Random random = new Random(42);
+        final List<Colony> colonies = new ArrayList<>();
+        for (int i = 0; i < 200; i++)
+        {
+            final Colony colony = mock(Colony.class);
+            when(colony.getCenter()).thenReturn(new BlockPos(random.nextInt(20_000) - 10_000, 64, random.nextInt(20_000) - 10_000));
+            stubDistance(colony);
+            colonies.add(colony);
+            index.add(DIMENSION, colony);
+        }
+
+        for (int i = 0; i < 100; i++)
+        {
+            final BlockPos pos = new BlockPos(random.nextInt(24_000) - 12_000, 64, random.nextInt(24_000) - 12_000);
+            long closest = Long.MAX_VALUE;
+            for (final Colony colony : colonies)
+            {
+                closest = Math.min(closest, colony.getDistanceSquared(pos));
+            }
+            assertEquals(closest, index.getClosest(DIMENSION, pos).getDistanceSquared(pos));
+        }
+    }
+}
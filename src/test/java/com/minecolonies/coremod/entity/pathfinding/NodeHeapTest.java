@@ -0,0 +1,77 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class NodeHeapTest
+{
+    private static final int NODE_COUNT = 1000;
+
+    @Test
+    public void testPollReturnsNodesInScoreOrder()
+    {
+        final NodeHeap heap = new NodeHeap(4);
+        final Random random = new Random(42);
+
+        for (int i = 0; i < NODE_COUNT; i++)
+        {
+            final double score = random.nextDouble() * 100;
+            final Node node = new Node(null, new BlockPos(i, 0, 0), 0, score, score);
+            node.setCounterAdded(i);
+            heap.offer(node);
+        }
+
+        double last = -1;
+        while (!heap.isEmpty())
+        {
+            final Node node = heap.poll();
+            assertTrue(node.getScore() >= last);
+            assertFalse(heap.contains(node));
+            last = node.getScore();
+        }
+    }
+
+    @Test
+    public void testDecreaseKeyMovesNodeToFront()
+    {
+        final NodeHeap heap = new NodeHeap();
+        Node last = null;
+        for (int i = 0; i < NODE_COUNT; i++)
+        {
+            last = new Node(null, new BlockPos(i, 0, 0), 0, i + 10, i + 10);
+            heap.offer(last);
+        }
+
+        assertTrue(heap.contains(last));
+        last.setScore(0);
+        heap.decreaseKey(last);
+
+        assertSame(last, heap.poll());
+        assertEquals(NODE_COUNT - 1, heap.size());
+    }
+
+    @Test
+    public void testNodeMapStoresAndGrows()
+    {
+        final NodeMap map = new NodeMap();
+        for (int i = 0; i < NODE_COUNT * 10; i++)
+        {
+            map.put(i * 31, new Node(new BlockPos(i, 0, 0), 0));
+        }
+
+        assertEquals(NODE_COUNT * 10, map.size());
+        for (int i = 0; i < NODE_COUNT * 10; i++)
+        {
+            assertEquals(i, map.get(i * 31).pos.getX());
+        }
+        assertNull(map.get(-1));
+
+        map.clear();
+        assertNull(map.get(31));
+        assertEquals(0, map.size());
+    }
+}